@@ -0,0 +1,11 @@
+package com.arcarshowcaseserver.catalog;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the snapshot derives from one car's child rows. Kept between
+ * rebuilds so an import only reloads the cars it touched.
+ */
+public record CarIndexData(SearchDocument search, List<VariantEntry> variants, Map<String, Double> specFacts) {
+}
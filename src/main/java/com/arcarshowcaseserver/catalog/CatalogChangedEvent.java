@@ -0,0 +1,21 @@
+package com.arcarshowcaseserver.catalog;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Published whenever the contents of {@code cars_v2} (or its child tables)
+ * change. Listeners run after the surrounding transaction commits.
+ */
+public class CatalogChangedEvent {
+
+    private final Set<Long> changedCarIds;
+
+    public CatalogChangedEvent(Collection<Long> changedCarIds) {
+        this.changedCarIds = changedCarIds == null ? Set.of() : Set.copyOf(changedCarIds);
+    }
+
+    public Set<Long> getChangedCarIds() {
+        return changedCarIds;
+    }
+}
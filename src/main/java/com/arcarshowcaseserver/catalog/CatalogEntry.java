@@ -0,0 +1,54 @@
+package com.arcarshowcaseserver.catalog;
+
+import com.arcarshowcaseserver.dto.CarDTO;
+import com.arcarshowcaseserver.model.Cars.Car;
+
+/**
+ * Scalar columns of one {@code cars_v2} row, detached from JPA.
+ * {@code ordinal} is the position of the car inside its {@link CatalogSnapshot}.
+ */
+public record CatalogEntry(
+        int ordinal,
+        Long id,
+        String brand,
+        String model,
+        String bodyType,
+        String fuelType,
+        String transmissionType,
+        int seatingCapacity,
+        String priceRange,
+        double minPriceLakhs,
+        double maxPriceLakhs,
+        double rating,
+        String modelUrl,
+        CarDTO dto
+) {
+
+    static CatalogEntry of(int ordinal, Car car) {
+        CarDTO dto = new CarDTO(
+                car.getId(),
+                car.getBrand(),
+                car.getModel(),
+                car.getBodyType(),
+                car.getFuelType(),
+                car.getPriceRange(),
+                car.getRating()
+        );
+        return new CatalogEntry(
+                ordinal,
+                car.getId(),
+                car.getBrand(),
+                car.getModel(),
+                car.getBodyType(),
+                car.getFuelType(),
+                car.getTransmissionType(),
+                car.getSeatingCapacity(),
+                car.getPriceRange(),
+                car.getMinPriceLakhs(),
+                car.getMaxPriceLakhs(),
+                car.getRating(),
+                car.getModelUrl(),
+                dto
+        );
+    }
+}
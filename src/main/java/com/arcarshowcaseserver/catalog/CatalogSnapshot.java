@@ -0,0 +1,372 @@
+package com.arcarshowcaseserver.catalog;
+
+import com.arcarshowcaseserver.catalog.FacetIndex.Facet;
+import com.arcarshowcaseserver.dto.CarDTO;
+import com.arcarshowcaseserver.dto.SuggestionDTO;
+import com.arcarshowcaseserver.model.Cars.Car;
+import com.arcarshowcaseserver.service.Slugs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Read-only view of the whole car catalog, built once per import and swapped
+ * atomically by {@link CatalogSnapshotService}. Every list handed out is
+ * precomputed and unmodifiable, so lookups never touch the database.
+ */
+public final class CatalogSnapshot {
+
+    private static final Comparator<CatalogEntry> BY_RATING_DESC =
+            Comparator.comparingDouble(CatalogEntry::rating).reversed()
+                    .thenComparing(CatalogEntry::id);
+
+    private static final Comparator<CatalogEntry> BY_MIN_PRICE_ASC =
+            Comparator.comparingDouble(CatalogEntry::minPriceLakhs)
+                    .thenComparing(CatalogEntry::id);
+
+    private final long version;
+    private final List<CatalogEntry> entries;
+    private final Map<Long, CatalogEntry> byId;
+
+    private final List<CarDTO> byRating;
+    private final double[] ratingsDesc;
+    private final List<CarDTO> byPrice;
+    private final double[] minPricesAsc;
+
+    private final Map<String, List<CarDTO>> byBrand;
+    private final Map<String, List<CarDTO>> byBodyType;
+    private final Map<String, List<CarDTO>> byFuelType;
+    private final Map<String, List<CarDTO>> byTransmissionType;
+    private final Map<String, List<CarDTO>> byBrandAndBodyType;
+    private final List<String> brands;
+
+    private final Map<Long, CarIndexData> carData;
+    private final SearchIndex basicSearch;
+    private final SearchIndex fullSearch;
+    private final FuzzyIndex fuzzySearch;
+    private final FacetIndex facets;
+    private final int[] ratingOrdinals;
+    private final VariantPriceIndex variantPrices;
+    private final SuggestIndex suggestions;
+    private final SpecFactIndex specFacts;
+
+    // Slugs.car / Slugs.variant / Slugs.of(variant name) → lowest id, like the ORDER BY id lookups they replace
+    private final Map<String, Long> carIdsBySlug;
+    private final Map<String, VariantEntry> variantsBySlug;
+    private final Map<String, VariantEntry> variantsByName;
+
+    private CatalogSnapshot(long version, List<CatalogEntry> entries, Map<Long, CarIndexData> carData,
+                            Map<Long, Long> likeCounts) {
+        this.version = version;
+        this.entries = Collections.unmodifiableList(entries);
+
+        Map<Long, CatalogEntry> ids = new HashMap<>(entries.size() * 2);
+        for (CatalogEntry entry : entries) {
+            ids.put(entry.id(), entry);
+        }
+        this.byId = Collections.unmodifiableMap(ids);
+
+        List<CatalogEntry> ratingOrder = new ArrayList<>(entries);
+        ratingOrder.sort(BY_RATING_DESC);
+        this.byRating = toDTOs(ratingOrder);
+        this.ratingOrdinals = ratingOrder.stream().mapToInt(CatalogEntry::ordinal).toArray();
+        this.ratingsDesc = ratingOrder.stream().mapToDouble(CatalogEntry::rating).toArray();
+
+        List<CatalogEntry> priceOrder = new ArrayList<>(entries);
+        priceOrder.sort(BY_MIN_PRICE_ASC);
+        this.byPrice = toDTOs(priceOrder);
+        this.minPricesAsc = priceOrder.stream().mapToDouble(CatalogEntry::minPriceLakhs).toArray();
+
+        // Grouping from the rating-ordered list keeps every bucket in
+        // the same "ORDER BY rating DESC" order the JPQL queries used.
+        this.byBrand = group(ratingOrder, e -> key(e.brand()));
+        this.byBodyType = group(ratingOrder, e -> key(e.bodyType()));
+        this.byFuelType = group(ratingOrder, e -> key(e.fuelType()));
+        this.byTransmissionType = group(ratingOrder, e -> key(e.transmissionType()));
+        this.byBrandAndBodyType = group(ratingOrder, e -> pairKey(e.brand(), e.bodyType()));
+
+        this.brands = entries.stream()
+                .map(CatalogEntry::brand)
+                .filter(Objects::nonNull)
+                .map(b -> b.toLowerCase(Locale.ROOT))
+                .distinct()
+                .sorted()
+                .toList();
+
+        Map<String, Long> carSlugs = new HashMap<>(entries.size() * 2);
+        Map<String, VariantEntry> variantSlugs = new HashMap<>();
+        Map<String, VariantEntry> variantNames = new HashMap<>();
+        for (CatalogEntry entry : entries) {
+            carSlugs.merge(Slugs.car(entry.brand(), entry.model()), entry.id(), Math::min);
+            CarIndexData data = carData.get(entry.id());
+            if (data == null) continue;
+            for (VariantEntry variant : data.variants()) {
+                String name = variant.dto().getVariant();
+                variantSlugs.merge(Slugs.variant(entry.brand(), entry.model(), name), variant, CatalogSnapshot::lowerId);
+                variantNames.merge(Slugs.of(name), variant, CatalogSnapshot::lowerId);
+            }
+        }
+        this.carIdsBySlug = Collections.unmodifiableMap(carSlugs);
+        this.variantsBySlug = Collections.unmodifiableMap(variantSlugs);
+        this.variantsByName = Collections.unmodifiableMap(variantNames);
+
+        this.carData = Map.copyOf(carData);
+        List<SearchDocument> documentsByOrdinal = new ArrayList<>(entries.size());
+        List<List<String>> namesByOrdinal = new ArrayList<>(entries.size());
+        List<VariantEntry> variants = new ArrayList<>();
+        double[] ratings = new double[entries.size()];
+        for (CatalogEntry entry : entries) {
+            CarIndexData data = carData.get(entry.id());
+            SearchDocument document = data != null ? data.search() : null;
+            if (data != null) variants.addAll(data.variants());
+            documentsByOrdinal.add(document);
+            namesByOrdinal.add(document != null ? document.getNames() : Arrays.asList(entry.brand(), entry.model()));
+            ratings[entry.ordinal()] = entry.rating();
+        }
+        this.basicSearch = SearchIndex.build(documentsByOrdinal, SearchDocument::getBasic, ratings);
+        this.fullSearch = SearchIndex.build(documentsByOrdinal, SearchDocument::getFull, ratings);
+        this.fuzzySearch = FuzzyIndex.build(namesByOrdinal, ratings);
+        this.facets = new FacetIndex(entries);
+        this.variantPrices = new VariantPriceIndex(variants);
+        this.suggestions = SuggestIndex.build(entries, carData, likeCounts);
+        this.specFacts = SpecFactIndex.build(entries, carData);
+    }
+
+    public static CatalogSnapshot empty() {
+        return new CatalogSnapshot(0L, new ArrayList<>(), Map.of(), Map.of());
+    }
+
+    public static CatalogSnapshot of(long version, List<Car> cars, Map<Long, CarIndexData> carData,
+                                     Map<Long, Long> likeCounts) {
+        List<CatalogEntry> entries = new ArrayList<>(cars.size());
+        for (Car car : cars) {
+            entries.add(CatalogEntry.of(entries.size(), car));
+        }
+        return new CatalogSnapshot(version, entries, carData, likeCounts);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public List<CatalogEntry> getEntries() {
+        return entries;
+    }
+
+    public CatalogEntry findById(Long id) {
+        return id == null ? null : byId.get(id);
+    }
+
+    public List<String> getBrands() {
+        return brands;
+    }
+
+    public List<CarDTO> getAllByRating() {
+        return byRating;
+    }
+
+    public List<CarDTO> findByBrand(String brand) {
+        return byBrand.getOrDefault(key(brand), List.of());
+    }
+
+    public List<CarDTO> findByBodyType(String bodyType) {
+        return byBodyType.getOrDefault(key(bodyType), List.of());
+    }
+
+    public List<CarDTO> findByFuelType(String fuelType) {
+        return byFuelType.getOrDefault(key(fuelType), List.of());
+    }
+
+    public List<CarDTO> findByTransmissionType(String transmissionType) {
+        return byTransmissionType.getOrDefault(key(transmissionType), List.of());
+    }
+
+    public List<CarDTO> findByBrandAndBodyType(String brand, String bodyType) {
+        return byBrandAndBodyType.getOrDefault(pairKey(brand, bodyType), List.of());
+    }
+
+    // rating >= minRating, highest rated first
+    public List<CarDTO> findByMinRating(double minRating) {
+        int lo = 0;
+        int hi = ratingsDesc.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (ratingsDesc[mid] >= minRating) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return byRating.subList(0, lo);
+    }
+
+    // minPriceLakhs <= maxPrice, cheapest first
+    public List<CarDTO> findByMaxStartingPrice(double maxPrice) {
+        int lo = 0;
+        int hi = minPricesAsc.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (minPricesAsc[mid] <= maxPrice) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return byPrice.subList(0, lo);
+    }
+
+    public Long findCarIdBySlug(String slug) {
+        return carIdsBySlug.get(slug);
+    }
+
+    public VariantEntry findVariantBySlug(String slug) {
+        return variantsBySlug.get(slug);
+    }
+
+    public VariantEntry findVariantByName(String variant) {
+        return variantsByName.get(Slugs.of(variant));
+    }
+
+    public CarIndexData getCarData(Long carId) {
+        return carData.get(carId);
+    }
+
+    public VariantPriceIndex getVariantPrices() {
+        return variantPrices;
+    }
+
+    // Car columns only (brand, model, body/fuel/transmission type, price range)
+    public List<CarDTO> search(String query) {
+        return toDTOs(basicSearch.search(query));
+    }
+
+    // Car columns plus variants and spec keys/values
+    public List<CarDTO> advancedSearch(String query) {
+        return toDTOs(fullSearch.search(query));
+    }
+
+    // Brand, model and variant names within a few edits of the query
+    public List<CarDTO> fuzzySearch(String query) {
+        return toDTOs(fuzzySearch.search(query));
+    }
+
+    // Brand/model/variant completions of a typed prefix, best first
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        return suggestions.suggest(prefix, limit);
+    }
+
+    public FacetIndex getFacets() {
+        return facets;
+    }
+
+    public SpecFactIndex getSpecFacts() {
+        return specFacts;
+    }
+
+    /**
+     * Cars satisfying every spec predicate and, when {@code query} is given,
+     * its facet selections and ranges; highest rated first.
+     */
+    public List<CarDTO> specSearch(List<SpecPredicate> predicates, FacetQuery query) {
+        BitSet matched = specFacts.matching(predicates);
+        if (query != null) {
+            if (query.getMinPrice() != null) matched.and(facets.minPriceAtLeast(query.getMinPrice()));
+            if (query.getMaxPrice() != null) matched.and(facets.maxPriceAtMost(query.getMaxPrice()));
+            if (query.getMinRating() != null) matched.and(facets.ratingAtLeast(query.getMinRating()));
+            query.getSelections().forEach((facet, values) -> matched.and(facets.anyOf(facet, values)));
+        }
+        List<CarDTO> cars = new ArrayList<>(matched.cardinality());
+        for (int ordinal : ratingOrdinals) {
+            if (matched.get(ordinal)) cars.add(entries.get(ordinal).dto());
+        }
+        return cars;
+    }
+
+    public FacetResult facetedSearch(FacetQuery query) {
+        BitSet base = facets.all();
+        if (query.getKeyword() != null && !query.getKeyword().isBlank()) {
+            BitSet hits = new BitSet(entries.size());
+            for (int ordinal : basicSearch.search(query.getKeyword())) hits.set(ordinal);
+            base.and(hits);
+        }
+        if (query.getMinPrice() != null) base.and(facets.minPriceAtLeast(query.getMinPrice()));
+        if (query.getMaxPrice() != null) base.and(facets.maxPriceAtMost(query.getMaxPrice()));
+        if (query.getMinRating() != null) base.and(facets.ratingAtLeast(query.getMinRating()));
+
+        Map<Facet, BitSet> selected = new EnumMap<>(Facet.class);
+        query.getSelections().forEach((facet, values) -> selected.put(facet, facets.anyOf(facet, values)));
+
+        BitSet matched = (BitSet) base.clone();
+        selected.values().forEach(matched::and);
+
+        // Disjunctive counts: a facet's own selection does not narrow its counts,
+        // so the sidebar still shows what picking another value would return.
+        Map<Facet, Map<String, Integer>> counts = new EnumMap<>(Facet.class);
+        for (Facet facet : Facet.values()) {
+            BitSet within = (BitSet) base.clone();
+            selected.forEach((other, bits) -> {
+                if (other != facet) within.and(bits);
+            });
+            counts.put(facet, facets.counts(facet, within));
+        }
+
+        List<CarDTO> cars = new ArrayList<>(matched.cardinality());
+        for (int ordinal : ratingOrdinals) {
+            if (matched.get(ordinal)) cars.add(entries.get(ordinal).dto());
+        }
+        return new FacetResult(cars, counts);
+    }
+
+    private List<CarDTO> toDTOs(int[] ordinals) {
+        List<CarDTO> result = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            result.add(entries.get(ordinal).dto());
+        }
+        return result;
+    }
+
+    static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static VariantEntry lowerId(VariantEntry a, VariantEntry b) {
+        return a.id() <= b.id() ? a : b;
+    }
+
+    private static String pairKey(String first, String second) {
+        return key(first) + '\u0000' + key(second);
+    }
+
+    private static List<CarDTO> toDTOs(List<CatalogEntry> ordered) {
+        return List.copyOf(ordered.stream().map(CatalogEntry::dto).toList());
+    }
+
+    private static Map<String, List<CarDTO>> group(List<CatalogEntry> ordered,
+                                                   Function<CatalogEntry, String> classifier) {
+        Map<String, List<CarDTO>> groups = new HashMap<>();
+        for (CatalogEntry entry : ordered) {
+            groups.computeIfAbsent(classifier.apply(entry), k -> new ArrayList<>()).add(entry.dto());
+        }
+        groups.replaceAll((k, v) -> List.copyOf(v));
+        return Collections.unmodifiableMap(groups);
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogSnapshot{version=" + version + ", cars=" + entries.size() + '}';
+    }
+}
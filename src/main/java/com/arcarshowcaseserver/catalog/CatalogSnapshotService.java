@@ -0,0 +1,179 @@
+package com.arcarshowcaseserver.catalog;
+
+import com.arcarshowcaseserver.model.Cars.Car;
+import com.arcarshowcaseserver.model.Cars.CarVariant;
+import com.arcarshowcaseserver.repository.CarRepository;
+import com.arcarshowcaseserver.repository.CarVariantRepository;
+import com.arcarshowcaseserver.repository.LikeRepository;
+import com.arcarshowcaseserver.service.SpecKeyDictionary;
+import com.arcarshowcaseserver.service.SpecStore;
+import com.arcarshowcaseserver.service.SpecValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+public class CatalogSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotService.class);
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private final CarRepository carRepository;
+    private final CarVariantRepository carVariantRepository;
+    private final SpecStore specStore;
+    private final LikeRepository likeRepository;
+    private final SpecKeyDictionary specKeyDictionary;
+    private final CatalogVersion catalogVersion;
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+
+    public CatalogSnapshotService(CarRepository carRepository,
+                                  CarVariantRepository carVariantRepository,
+                                  SpecStore specStore,
+                                  LikeRepository likeRepository,
+                                  SpecKeyDictionary specKeyDictionary,
+                                  CatalogVersion catalogVersion) {
+        this.carRepository = carRepository;
+        this.carVariantRepository = carVariantRepository;
+        this.specStore = specStore;
+        this.likeRepository = likeRepository;
+        this.specKeyDictionary = specKeyDictionary;
+        this.catalogVersion = catalogVersion;
+    }
+
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot snapshot = current.get();
+        return snapshot != null ? snapshot : rebuild(null);
+    }
+
+    public long currentVersion() {
+        return snapshot().getVersion();
+    }
+
+    // Repeatable read: the version and the rows come from one database snapshot
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void onStartup() {
+        rebuild(null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        log.info("Catalog changed ({} cars touched) — rebuilding snapshot", event.getChangedCarIds().size());
+        rebuild(event.getChangedCarIds());
+    }
+
+    /**
+     * Builds and publishes a new snapshot. The car rows themselves are always
+     * reloaded in full; only the per-car index data (variants, spec text and
+     * facts) of cars outside {@code changedCarIds} is carried over from the
+     * previous snapshot instead of being re-queried. {@code null} forces
+     * every car to be re-read.
+     * Readers keep whatever snapshot they already grabbed; the new one is
+     * only visible once it has been fully built.
+     */
+    public synchronized CatalogSnapshot rebuild(Set<Long> changedCarIds) {
+        long started = System.nanoTime();
+        CatalogSnapshot previous = current.get();
+        // Persisted, so every node and every restart tags the same data alike
+        long version = catalogVersion.current();
+
+        List<Car> cars = carRepository.findAll();
+
+        Map<Long, CarIndexData> carData = new HashMap<>(cars.size() * 2);
+        List<Car> stale = new ArrayList<>();
+        for (Car car : cars) {
+            CarIndexData reusable = previous == null || changedCarIds == null
+                    ? null
+                    : previous.getCarData(car.getId());
+            if (reusable != null && !changedCarIds.contains(car.getId())) {
+                carData.put(car.getId(), reusable);
+            } else {
+                stale.add(car);
+            }
+        }
+        carData.putAll(loadCarData(stale));
+
+        // Popularity for autocomplete; only as fresh as the last rebuild.
+        Map<Long, Long> likeCounts = new HashMap<>();
+        for (Object[] row : likeRepository.countLikesByCar()) {
+            likeCounts.put((Long) row[0], (Long) row[1]);
+        }
+
+        CatalogSnapshot snapshot = CatalogSnapshot.of(version, cars, carData, likeCounts);
+        current.set(snapshot);
+
+        log.info("Catalog snapshot v{} published: {} cars ({} re-indexed) in {} ms",
+                version, snapshot.size(), stale.size(), (System.nanoTime() - started) / 1_000_000);
+        return snapshot;
+    }
+
+    private Map<Long, CarIndexData> loadCarData(List<Car> cars) {
+        Map<Long, CarIndexData> carData = new HashMap<>(cars.size() * 2);
+        for (int from = 0; from < cars.size(); from += LOAD_BATCH_SIZE) {
+            List<Car> batch = cars.subList(from, Math.min(from + LOAD_BATCH_SIZE, cars.size()));
+            List<Long> ids = batch.stream().map(Car::getId).toList();
+
+            Map<Long, List<VariantEntry>> variants = new HashMap<>();
+            Map<Long, List<String>> variantNames = new HashMap<>();
+            Map<Long, List<String>> variantTexts = new HashMap<>();
+            for (CarVariant variant : carVariantRepository.findWithKeySpecificationsByCarIds(ids)) {
+                Long carId = variant.getCar().getId();
+                variants.computeIfAbsent(carId, k -> new ArrayList<>()).add(VariantEntry.of(carId, variant));
+                if (variant.getVariant() != null) {
+                    variantNames.computeIfAbsent(carId, k -> new ArrayList<>()).add(variant.getVariant());
+                }
+                List<String> texts = variantTexts.computeIfAbsent(carId, k -> new ArrayList<>());
+                for (String text : new String[]{variant.getVariant(), variant.getFuel(),
+                        variant.getTransmission(), variant.getEngineCc()}) {
+                    if (text != null) texts.add(text);
+                }
+            }
+
+            Map<Long, List<String>> specTexts = new HashMap<>();
+            Map<Long, Map<String, Double>> specFacts = new HashMap<>();
+            specStore.findByCarIds(ids).forEach((carId, specs) -> {
+                List<String> texts = specTexts.computeIfAbsent(carId, k -> new ArrayList<>());
+                Map<String, Double> facts = new HashMap<>();
+                for (SpecValue spec : specs) {
+                    if (spec.key() != null) texts.add(spec.key());
+                    if (spec.value() != null) texts.add(spec.value());
+                    // First fact per canonical key wins, in spec order
+                    String column = SpecFactIndex.column(specKeyDictionary.label(spec.specKeyId(), spec.key()));
+                    if (column.isEmpty() || facts.containsKey(column)) continue;
+                    Double value = SpecFactIndex.value(spec.value());
+                    if (value != null) facts.put(column, value);
+                }
+                specFacts.put(carId, Map.copyOf(facts));
+            });
+
+            for (Car car : batch) {
+                SearchDocument document = SearchDocument.of(
+                        car,
+                        variantNames.getOrDefault(car.getId(), List.of()),
+                        variantTexts.getOrDefault(car.getId(), List.of()),
+                        specTexts.getOrDefault(car.getId(), List.of())
+                );
+                carData.put(car.getId(), new CarIndexData(
+                        document,
+                        List.copyOf(variants.getOrDefault(car.getId(), List.of())),
+                        specFacts.getOrDefault(car.getId(), Map.of())
+                ));
+            }
+        }
+        return carData;
+    }
+}
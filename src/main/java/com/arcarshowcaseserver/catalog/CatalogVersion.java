@@ -0,0 +1,74 @@
+package com.arcarshowcaseserver.catalog;
+
+import com.arcarshowcaseserver.model.CatalogState;
+import com.arcarshowcaseserver.repository.CatalogStateRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The persisted catalog version behind snapshot versions and ETags.
+ * Writers of catalog data call {@link #bump()} inside their own
+ * transaction, so the version commits (or rolls back) together with the
+ * data; two nodes reading the same data read the same version.
+ */
+@Service
+public class CatalogVersion {
+
+    private final CatalogStateRepository catalogStateRepository;
+    private final TransactionTemplate newTransaction;
+    private volatile boolean rowExists;
+
+    public CatalogVersion(CatalogStateRepository catalogStateRepository,
+                          PlatformTransactionManager transactionManager) {
+        this.catalogStateRepository = catalogStateRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** Committed version as seen by the current transaction; 0 before the first change. */
+    public long current() {
+        return catalogStateRepository.findVersion(CatalogState.ID).orElse(0L);
+    }
+
+    /** Marks the catalog data written by the current transaction as a new version. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump() {
+        ensureRow();
+        catalogStateRepository.incrementVersion(CatalogState.ID);
+    }
+
+    /** SHA-256 of the dataset file last imported in full, or null. */
+    public String datasetHash() {
+        return catalogStateRepository.findDatasetHash(CatalogState.ID).orElse(null);
+    }
+
+    /** Records the file the current transaction imported, to commit together with its data. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDataset(String datasetHash) {
+        ensureRow();
+        catalogStateRepository.updateDatasetHash(CatalogState.ID, datasetHash);
+    }
+
+    // In its own transaction, so a lost insert race between nodes cannot
+    // poison the caller's transaction
+    private void ensureRow() {
+        if (rowExists) {
+            return;
+        }
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (!catalogStateRepository.existsById(CatalogState.ID)) {
+                    catalogStateRepository.saveAndFlush(new CatalogState(CatalogState.ID, 0L));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // created concurrently by another node
+        }
+        rowExists = true;
+    }
+}
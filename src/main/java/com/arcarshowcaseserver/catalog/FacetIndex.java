@@ -0,0 +1,170 @@
+package com.arcarshowcaseserver.catalog;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * One {@link BitSet} per facet value (bit = catalog ordinal) plus sorted
+ * numeric columns, so a filter combination is a handful of bitset
+ * intersections and facet counts are {@code cardinality()} calls.
+ */
+public final class FacetIndex {
+
+    public enum Facet {
+        BRAND("brand", CatalogEntry::brand),
+        BODY_TYPE("bodyType", CatalogEntry::bodyType),
+        FUEL_TYPE("fuelType", CatalogEntry::fuelType),
+        TRANSMISSION_TYPE("transmissionType", CatalogEntry::transmissionType);
+
+        private final String param;
+        private final Function<CatalogEntry, String> accessor;
+
+        Facet(String param, Function<CatalogEntry, String> accessor) {
+            this.param = param;
+            this.accessor = accessor;
+        }
+
+        public String getParam() {
+            return param;
+        }
+    }
+
+    private final int size;
+    private final Map<Facet, Map<String, BitSet>> bitsByValue = new EnumMap<>(Facet.class);
+    private final Map<Facet, Map<String, String>> labels = new EnumMap<>(Facet.class);
+    private final SortedColumn minPrices;
+    private final SortedColumn maxPrices;
+    private final SortedColumn ratings;
+
+    FacetIndex(List<CatalogEntry> entries) {
+        this.size = entries.size();
+        for (Facet facet : Facet.values()) {
+            Map<String, BitSet> bits = new HashMap<>();
+            Map<String, String> display = new TreeMap<>();
+            for (CatalogEntry entry : entries) {
+                String raw = facet.accessor.apply(entry);
+                if (raw == null || raw.isBlank()) continue;
+                String key = CatalogSnapshot.key(raw);
+                bits.computeIfAbsent(key, k -> new BitSet(size)).set(entry.ordinal());
+                display.putIfAbsent(key, raw.trim());
+            }
+            bitsByValue.put(facet, bits);
+            labels.put(facet, display);
+        }
+        this.minPrices = new SortedColumn(entries, CatalogEntry::minPriceLakhs);
+        this.maxPrices = new SortedColumn(entries, CatalogEntry::maxPriceLakhs);
+        this.ratings = new SortedColumn(entries, CatalogEntry::rating);
+    }
+
+    public BitSet all() {
+        BitSet all = new BitSet(size);
+        all.set(0, size);
+        return all;
+    }
+
+    /** Union of the bitsets of the given values; {@code null}/empty means "no constraint". */
+    public BitSet anyOf(Facet facet, Collection<String> values) {
+        if (values == null || values.isEmpty()) return null;
+        BitSet union = new BitSet(size);
+        Map<String, BitSet> bits = bitsByValue.get(facet);
+        for (String value : values) {
+            BitSet match = bits.get(CatalogSnapshot.key(value));
+            if (match != null) union.or(match);
+        }
+        return union;
+    }
+
+    public BitSet minPriceAtLeast(double value) {
+        return minPrices.atLeast(value);
+    }
+
+    public BitSet maxPriceAtMost(double value) {
+        return maxPrices.atMost(value);
+    }
+
+    public BitSet ratingAtLeast(double value) {
+        return ratings.atLeast(value);
+    }
+
+    /** Display labels of every value of a facet, alphabetical by key. */
+    public List<String> values(Facet facet) {
+        return List.copyOf(labels.get(facet).values());
+    }
+
+    /** Count of cars in {@code within} per value of {@code facet}, keyed by display label. */
+    public Map<String, Integer> counts(Facet facet, BitSet within) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        Map<String, BitSet> bits = bitsByValue.get(facet);
+        for (Map.Entry<String, String> label : labels.get(facet).entrySet()) {
+            BitSet intersection = (BitSet) bits.get(label.getKey()).clone();
+            intersection.and(within);
+            counts.put(label.getValue(), intersection.cardinality());
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    // Ordinals sorted by one numeric column; a range predicate is a binary
+    // search plus setting the bits of a contiguous slice.
+    private static final class SortedColumn {
+
+        private final double[] values;
+        private final int[] ordinals;
+        private final int size;
+
+        SortedColumn(List<CatalogEntry> entries, ToDoubleFunction<CatalogEntry> column) {
+            List<CatalogEntry> sorted = new ArrayList<>(entries);
+            sorted.sort((a, b) -> Double.compare(column.applyAsDouble(a), column.applyAsDouble(b)));
+            this.size = entries.size();
+            this.values = new double[size];
+            this.ordinals = new int[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = column.applyAsDouble(sorted.get(i));
+                ordinals[i] = sorted.get(i).ordinal();
+            }
+        }
+
+        BitSet atLeast(double bound) {
+            return slice(lowerBound(bound), size);
+        }
+
+        BitSet atMost(double bound) {
+            return slice(0, upperBound(bound));
+        }
+
+        private BitSet slice(int from, int to) {
+            BitSet bits = new BitSet(size);
+            for (int i = from; i < to; i++) bits.set(ordinals[i]);
+            return bits;
+        }
+
+        // first index with value >= bound
+        private int lowerBound(double bound) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] < bound) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+
+        // first index with value > bound
+        private int upperBound(double bound) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] <= bound) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+    }
+}
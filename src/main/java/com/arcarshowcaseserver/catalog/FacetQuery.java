@@ -0,0 +1,67 @@
+package com.arcarshowcaseserver.catalog;
+
+import com.arcarshowcaseserver.catalog.FacetIndex.Facet;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filter selection for {@link CatalogSnapshot#facetedSearch(FacetQuery)}.
+ * Values inside one facet are OR-ed, different facets and ranges are AND-ed.
+ */
+public class FacetQuery {
+
+    private String keyword;
+    private final Map<Facet, List<String>> selections = new EnumMap<>(Facet.class);
+    private Double minPrice;
+    private Double maxPrice;
+    private Double minRating;
+
+    public FacetQuery keyword(String keyword) {
+        this.keyword = keyword;
+        return this;
+    }
+
+    public FacetQuery select(Facet facet, List<String> values) {
+        if (values != null && !values.isEmpty()) {
+            selections.put(facet, List.copyOf(values));
+        }
+        return this;
+    }
+
+    public FacetQuery minPrice(Double minPrice) {
+        this.minPrice = minPrice;
+        return this;
+    }
+
+    public FacetQuery maxPrice(Double maxPrice) {
+        this.maxPrice = maxPrice;
+        return this;
+    }
+
+    public FacetQuery minRating(Double minRating) {
+        this.minRating = minRating;
+        return this;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public Map<Facet, List<String>> getSelections() {
+        return selections;
+    }
+
+    public Double getMinPrice() {
+        return minPrice;
+    }
+
+    public Double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public Double getMinRating() {
+        return minRating;
+    }
+}
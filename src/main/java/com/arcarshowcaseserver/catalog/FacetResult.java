@@ -0,0 +1,14 @@
+package com.arcarshowcaseserver.catalog;
+
+import com.arcarshowcaseserver.catalog.FacetIndex.Facet;
+import com.arcarshowcaseserver.dto.CarDTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matching cars (highest rated first) and, per facet, how many cars each
+ * value would match given every other active filter.
+ */
+public record FacetResult(List<CarDTO> cars, Map<Facet, Map<String, Integer>> counts) {
+}
@@ -0,0 +1,181 @@
+package com.arcarshowcaseserver.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typo-tolerant name lookup: a trigram index produces candidates, a
+ * bounded Levenshtein check verifies them.
+ * <p>
+ * Names are compared with separators stripped, so "scorpion" is an exact
+ * hit for "Scorpio-N" and "fortunr" is one edit away from "Fortuner".
+ */
+public final class FuzzyIndex {
+
+    private static final int GRAM = 3;
+    private static final int MIN_TERM_LENGTH = 3;
+
+    private final String[] names;
+    private final int[] owners;
+    private final Map<String, int[]> grams;
+    private final double[] tieBreak;
+    private final int ownerCount;
+
+    private FuzzyIndex(String[] names, int[] owners, Map<String, int[]> grams, double[] tieBreak) {
+        this.names = names;
+        this.owners = owners;
+        this.grams = grams;
+        this.tieBreak = tieBreak;
+        this.ownerCount = tieBreak.length;
+    }
+
+    /**
+     * @param namesByOrdinal brand/model/variant names per catalog ordinal
+     * @param tieBreak       secondary sort key per ordinal, higher first
+     */
+    static FuzzyIndex build(List<List<String>> namesByOrdinal, double[] tieBreak) {
+        List<String> names = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        for (int ordinal = 0; ordinal < namesByOrdinal.size(); ordinal++) {
+            List<String> seen = new ArrayList<>();
+            for (String raw : namesByOrdinal.get(ordinal)) {
+                for (String term : terms(raw)) {
+                    if (!seen.contains(term)) {
+                        seen.add(term);
+                        names.add(term);
+                        owners.add(ordinal);
+                    }
+                }
+            }
+        }
+
+        Map<String, List<Integer>> postings = new HashMap<>();
+        for (int id = 0; id < names.size(); id++) {
+            for (String gram : grams(names.get(id))) {
+                List<Integer> list = postings.computeIfAbsent(gram, k -> new ArrayList<>());
+                if (list.isEmpty() || list.get(list.size() - 1) != id) list.add(id);
+            }
+        }
+        Map<String, int[]> grams = new HashMap<>(postings.size() * 2);
+        postings.forEach((gram, ids) -> grams.put(gram, ids.stream().mapToInt(Integer::intValue).toArray()));
+
+        return new FuzzyIndex(
+                names.toArray(new String[0]),
+                owners.stream().mapToInt(Integer::intValue).toArray(),
+                grams,
+                tieBreak
+        );
+    }
+
+    /**
+     * Ordinals whose names are within a small edit distance of the query
+     * terms, most similar first. Each query term contributes its best
+     * similarity, so "toyota fortunr" ranks the Fortuner above other Toyotas.
+     */
+    public int[] search(String query) {
+        double[] scores = new double[ownerCount];
+        boolean any = false;
+
+        for (String term : terms(query)) {
+            double[] best = new double[ownerCount];
+            Map<Integer, Integer> shared = new HashMap<>();
+            for (String gram : grams(term)) {
+                int[] ids = grams.get(gram);
+                if (ids == null) continue;
+                for (int id : ids) shared.merge(id, 1, Integer::sum);
+            }
+
+            int maxEdits = maxEdits(term.length());
+            int required = Math.max(1, grams(term).size() - GRAM * maxEdits);
+            for (Map.Entry<Integer, Integer> candidate : shared.entrySet()) {
+                if (candidate.getValue() < required) continue;
+                String name = names[candidate.getKey()];
+                if (Math.abs(name.length() - term.length()) > maxEdits) continue;
+
+                int distance = boundedLevenshtein(term, name, maxEdits);
+                if (distance > maxEdits) continue;
+
+                double similarity = 1.0 - (double) distance / Math.max(term.length(), name.length());
+                int owner = owners[candidate.getKey()];
+                if (similarity > best[owner]) best[owner] = similarity;
+            }
+            for (int i = 0; i < ownerCount; i++) {
+                if (best[i] > 0) {
+                    scores[i] += best[i];
+                    any = true;
+                }
+            }
+        }
+        if (!any) return new int[0];
+
+        Integer[] hits = new Integer[ownerCount];
+        int count = 0;
+        for (int i = 0; i < ownerCount; i++) {
+            if (scores[i] > 0) hits[count++] = i;
+        }
+        hits = Arrays.copyOf(hits, count);
+        Arrays.sort(hits, (a, b) -> {
+            int byScore = Double.compare(scores[b], scores[a]);
+            return byScore != 0 ? byScore : Double.compare(tieBreak[b], tieBreak[a]);
+        });
+        return Arrays.stream(hits).mapToInt(Integer::intValue).toArray();
+    }
+
+    // The whole name with separators removed, plus each word long enough to match on its own.
+    static List<String> terms(String text) {
+        List<String> tokens = Tokenizer.tokenize(text);
+        List<String> terms = new ArrayList<>();
+        String joined = String.join("", tokens);
+        if (joined.length() >= MIN_TERM_LENGTH) terms.add(joined);
+        if (tokens.size() > 1) {
+            for (String token : tokens) {
+                if (token.length() >= MIN_TERM_LENGTH && !terms.contains(token)) terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    private static List<String> grams(String term) {
+        String padded = "$" + term + "$";
+        List<String> grams = new ArrayList<>(padded.length());
+        for (int i = 0; i + GRAM <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static int maxEdits(int length) {
+        if (length <= 4) return 1;
+        if (length <= 8) return 2;
+        return 3;
+    }
+
+    /**
+     * Levenshtein distance, or {@code max + 1} as soon as every cell of a DP
+     * row exceeds {@code max} (no alignment can come back under the bound).
+     */
+    static int boundedLevenshtein(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) return max + 1;
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
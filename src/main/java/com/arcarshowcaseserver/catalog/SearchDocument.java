@@ -0,0 +1,84 @@
+package com.arcarshowcaseserver.catalog;
+
+import com.arcarshowcaseserver.model.Cars.Car;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tokenized text of one car, kept between snapshot rebuilds so that an
+ * import only re-tokenizes the cars it actually touched.
+ * <p>
+ * {@code basic} covers the columns of {@code cars_v2}; {@code full} adds
+ * variant names/fuel/transmission/engine and every spec key and value.
+ * {@code names} (brand, model, variant names) feed the {@link FuzzyIndex}.
+ */
+public final class SearchDocument {
+
+    // Car-level columns count more than a match buried in a spec value.
+    private static final int CAR_FIELD_WEIGHT = 3;
+
+    private final Long carId;
+    private final Map<String, Integer> basic;
+    private final Map<String, Integer> full;
+    private final List<String> names;
+
+    private SearchDocument(Long carId, Map<String, Integer> basic, Map<String, Integer> full, List<String> names) {
+        this.carId = carId;
+        this.basic = basic;
+        this.full = full;
+        this.names = names;
+    }
+
+    public static SearchDocument of(Car car,
+                                    List<String> variantNames,
+                                    List<String> variantTexts,
+                                    List<String> specTexts) {
+        Map<String, Integer> basic = new HashMap<>();
+        addAll(basic, car.getBrand(), 1);
+        addAll(basic, car.getModel(), 1);
+        addAll(basic, car.getBodyType(), 1);
+        addAll(basic, car.getFuelType(), 1);
+        addAll(basic, car.getTransmissionType(), 1);
+        addAll(basic, car.getPriceRange(), 1);
+
+        Map<String, Integer> full = new HashMap<>();
+        basic.forEach((term, tf) -> full.put(term, tf * CAR_FIELD_WEIGHT));
+        for (String text : variantTexts) {
+            addAll(full, text, 1);
+        }
+        for (String text : specTexts) {
+            addAll(full, text, 1);
+        }
+
+        List<String> names = new ArrayList<>();
+        if (car.getBrand() != null) names.add(car.getBrand());
+        if (car.getModel() != null) names.add(car.getModel());
+        names.addAll(variantNames);
+        return new SearchDocument(car.getId(), Map.copyOf(basic), Map.copyOf(full), List.copyOf(names));
+    }
+
+    private static void addAll(Map<String, Integer> bag, String text, int weight) {
+        for (String token : Tokenizer.tokenize(text)) {
+            bag.merge(token, weight, Integer::sum);
+        }
+    }
+
+    public Long getCarId() {
+        return carId;
+    }
+
+    Map<String, Integer> getBasic() {
+        return basic;
+    }
+
+    Map<String, Integer> getFull() {
+        return full;
+    }
+
+    List<String> getNames() {
+        return names;
+    }
+}
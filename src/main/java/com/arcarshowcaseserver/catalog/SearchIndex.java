@@ -0,0 +1,174 @@
+package com.arcarshowcaseserver.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable inverted index with BM25 ranking over catalog ordinals.
+ * <p>
+ * Query syntax: whitespace separated terms are AND-ed, {@code OR} (or
+ * {@code |}) between terms starts an alternative group, e.g.
+ * {@code "diesel suv OR hybrid sedan"}. A term that is not in the
+ * dictionary falls back to the terms it is a prefix of ("fortu" → "fortuner"),
+ * at most {@link #MAX_PREFIX_EXPANSIONS} of them in dictionary order: a very
+ * short prefix such as "a" only matches documents holding one of its first
+ * 64 completions, so callers wanting every match must type more of the word.
+ */
+public final class SearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Bounds the work of one-letter prefixes; completions past this are not searched
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final String[] terms;
+    private final int[][] postings;
+    private final int[][] frequencies;
+    private final int[] docLengths;
+    private final double avgDocLength;
+    private final double[] tieBreak;
+
+    private SearchIndex(String[] terms, int[][] postings, int[][] frequencies,
+                        int[] docLengths, double[] tieBreak) {
+        this.terms = terms;
+        this.postings = postings;
+        this.frequencies = frequencies;
+        this.docLengths = docLengths;
+        this.tieBreak = tieBreak;
+        long total = 0;
+        for (int length : docLengths) total += length;
+        this.avgDocLength = docLengths.length == 0 ? 0 : (double) total / docLengths.length;
+    }
+
+    /**
+     * @param documents one bag of term frequencies per ordinal (null for "no text")
+     * @param tieBreak  secondary sort key per ordinal, higher first (the rating)
+     */
+    static SearchIndex build(List<SearchDocument> documents,
+                             Function<SearchDocument, Map<String, Integer>> field,
+                             double[] tieBreak) {
+        int n = documents.size();
+        int[] docLengths = new int[n];
+        Map<String, List<int[]>> inverted = new HashMap<>();
+
+        for (int ordinal = 0; ordinal < n; ordinal++) {
+            SearchDocument doc = documents.get(ordinal);
+            if (doc == null) continue;
+            int length = 0;
+            for (Map.Entry<String, Integer> e : field.apply(doc).entrySet()) {
+                inverted.computeIfAbsent(e.getKey(), k -> new ArrayList<>())
+                        .add(new int[]{ordinal, e.getValue()});
+                length += e.getValue();
+            }
+            docLengths[ordinal] = length;
+        }
+
+        String[] terms = inverted.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        int[][] postings = new int[terms.length][];
+        int[][] frequencies = new int[terms.length][];
+        for (int t = 0; t < terms.length; t++) {
+            List<int[]> list = inverted.get(terms[t]);
+            postings[t] = new int[list.size()];
+            frequencies[t] = new int[list.size()];
+            for (int i = 0; i < list.size(); i++) {
+                postings[t][i] = list.get(i)[0];
+                frequencies[t][i] = list.get(i)[1];
+            }
+        }
+        return new SearchIndex(terms, postings, frequencies, docLengths, tieBreak);
+    }
+
+    public int termCount() {
+        return terms.length;
+    }
+
+    /** Matching ordinals, best BM25 score first. */
+    public int[] search(String query) {
+        List<List<String>> groups = parse(query);
+        if (groups.isEmpty()) return new int[0];
+
+        double[] scores = new double[docLengths.length];
+        BitSet matched = new BitSet(docLengths.length);
+
+        for (List<String> group : groups) {
+            BitSet groupHits = null;
+            double[] groupScores = new double[docLengths.length];
+            for (String term : group) {
+                BitSet termHits = new BitSet(docLengths.length);
+                for (int t : resolve(term)) {
+                    scoreTerm(t, groupScores, termHits);
+                }
+                if (groupHits == null) {
+                    groupHits = termHits;
+                } else {
+                    groupHits.and(termHits);
+                }
+                if (groupHits.isEmpty()) break;
+            }
+            if (groupHits == null) continue;
+            for (int doc = groupHits.nextSetBit(0); doc >= 0; doc = groupHits.nextSetBit(doc + 1)) {
+                scores[doc] = Math.max(scores[doc], groupScores[doc]);
+            }
+            matched.or(groupHits);
+        }
+
+        Integer[] hits = matched.stream().boxed().toArray(Integer[]::new);
+        Arrays.sort(hits, (a, b) -> {
+            int byScore = Double.compare(scores[b], scores[a]);
+            return byScore != 0 ? byScore : Double.compare(tieBreak[b], tieBreak[a]);
+        });
+        return Arrays.stream(hits).mapToInt(Integer::intValue).toArray();
+    }
+
+    private void scoreTerm(int t, double[] scores, BitSet hits) {
+        int[] docs = postings[t];
+        int[] tfs = frequencies[t];
+        double n = docLengths.length;
+        double idf = Math.log(1 + (n - docs.length + 0.5) / (docs.length + 0.5));
+        for (int i = 0; i < docs.length; i++) {
+            int doc = docs[i];
+            double tf = tfs[i];
+            double norm = 1 - B + B * (avgDocLength == 0 ? 1 : docLengths[doc] / avgDocLength);
+            scores[doc] += idf * (tf * (K1 + 1)) / (tf + K1 * norm);
+            hits.set(doc);
+        }
+    }
+
+    // Exact term if present, otherwise every term it is a prefix of.
+    private int[] resolve(String term) {
+        int exact = Arrays.binarySearch(terms, term);
+        if (exact >= 0) return new int[]{exact};
+
+        int from = -exact - 1;
+        int to = from;
+        while (to < terms.length && to - from < MAX_PREFIX_EXPANSIONS && terms[to].startsWith(term)) {
+            to++;
+        }
+        int[] range = new int[to - from];
+        for (int i = 0; i < range.length; i++) range[i] = from + i;
+        return range;
+    }
+
+    static List<List<String>> parse(String query) {
+        List<List<String>> groups = new ArrayList<>();
+        if (query == null) return groups;
+
+        List<String> current = new ArrayList<>();
+        for (String raw : query.trim().split("\\s+")) {
+            if (raw.equals("OR") || raw.equals("|")) {
+                if (!current.isEmpty()) groups.add(current);
+                current = new ArrayList<>();
+                continue;
+            }
+            current.addAll(Tokenizer.tokenize(raw));
+        }
+        if (!current.isEmpty()) groups.add(current);
+        return groups;
+    }
+}
@@ -0,0 +1,105 @@
+package com.arcarshowcaseserver.catalog;
+
+import com.arcarshowcaseserver.service.NumericSpecParser;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Numeric spec facts laid out by column: one {@code double[]} per canonical
+ * spec key, indexed by catalog ordinal, plus a presence bitmap. A predicate
+ * is one tight scan over its column; a query is the AND of those bitmaps.
+ * <p>
+ * Column names are the snake_case spec key labels ("Boot Space" →
+ * {@code boot_space}). Values are the number {@link NumericSpecParser}
+ * finds, else a leading number ("6", "400 Litres"); "Yes"/"No" are 1/0.
+ */
+public final class SpecFactIndex {
+
+    private static final Pattern LEADING_NUMBER = Pattern.compile("^\\s*(\\d[\\d,]*(?:\\.\\d+)?)");
+
+    private final int size;
+    private final Map<String, double[]> values;
+    private final Map<String, BitSet> present;
+    private final List<String> columns;
+
+    private SpecFactIndex(int size, Map<String, double[]> values, Map<String, BitSet> present) {
+        this.size = size;
+        this.values = values;
+        this.present = present;
+        this.columns = values.keySet().stream().sorted().toList();
+    }
+
+    static SpecFactIndex build(List<CatalogEntry> entries, Map<Long, CarIndexData> carData) {
+        int size = entries.size();
+        Map<String, double[]> values = new HashMap<>();
+        Map<String, BitSet> present = new HashMap<>();
+        for (CatalogEntry entry : entries) {
+            CarIndexData data = carData.get(entry.id());
+            if (data == null) continue;
+            data.specFacts().forEach((column, value) -> {
+                values.computeIfAbsent(column, k -> new double[size])[entry.ordinal()] = value;
+                present.computeIfAbsent(column, k -> new BitSet(size)).set(entry.ordinal());
+            });
+        }
+        return new SpecFactIndex(size, values, present);
+    }
+
+    /** Column name of a spec label or user-typed key: "No. of Airbags" → {@code no_of_airbags}. */
+    public static String column(String label) {
+        if (label == null) return "";
+        return label.toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9]+", "_")
+                .replaceAll("^_+|_+$", "");
+    }
+
+    /** Numeric fact of a spec value, or {@code null} when it has none. */
+    public static Double value(String text) {
+        if (text == null || text.isBlank()) return null;
+        NumericSpecParser.Measure measure = NumericSpecParser.parse(text);
+        if (measure != null) return measure.value();
+        String trimmed = text.trim();
+        if (trimmed.equalsIgnoreCase("yes")) return 1.0;
+        if (trimmed.equalsIgnoreCase("no")) return 0.0;
+        Matcher matcher = LEADING_NUMBER.matcher(trimmed);
+        if (!matcher.find()) return null;
+        try {
+            return Double.parseDouble(matcher.group(1).replace(",", ""));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public List<String> columns() {
+        return columns;
+    }
+
+    public boolean hasColumn(String column) {
+        return values.containsKey(column);
+    }
+
+    /** Ordinals satisfying every predicate; a car without the fact never matches. */
+    public BitSet matching(List<SpecPredicate> predicates) {
+        BitSet result = new BitSet(size);
+        result.set(0, size);
+        for (SpecPredicate predicate : predicates) {
+            double[] column = values.get(predicate.column());
+            if (column == null) return new BitSet(size);
+            BitSet hits = new BitSet(size);
+            double bound = predicate.value();
+            SpecPredicate.Operator operator = predicate.operator();
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                if (operator.test(column[ordinal], bound)) hits.set(ordinal);
+            }
+            hits.and(present.get(predicate.column()));
+            result.and(hits);
+            if (result.isEmpty()) break;
+        }
+        return result;
+    }
+}
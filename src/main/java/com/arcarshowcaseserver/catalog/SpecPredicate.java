@@ -0,0 +1,70 @@
+package com.arcarshowcaseserver.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One comparison of a spec fact column against a number, e.g.
+ * {@code boot_space>400}. Parsed from the {@code q} of
+ * {@code /api/search/specs}: comparisons separated by {@code &}, {@code ,}
+ * or {@code ;} are AND-ed.
+ */
+public record SpecPredicate(String column, Operator operator, double value) {
+
+    public enum Operator {
+        GT(">"), GE(">="), LT("<"), LE("<="), EQ("="), NE("!=");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        static Operator of(String symbol) {
+            for (Operator operator : values()) {
+                if (operator.symbol.equals(symbol)) return operator;
+            }
+            return symbol.equals("==") ? EQ : null;
+        }
+
+        boolean test(double left, double right) {
+            return switch (this) {
+                case GT -> left > right;
+                case GE -> left >= right;
+                case LT -> left < right;
+                case LE -> left <= right;
+                case EQ -> left == right;
+                case NE -> left != right;
+            };
+        }
+    }
+
+    private static final Pattern COMPARISON =
+            Pattern.compile("^\\s*(.+?)\\s*(>=|<=|!=|==|>|<|=)\\s*(-?\\d+(?:\\.\\d+)?)\\s*$");
+
+    /** @throws IllegalArgumentException on a comparison that does not parse */
+    public static List<SpecPredicate> parse(String query) {
+        List<SpecPredicate> predicates = new ArrayList<>();
+        if (query == null) return predicates;
+        for (String part : query.split("[&,;]")) {
+            if (part.isBlank()) continue;
+            Matcher matcher = COMPARISON.matcher(part);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Cannot parse spec condition: '" + part.trim() + "'");
+            }
+            predicates.add(new SpecPredicate(
+                    SpecFactIndex.column(matcher.group(1)),
+                    Operator.of(matcher.group(2)),
+                    Double.parseDouble(matcher.group(3))
+            ));
+        }
+        return predicates;
+    }
+
+    @Override
+    public String toString() {
+        return column + operator.symbol + value;
+    }
+}
@@ -0,0 +1,231 @@
+package com.arcarshowcaseserver.catalog;
+
+import com.arcarshowcaseserver.dto.SuggestionDTO;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Prefix autocomplete over brand, model and variant names.
+ * <p>
+ * A character trie flattened into parallel arrays (children of a node are
+ * contiguous and sorted by label), where every node carries the ids of its
+ * {@value #TOP_K} best completions. A lookup walks the prefix with one
+ * binary search per character and copies at most {@value #TOP_K} ids, so it
+ * does not depend on how many names share the prefix.
+ * <p>
+ * Completions are weighted by the car's rating plus {@code ln(1 + likes)};
+ * a brand takes its best car's weight plus one so "to" offers "Toyota"
+ * before individual Toyotas.
+ */
+public final class SuggestIndex {
+
+    public static final int TOP_K = 10;
+
+    private static final String BRAND = "BRAND";
+    private static final String MODEL = "MODEL";
+    private static final String VARIANT = "VARIANT";
+
+    private final SuggestionDTO[] suggestions;
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] topStart;
+    private final int[] top;
+
+    private SuggestIndex(SuggestionDTO[] suggestions, char[] labels, int[] firstChild,
+                         int[] childCount, int[] topStart, int[] top) {
+        this.suggestions = suggestions;
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.topStart = topStart;
+        this.top = top;
+    }
+
+    static SuggestIndex build(List<CatalogEntry> entries,
+                              Map<Long, CarIndexData> carData,
+                              Map<Long, Long> likeCounts) {
+        Builder builder = new Builder();
+
+        Map<String, Double> brandWeights = new HashMap<>();
+        Map<String, String> brandLabels = new TreeMap<>();
+        for (CatalogEntry entry : entries) {
+            double weight = entry.rating() + Math.log1p(likeCounts.getOrDefault(entry.id(), 0L));
+            String brand = trim(entry.brand());
+            String model = trim(entry.model());
+
+            if (brand != null) {
+                brandWeights.merge(normalize(brand), weight, Math::max);
+                brandLabels.putIfAbsent(normalize(brand), brand);
+            }
+            if (model != null) {
+                String display = brand != null ? brand + " " + model : model;
+                int id = builder.add(new SuggestionDTO(display, MODEL, entry.id()), weight);
+                builder.insert(model, id);
+                builder.insert(display, id);
+            }
+
+            CarIndexData data = carData.get(entry.id());
+            if (data == null) continue;
+            for (VariantEntry variant : data.variants()) {
+                String name = trim(variant.dto().getVariant());
+                if (name == null) continue;
+                String display = model != null ? model + " " + name : name;
+                int id = builder.add(new SuggestionDTO(display, VARIANT, entry.id()), weight - 1);
+                builder.insert(name, id);
+                builder.insert(display, id);
+            }
+        }
+        brandLabels.forEach((key, label) -> {
+            int id = builder.add(new SuggestionDTO(label, BRAND, null), brandWeights.get(key) + 1);
+            builder.insert(label, id);
+        });
+        return builder.flatten();
+    }
+
+    /** Best completions of {@code prefix}, at most {@code limit} (capped at {@value #TOP_K}). */
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || labels.length == 0) {
+            return List.of();
+        }
+        int node = 0;
+        for (int i = 0; i < key.length() && node >= 0; i++) {
+            node = child(node, key.charAt(i));
+        }
+        if (node < 0) {
+            return List.of();
+        }
+        int from = topStart[node];
+        int to = Math.min(topStart[node + 1], from + Math.max(0, limit));
+        List<SuggestionDTO> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(suggestions[top[i]]);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private int child(int node, char label) {
+        int lo = firstChild[node];
+        int hi = lo + childCount[node] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (labels[mid] < label) lo = mid + 1;
+            else if (labels[mid] > label) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    // Lowercase, separators collapsed to one space: "Scorpio-N" and "scorpio n" share a path.
+    static String normalize(String text) {
+        if (text == null) return "";
+        return String.join(" ", Tokenizer.tokenize(text)).toLowerCase(Locale.ROOT);
+    }
+
+    private static String trim(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static final class Builder {
+
+        private final List<SuggestionDTO> suggestions = new ArrayList<>();
+        private final List<Double> weights = new ArrayList<>();
+        private final Map<String, Integer> ids = new LinkedHashMap<>();
+        private final Node root = new Node();
+
+        // Same text and type from several cars (a shared variant name) is one suggestion.
+        int add(SuggestionDTO suggestion, double weight) {
+            String identity = suggestion.getType() + '\u0000' + normalize(suggestion.getText());
+            Integer existing = ids.get(identity);
+            if (existing != null) {
+                if (weight > weights.get(existing)) weights.set(existing, weight);
+                return existing;
+            }
+            suggestions.add(suggestion);
+            weights.add(weight);
+            ids.put(identity, suggestions.size() - 1);
+            return suggestions.size() - 1;
+        }
+
+        void insert(String text, int id) {
+            String key = normalize(text);
+            if (key.isEmpty()) return;
+            Node node = root;
+            node.candidates.add(id);
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+                node.candidates.add(id);
+            }
+        }
+
+        SuggestIndex flatten() {
+            List<Node> order = new ArrayList<>();
+            List<Character> labels = new ArrayList<>();
+            Deque<Node> queue = new ArrayDeque<>();
+            order.add(root);
+            labels.add('\0');
+            queue.add(root);
+            Map<Node, Integer> first = new HashMap<>();
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                first.put(node, order.size());
+                for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+                    order.add(child.getValue());
+                    labels.add(child.getKey());
+                    queue.add(child.getValue());
+                }
+            }
+
+            int n = order.size();
+            char[] labelArray = new char[n];
+            int[] firstChild = new int[n];
+            int[] childCount = new int[n];
+            int[] topStart = new int[n + 1];
+            List<Integer> top = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                Node node = order.get(i);
+                labelArray[i] = labels.get(i);
+                firstChild[i] = first.get(node);
+                childCount[i] = node.children.size();
+                topStart[i] = top.size();
+                top.addAll(best(node.candidates));
+            }
+            topStart[n] = top.size();
+
+            return new SuggestIndex(
+                    suggestions.toArray(new SuggestionDTO[0]),
+                    labelArray,
+                    firstChild,
+                    childCount,
+                    topStart,
+                    top.stream().mapToInt(Integer::intValue).toArray()
+            );
+        }
+
+        private List<Integer> best(List<Integer> candidates) {
+            List<Integer> distinct = new ArrayList<>(candidates.stream().distinct().toList());
+            distinct.sort((a, b) -> {
+                int byWeight = Double.compare(weights.get(b), weights.get(a));
+                if (byWeight != 0) return byWeight;
+                int byLength = Integer.compare(suggestions.get(a).getText().length(), suggestions.get(b).getText().length());
+                return byLength != 0 ? byLength : suggestions.get(a).getText().compareToIgnoreCase(suggestions.get(b).getText());
+            });
+            return distinct.subList(0, Math.min(TOP_K, distinct.size()));
+        }
+    }
+
+    private static final class Node {
+        final TreeMap<Character, Node> children = new TreeMap<>();
+        final List<Integer> candidates = new ArrayList<>();
+    }
+}
@@ -0,0 +1,34 @@
+package com.arcarshowcaseserver.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits free text into lowercase alphanumeric tokens.
+ * "Scorpio-N 2.2 mHawk" → [scorpio, n, 2, 2, mhawk]
+ */
+public final class Tokenizer {
+
+    private Tokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) return tokens;
+
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (!current.isEmpty()) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (!current.isEmpty()) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,30 @@
+package com.arcarshowcaseserver.catalog;
+
+import com.arcarshowcaseserver.dto.CarVariantDTO;
+import com.arcarshowcaseserver.model.Cars.CarVariant;
+
+import java.util.List;
+
+/**
+ * One {@code car_variants_v2} row, detached from JPA.
+ */
+public record VariantEntry(Long id, Long carId, Double priceLakhs,
+                           Integer displacementCc, Double batteryKwh, Double mileageKmpl,
+                           CarVariantDTO dto) {
+
+    static VariantEntry of(Long carId, CarVariant variant) {
+        CarVariantDTO dto = new CarVariantDTO(
+                variant.getId(),
+                variant.getVariant(),
+                variant.getPrice(),
+                variant.getPriceLakhs(),
+                variant.getEngineCc(),
+                variant.getFuel(),
+                variant.getTransmission(),
+                variant.getMileage(),
+                List.copyOf(variant.getKeySpecifications())
+        );
+        return new VariantEntry(variant.getId(), carId, variant.getPriceLakhs(),
+                variant.getDisplacementCc(), variant.getBatteryKwh(), variant.getMileageKmpl(), dto);
+    }
+}
@@ -0,0 +1,116 @@
+package com.arcarshowcaseserver.catalog;
+
+import com.arcarshowcaseserver.dto.CarVariantDTO;
+import com.arcarshowcaseserver.service.NumericSpecParser;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Every priced variant sorted by {@code priceLakhs}; range lookups are a
+ * binary search plus a contiguous slice, O(log n + k).
+ */
+public final class VariantPriceIndex {
+
+    private final double[] prices;
+    private final List<VariantEntry> byPrice;
+    private final List<VariantEntry> unpriced;
+
+    VariantPriceIndex(List<VariantEntry> variants) {
+        List<VariantEntry> priced = new ArrayList<>();
+        List<VariantEntry> rest = new ArrayList<>();
+        for (VariantEntry variant : variants) {
+            if (variant.priceLakhs() != null) priced.add(variant); else rest.add(variant);
+        }
+        priced.sort(Comparator.comparingDouble(VariantEntry::priceLakhs).thenComparing(VariantEntry::id));
+        rest.sort(Comparator.comparing(VariantEntry::id));
+
+        this.byPrice = List.copyOf(priced);
+        this.unpriced = List.copyOf(rest);
+        this.prices = priced.stream().mapToDouble(VariantEntry::priceLakhs).toArray();
+    }
+
+    public int size() {
+        return byPrice.size() + unpriced.size();
+    }
+
+    /** priceLakhs <= max, cheapest first. */
+    public List<VariantEntry> atMost(double max) {
+        return byPrice.subList(0, upperBound(max));
+    }
+
+    /** min <= priceLakhs <= max, cheapest first. */
+    public List<VariantEntry> between(double min, double max) {
+        int from = lowerBound(min);
+        int to = upperBound(max);
+        return from >= to ? List.of() : byPrice.subList(from, to);
+    }
+
+    /**
+     * Exact fuel (ignoring case), engine, price ceiling and the typed
+     * displacement/mileage bounds; {@code null} means "no constraint".
+     * A numeric engine ("1984", "1984 cc", "17.4 kWh") matches the parsed
+     * displacement or battery capacity exactly, anything else is a
+     * substring of the engine text. Without a ceiling unpriced variants
+     * are included too, after every priced one (in id order).
+     */
+    public List<CarVariantDTO> filter(String fuel, String engine, Double maxPrice,
+                                      Integer minCc, Integer maxCc, Double minMileage) {
+        List<VariantEntry> range = new ArrayList<>(maxPrice == null ? byPrice : atMost(maxPrice));
+        if (maxPrice == null) range.addAll(unpriced);
+
+        NumericSpecParser.Measure engineMeasure = engineMeasure(engine);
+        String engineNeedle = engine == null || engineMeasure != null ? null : engine.toLowerCase(Locale.ROOT);
+        List<CarVariantDTO> result = new ArrayList<>();
+        for (VariantEntry variant : range) {
+            CarVariantDTO dto = variant.dto();
+            if (fuel != null && (dto.getFuel() == null || !dto.getFuel().equalsIgnoreCase(fuel))) continue;
+            if (engineMeasure != null && !matchesEngine(variant, engineMeasure)) continue;
+            if (engineNeedle != null && (dto.getEngineCc() == null
+                    || !dto.getEngineCc().toLowerCase(Locale.ROOT).contains(engineNeedle))) continue;
+            if (minCc != null && (variant.displacementCc() == null || variant.displacementCc() < minCc)) continue;
+            if (maxCc != null && (variant.displacementCc() == null || variant.displacementCc() > maxCc)) continue;
+            if (minMileage != null && (variant.mileageKmpl() == null || variant.mileageKmpl() < minMileage)) continue;
+            result.add(dto);
+        }
+        return result;
+    }
+
+    // A bare number is read as cc
+    private static NumericSpecParser.Measure engineMeasure(String engine) {
+        NumericSpecParser.Measure measure = NumericSpecParser.parse(engine);
+        if (measure != null) return measure;
+        Double number = NumericSpecParser.number(engine);
+        return number == null ? null : new NumericSpecParser.Measure(number, NumericSpecParser.Unit.CC);
+    }
+
+    private static boolean matchesEngine(VariantEntry variant, NumericSpecParser.Measure engine) {
+        return switch (engine.unit()) {
+            case CC -> variant.displacementCc() != null && variant.displacementCc() == Math.round(engine.value());
+            case KWH -> variant.batteryKwh() != null && variant.batteryKwh() == engine.value();
+            default -> false;
+        };
+    }
+
+    // first index with price >= bound
+    private int lowerBound(double bound) {
+        int lo = 0, hi = prices.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (prices[mid] < bound) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // first index with price > bound
+    private int upperBound(double bound) {
+        int lo = 0, hi = prices.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (prices[mid] <= bound) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,131 @@
+package com.arcarshowcaseserver.configuration;
+
+import com.arcarshowcaseserver.catalog.CatalogSnapshotService;
+import com.arcarshowcaseserver.configuration.CatalogHttpCacheProperties.Route;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conditional GETs for catalog routes. The ETag is the catalog snapshot
+ * version, which changes on every import, so a matching If-None-Match is
+ * answered with 304 before the request reaches a controller.
+ * <p>
+ * Successful responses are tagged with the version read <em>before</em>
+ * the handler ran; a concurrent import can only make the tag older than
+ * the body, which costs the client one extra full response, never a stale one.
+ * <p>
+ * Gzipped bodies (served by {@link ResponseCacheFilter}) get their own
+ * strong tag, {@code "catalog-<version>-gz"}, since they are different bytes;
+ * If-None-Match accepts either form for the current version.
+ */
+@Component
+@Order(CatalogETagFilter.ORDER)
+public class CatalogETagFilter extends OncePerRequestFilter {
+
+    // After Spring Security's filter chain
+    static final int ORDER = 0;
+
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final CatalogHttpCacheProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public CatalogETagFilter(CatalogSnapshotService catalogSnapshotService,
+                             CatalogHttpCacheProperties properties) {
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !("GET".equals(method) || "HEAD".equals(method)) || route(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Route route = route(request);
+        long version = catalogSnapshotService.currentVersion();
+        String cacheControl = cacheControl(route);
+
+        String matched = match(request.getHeader(HttpHeaders.IF_NONE_MATCH), version);
+        if (matched != null) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, matched);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        // Errors (404 for an unknown brand, ...) must not become cacheable.
+        int status = wrapper.getStatus();
+        if (status >= 200 && status < 300) {
+            boolean gzip = "gzip".equalsIgnoreCase(wrapper.getHeader(HttpHeaders.CONTENT_ENCODING));
+            wrapper.setHeader(HttpHeaders.ETAG, etag(version, gzip));
+            wrapper.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private Route route(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Route route : properties.getRoutes()) {
+            if (route.getPattern() != null && pathMatcher.match(route.getPattern(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    static String etag(long version, boolean gzip) {
+        return "\"catalog-" + version + (gzip ? "-gz" : "") + '"';
+    }
+
+    private static String cacheControl(Route route) {
+        CacheControl cacheControl = CacheControl
+                .maxAge(route.getMaxAge().toSeconds(), TimeUnit.SECONDS)
+                .cachePublic();
+        if (route.getStaleWhileRevalidate() != null) {
+            cacheControl = cacheControl.staleWhileRevalidate(
+                    route.getStaleWhileRevalidate().toSeconds(), TimeUnit.SECONDS);
+        }
+        return cacheControl.getHeaderValue();
+    }
+
+    // If-None-Match uses the weak comparison: W/"x" matches "x", and * matches anything.
+    // Returns the tag to send with the 304, or null when nothing matches.
+    private static String match(String ifNoneMatch, long version) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return null;
+        }
+        String identity = etag(version, false);
+        String gzip = etag(version, true);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return identity;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(identity) || tag.equals(gzip)) {
+                return tag;
+            }
+        }
+        return null;
+    }
+}
@@ -1,11 +1,18 @@
 package com.arcarshowcaseserver.configuration;
 
+import com.arcarshowcaseserver.model.CatalogState;
 import com.arcarshowcaseserver.repository.CarRepository;
+import com.arcarshowcaseserver.repository.CatalogStateRepository;
 import com.arcarshowcaseserver.service.CarImportService;
+import com.arcarshowcaseserver.service.ImportJobService;
+import com.arcarshowcaseserver.service.ImportProgress;
+import com.arcarshowcaseserver.service.SpecDocumentMigrator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
 
 @Configuration
 public class DataSeeder implements CommandLineRunner {
@@ -13,27 +20,82 @@ public class DataSeeder implements CommandLineRunner {
     private static final Logger log = LoggerFactory.getLogger(DataSeeder.class);
     private final CarRepository carRepository;
     private final CarImportService carImportService;
+    private final ImportJobService importJobService;
+    private final ObjectProvider<SpecDocumentMigrator> specDocumentMigrator;
+    private final ImportProperties importProperties;
+    private final CatalogStateRepository catalogStateRepository;
 
     public DataSeeder(CarRepository carRepository,
-                      CarImportService carImportService) {
+                      CarImportService carImportService,
+                      ImportJobService importJobService,
+                      ObjectProvider<SpecDocumentMigrator> specDocumentMigrator,
+                      ImportProperties importProperties,
+                      CatalogStateRepository catalogStateRepository) {
         this.carRepository = carRepository;
         this.carImportService = carImportService;
+        this.importJobService = importJobService;
+        this.specDocumentMigrator = specDocumentMigrator;
+        this.importProperties = importProperties;
+        this.catalogStateRepository = catalogStateRepository;
     }
 
     @Override
     public void run(String... args) throws Exception {
-        if (carRepository.count() > 0) {
+        long cars = carRepository.count();
+        Boolean seeded = catalogStateRepository.findById(CatalogState.ID).map(CatalogState::getSeeded).orElse(null);
+        if (seeded == null) {
+            // Cars stored before the seed was tracked count as a finished seed
+            seeded = cars > 0;
+            markSeeded(seeded);
+        }
+
+        if (cars > 0 && seeded) {
             log.info(">>> Car data already exists. Skipping seed.");
+            carImportService.backfillVariantPrices();
+            carImportService.backfillSlugs();
+            carImportService.backfillSpecKeys();
+            carImportService.backfillNumericSpecs();
+            carImportService.reresolveModelUrls();
+            // Only present with catalog.specs.storage=document
+            specDocumentMigrator.ifAvailable(SpecDocumentMigrator::migrate);
+            // With a watched dataset file that file is the source of truth, not the bundled one
+            String watched = importProperties.getWatch().getPath();
+            if (importProperties.getMode() == ImportProperties.Mode.DELTA && (watched == null || watched.isBlank())) {
+                // In the background, so start-up does not wait on it; the snapshot
+                // serves the stored catalog until the job's CatalogChangedEvent refreshes it
+                importJobService.submitResource(new ClassPathResource("cars_data_final.json"), ImportProperties.Mode.DELTA);
+                log.info(">>> Car data delta queued.");
+            }
             return;
         }
         
-        log.info(">>> Starting Car Data Seed (Literal Mapping + Configured Models)...");
-        try (java.io.InputStream is = new org.springframework.core.io.ClassPathResource("cars_data_final.json")
-                .getInputStream()) {
-            carImportService.importData(is);
+        if (seeded) {
+            // Catalog emptied since; this seed is tracked like the first one
+            markSeeded(false);
+        }
+        // An interrupted seed is resumed: importData skips the cars already committed
+        log.info(cars > 0
+                ? ">>> Resuming interrupted Car Data Seed ({} cars already stored)..."
+                : ">>> Starting Car Data Seed (Literal Mapping + Configured Models)...", cars);
+        // Inline: with an empty catalog there is nothing to serve until the seed is in
+        try (java.io.InputStream is = new ClassPathResource("cars_data_final.json").getInputStream()) {
+            ImportProgress progress = new ImportProgress();
+            carImportService.importData(is, progress);
+            if (progress.getFailedChunks() > 0 || progress.getErrorCount() > 0) {
+                log.warn(">>> Car Data Seed incomplete ({} failed chunks, {} errors); resuming on next start.",
+                        progress.getFailedChunks(), progress.getErrorCount());
+                return;
+            }
+            markSeeded(true);
             log.info(">>> Car Data Seed COMPLETED!");
         } catch (Exception e) {
             log.error(">>> Car Data Seed FAILED: {}", e.getMessage());
         }
     }
+
+    private void markSeeded(boolean seeded) {
+        if (catalogStateRepository.updateSeeded(CatalogState.ID, seeded) == 0) {
+            catalogStateRepository.save(new CatalogState(CatalogState.ID, 0L, seeded));
+        }
+    }
 }
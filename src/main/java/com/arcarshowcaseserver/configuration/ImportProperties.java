@@ -0,0 +1,100 @@
+package com.arcarshowcaseserver.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "catalog.import")
+public class ImportProperties {
+
+    public enum Mode {
+        // seed only into an empty catalog
+        FULL,
+        // apply the seed file as a delta on every start, unless a watched file is configured
+        DELTA
+    }
+
+    private Mode mode = Mode.FULL;
+    // Cars mapped and committed per transaction
+    private int chunkSize = 100;
+    // Map stage workers; 0 uses one per available core
+    private int mapThreads = 0;
+    // Directory that admin imports may read server-side files from; unset disables them
+    private String allowedDir;
+    private Watch watch = new Watch();
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMapThreads() {
+        return mapThreads;
+    }
+
+    public void setMapThreads(int mapThreads) {
+        this.mapThreads = mapThreads;
+    }
+
+    public String getAllowedDir() {
+        return allowedDir;
+    }
+
+    public void setAllowedDir(String allowedDir) {
+        this.allowedDir = allowedDir;
+    }
+
+    public Watch getWatch() {
+        return watch;
+    }
+
+    public void setWatch(Watch watch) {
+        this.watch = watch;
+    }
+
+    public static class Watch {
+        // Dataset file re-imported (as a delta) whenever it changes; unset disables watching
+        private String path;
+        // Quiet period after the last change event before the file is read
+        private Duration debounce = Duration.ofSeconds(2);
+        // A new file with fewer cars than this share of the catalog is rejected
+        private double minCarRatio = 0.5;
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public Duration getDebounce() {
+            return debounce;
+        }
+
+        public void setDebounce(Duration debounce) {
+            this.debounce = debounce;
+        }
+
+        public double getMinCarRatio() {
+            return minCarRatio;
+        }
+
+        public void setMinCarRatio(double minCarRatio) {
+            this.minCarRatio = minCarRatio;
+        }
+    }
+}
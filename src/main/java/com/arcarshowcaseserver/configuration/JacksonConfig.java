@@ -0,0 +1,38 @@
+package com.arcarshowcaseserver.configuration;
+
+import com.arcarshowcaseserver.dto.CarFullView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer carFieldsFilter() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(CarFullView.FILTER, new CarFieldsFilter()));
+    }
+
+    // Writes the properties a CarFullView was loaded with, whether or not they are null
+    static class CarFieldsFilter extends SimpleBeanPropertyFilter {
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator generator, SerializerProvider provider,
+                                     PropertyWriter writer) throws Exception {
+            Set<String> selection = pojo instanceof CarFullView view ? view.getSelection() : null;
+            if (selection == null || selection.contains(writer.getName())) {
+                writer.serializeAsField(pojo, generator, provider);
+            } else if (!generator.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, generator, provider);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.arcarshowcaseserver.configuration;
+
+import com.arcarshowcaseserver.catalog.CatalogSnapshotService;
+import com.arcarshowcaseserver.service.ResponseByteCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Serves hot catalog GETs from {@link ResponseByteCache}. A hit is written
+ * straight from the cached bytes (gzipped when the client accepts it), so
+ * neither the controller, JPA nor Jackson run.
+ * Runs inside {@link CatalogETagFilter}, which has already answered 304s.
+ */
+@Component
+@Order(CatalogETagFilter.ORDER + 1)
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private final ResponseByteCache cache;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ResponseCacheProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public ResponseCacheFilter(ResponseByteCache cache,
+                               CatalogSnapshotService catalogSnapshotService,
+                               ResponseCacheProperties properties) {
+        this.cache = cache;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = path(request);
+        return properties.getRoutes().stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = key(request);
+        long version = catalogSnapshotService.currentVersion();
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        ResponseByteCache.Entry hit = cache.get(key, version);
+        if (hit != null) {
+            boolean gzip = acceptsGzip(request);
+            byte[] body = gzip ? hit.gzipped() : hit.body();
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(hit.contentType());
+            if (gzip) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        String contentType = wrapper.getContentType();
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK
+                && contentType != null
+                && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            cache.put(key, version, contentType, wrapper.getContentAsByteArray());
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    // Path plus query parameters sorted by name, so ?a=1&b=2 and ?b=2&a=1 share an entry.
+    private static String key(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(path(request));
+        Map<String, String[]> params = new TreeMap<>(request.getParameterMap());
+        char separator = '?';
+        for (Map.Entry<String, String[]> param : params.entrySet()) {
+            key.append(separator).append(param.getKey()).append('=')
+                    .append(String.join(",", Arrays.stream(param.getValue()).map(String::trim).toList()));
+            separator = '&';
+        }
+        return key.toString();
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+    }
+}
@@ -0,0 +1,42 @@
+package com.arcarshowcaseserver.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "catalog.response-cache")
+public class ResponseCacheProperties {
+
+    // Ant-style path patterns whose 200 JSON responses are cached
+    private List<String> routes = new ArrayList<>();
+    private DataSize maxSize = DataSize.ofMegabytes(32);
+    private DataSize maxEntrySize = DataSize.ofMegabytes(1);
+
+    public List<String> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<String> routes) {
+        this.routes = routes;
+    }
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public DataSize getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    public void setMaxEntrySize(DataSize maxEntrySize) {
+        this.maxEntrySize = maxEntrySize;
+    }
+}
@@ -0,0 +1,53 @@
+package com.arcarshowcaseserver.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canonical spec key labels and the raw keys that map to them, e.g.
+ * <pre>
+ * catalog.spec-keys.canonical.arai-mileage.label=ARAI Mileage
+ * catalog.spec-keys.canonical.arai-mileage.aliases=petrol mileage arai,diesel mileage arai
+ * </pre>
+ * Raw keys without an alias keep their own (trimmed) text as label.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "catalog.spec-keys")
+public class SpecKeyProperties {
+
+    private Map<String, CanonicalKey> canonical = new HashMap<>();
+
+    public Map<String, CanonicalKey> getCanonical() {
+        return canonical;
+    }
+
+    public void setCanonical(Map<String, CanonicalKey> canonical) {
+        this.canonical = canonical;
+    }
+
+    public static class CanonicalKey {
+        private String label;
+        private List<String> aliases = new ArrayList<>();
+
+        public String getLabel() {
+            return label;
+        }
+
+        public void setLabel(String label) {
+            this.label = label;
+        }
+
+        public List<String> getAliases() {
+            return aliases;
+        }
+
+        public void setAliases(List<String> aliases) {
+            this.aliases = aliases;
+        }
+    }
+}
@@ -58,7 +58,7 @@ public class WebSecurityConfig {
                 .authorizeHttpRequests(auth -> 
                     auth.requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/models/**").permitAll()
-                        .requestMatchers("/api/cars/allcars").permitAll()
+                        .requestMatchers("/api/cars/allcars", "/api/cars/allcars/**").permitAll()
                         .requestMatchers("/api/cars/allBrands").permitAll()
                         .requestMatchers("/api/cars/{brand}/models").permitAll()
                         .requestMatchers("/api/cars/{brand}/{model}/variants").permitAll()
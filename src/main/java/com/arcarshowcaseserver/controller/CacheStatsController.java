@@ -0,0 +1,26 @@
+package com.arcarshowcaseserver.controller;
+
+import com.arcarshowcaseserver.dto.ResponseCacheStatsDTO;
+import com.arcarshowcaseserver.service.ResponseByteCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@PreAuthorize("hasAuthority('ADMIN')")
+public class CacheStatsController {
+
+    private final ResponseByteCache responseByteCache;
+
+    public CacheStatsController(ResponseByteCache responseByteCache) {
+        this.responseByteCache = responseByteCache;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<ResponseCacheStatsDTO> stats() {
+        return ResponseEntity.ok(responseByteCache.stats());
+    }
+}
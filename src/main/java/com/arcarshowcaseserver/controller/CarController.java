@@ -1,50 +1,115 @@
 package com.arcarshowcaseserver.controller;
 
 import com.arcarshowcaseserver.dto.CarDTO;
+import com.arcarshowcaseserver.dto.CarFullView;
 import com.arcarshowcaseserver.dto.InteractionDTO;
+import com.arcarshowcaseserver.dto.PageResponse;
+import com.arcarshowcaseserver.dto.SpecComparisonDTO;
 import com.arcarshowcaseserver.exceptions.BadRequestException;
 import com.arcarshowcaseserver.exceptions.ResourceNotFoundException;
-import com.arcarshowcaseserver.model.Cars.Car;
+import com.arcarshowcaseserver.service.CarDetailService;
+import com.arcarshowcaseserver.service.CarFields;
 import com.arcarshowcaseserver.service.CarService;
 import com.arcarshowcaseserver.service.RecommendationService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Validated
 @RestController
 @RequestMapping("/api/cars")
 public class CarController {
 
+    // Cars loaded per round trip while streaming; each page is its own
+    // read-only transaction, so memory stays flat whatever the catalog size.
+    private static final int STREAM_PAGE_SIZE = 100;
+    private static final byte NEWLINE = '\n';
+    private static final int MAX_COMPARED_CARS = 4;
+
     private final CarService carService;
+    private final CarDetailService carDetailService;
     private final RecommendationService recommendationService;
+    private final ObjectMapper objectMapper;
 
-    public CarController(CarService carService, RecommendationService recommendationService) {
+    public CarController(CarService carService,
+                         CarDetailService carDetailService,
+                         RecommendationService recommendationService,
+                         ObjectMapper objectMapper) {
         this.carService = carService;
+        this.carDetailService = carDetailService;
         this.recommendationService = recommendationService;
+        this.objectMapper = objectMapper;
     }
 
+    // Same JSON array as before, written page by page instead of built in memory.
     @GetMapping("/allcars")
-    public ResponseEntity<List<Car>> allCars() {
-        List<Car> cars = carService.GetAllCars();
-        if (cars.isEmpty()) {
+    public ResponseEntity<StreamingResponseBody> allCars() {
+        PageResponse<CarFullView> first = carService.getCarsPage(null, STREAM_PAGE_SIZE);
+        if (first.getItems().isEmpty()) {
             throw new ResourceNotFoundException("No cars found");
         }
-        return ResponseEntity.ok(cars);
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.writeStartArray();
+            writePages(first, car -> objectMapper.writeValue(generator, car), generator::flush);
+            generator.writeEndArray();
+            generator.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/allcars/page")
+    public ResponseEntity<PageResponse<CarFullView>> allCarsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return ResponseEntity.ok(carService.getCarsPage(cursor, size));
+    }
+
+    // Newline-delimited JSON, one car per line.
+    @GetMapping(value = "/allcars/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> allCarsStream() {
+        PageResponse<CarFullView> first = carService.getCarsPage(null, STREAM_PAGE_SIZE);
+        StreamingResponseBody body = out -> writePages(first, car -> {
+            out.write(objectMapper.writeValueAsBytes(car));
+            out.write(NEWLINE);
+        }, out::flush);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/car/{id}")
-    public Car getCarsById(@PathVariable Long id) {
+    public CarFullView getCarsById(@PathVariable Long id,
+                                   @RequestParam(required = false) String fields) {
         if (id == null || id <= 0) {
             throw new BadRequestException("Car ID must be a positive number");
         }
-        return carService.getCarsById(id);
+        return carService.getCarsById(id, CarFields.parse(fields));
+    }
+
+    @GetMapping("/compare")
+    public ResponseEntity<SpecComparisonDTO> compare(
+            @RequestParam List<Long> ids,
+            @RequestParam(defaultValue = "false") boolean differencesOnly) {
+        List<Long> carIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (carIds.size() < 2 || carIds.size() > MAX_COMPARED_CARS) {
+            throw new BadRequestException("Compare between 2 and " + MAX_COMPARED_CARS + " distinct cars");
+        }
+        if (carIds.stream().anyMatch(id -> id <= 0)) {
+            throw new BadRequestException("Car ID must be a positive number");
+        }
+        return ResponseEntity.ok(carDetailService.compare(carIds, differencesOnly));
     }
 
     @GetMapping("/allBrands")
@@ -193,19 +258,24 @@ public class CarController {
         return ResponseEntity.ok(cars);
     }
     @GetMapping("/recommendations/{carId}")
-    public ResponseEntity<List<Car>> getRecommendations(@PathVariable Long carId) {
-        List<Car> recommendations = recommendationService.getRecommendedCars(carId);
-        return ResponseEntity.ok(recommendations);
+    public ResponseEntity<List<CarFullView>> getRecommendations(
+            @PathVariable Long carId,
+            @RequestParam(required = false) String fields) {
+        CarFields selection = CarFields.parse(fields);
+        List<Long> ids = recommendationService.getRecommendedCarIds(carId);
+        return ResponseEntity.ok(carService.getCarsByIds(ids, selection));
     }
 
     @GetMapping("/recommendations/personalized")
-    public ResponseEntity<List<Car>> getPersonalizedRecommendations(@org.springframework.security.core.annotation.AuthenticationPrincipal com.arcarshowcaseserver.security.services.UserDetailsImpl userDetails) {
+    public ResponseEntity<List<CarFullView>> getPersonalizedRecommendations(@org.springframework.security.core.annotation.AuthenticationPrincipal com.arcarshowcaseserver.security.services.UserDetailsImpl userDetails,
+                                                                           @RequestParam(required = false) String fields) {
         if (userDetails == null) {
              return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         Long userId = userDetails.getId();
-        List<Car> recommendations = recommendationService.getPersonalizedRecommendations(userId);
-        return ResponseEntity.ok(recommendations);
+        CarFields selection = CarFields.parse(fields);
+        List<Long> ids = recommendationService.getPersonalizedRecommendationIds(userId);
+        return ResponseEntity.ok(carService.getCarsByIds(ids, selection));
     }
 
     @PostMapping("/recommendations/feedback")
@@ -223,4 +293,27 @@ public class CarController {
     public ResponseEntity<com.arcarshowcaseserver.dto.CarOptionsDTO> getCarOptions() {
         return ResponseEntity.ok(carService.getCarOptions());
     }
+
+    private void writePages(PageResponse<CarFullView> page, CarWriter writer, PageFlusher flusher) throws IOException {
+        while (true) {
+            for (CarFullView car : page.getItems()) {
+                writer.write(car);
+            }
+            flusher.flush();
+            if (page.getNextCursor() == null) {
+                return;
+            }
+            page = carService.getCarsPage(page.getNextCursor(), STREAM_PAGE_SIZE);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CarWriter {
+        void write(CarFullView car) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface PageFlusher {
+        void flush() throws IOException;
+    }
 }
@@ -1,15 +1,22 @@
 package com.arcarshowcaseserver.controller;
 
 import com.arcarshowcaseserver.dto.CarDTO;
+import com.arcarshowcaseserver.dto.FacetedSearchResultDTO;
+import com.arcarshowcaseserver.dto.PageResponse;
+import com.arcarshowcaseserver.dto.SuggestionDTO;
 import com.arcarshowcaseserver.exceptions.BadRequestException;
 import com.arcarshowcaseserver.service.CarSearchService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
+@Validated
 @RestController
-@RequestMapping("/api/search/cars")
+@RequestMapping("/api/search")
 @CrossOrigin(origins = "*")
 public class CarSearchController {
 
@@ -19,41 +26,85 @@ public class CarSearchController {
         this.carSearchService = carSearchService;
     }
 
-    @GetMapping
-    public ResponseEntity<List<CarDTO>> searchCars(
-            @RequestParam String keyword
+    @GetMapping("/cars")
+    public ResponseEntity<PageResponse<CarDTO>> searchCars(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size
     ) {
         if (keyword != null && !keyword.isBlank() && keyword.trim().length() < 2) {
         throw new BadRequestException("Search keyword must be at least 2 characters");
     }
-        return ResponseEntity.ok(carSearchService.simpleSearch(keyword));
+        if (fuzzy) {
+            return ResponseEntity.ok(carSearchService.fuzzySearch(keyword, cursor, size));
+        }
+        return ResponseEntity.ok(carSearchService.simpleSearch(keyword, cursor, size));
     }
 
-    @GetMapping("/advanced")
-    public ResponseEntity<List<CarDTO>> advancedSearch(
-            @RequestParam String keyword
+    @GetMapping("/cars/advanced")
+    public ResponseEntity<PageResponse<CarDTO>> advancedSearch(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size
     ) {
-        return ResponseEntity.ok(carSearchService.advancedSearch(keyword));
+        return ResponseEntity.ok(carSearchService.advancedSearch(keyword, cursor, size));
     }
 
-    @GetMapping("/filter")
-    public ResponseEntity<List<CarDTO>> multiFilterSearch(
+    @GetMapping("/cars/filter")
+    public ResponseEntity<FacetedSearchResultDTO> multiFilterSearch(
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) String brand,
             @RequestParam(required = false) String bodyType,
             @RequestParam(required = false) String fuelType,
+            @RequestParam(required = false) String transmissionType,
             @RequestParam(required = false) Double minPrice,
             @RequestParam(required = false) Double maxPrice,
-            @RequestParam(required = false) Double minRating
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size
     ) {
         if (minRating != null && (minRating < 0 || minRating > 5)) {
             throw new BadRequestException("minRating must be between 0 and 5");
         }
         return ResponseEntity.ok(
                 carSearchService.multiFilterSearch(
-                        keyword, brand, bodyType, fuelType,
-                        minPrice, maxPrice, minRating
+                        keyword, brand, bodyType, fuelType, transmissionType,
+                        minPrice, maxPrice, minRating, cursor, size
                 )
         );
     }
+
+    /**
+     * {@code ?q=boot_space%3E400&q=airbags%3E%3D6&bodyType=SUV}: one
+     * URL-encoded condition per {@code q}, or several in one {@code q}
+     * separated by commas. Other parameters are never read as conditions.
+     */
+    @GetMapping("/specs")
+    public ResponseEntity<PageResponse<CarDTO>> specSearch(
+            @RequestParam(name = "q", required = false) List<String> conditions,
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) String bodyType,
+            @RequestParam(required = false) String fuelType,
+            @RequestParam(required = false) String transmissionType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size
+    ) {
+        return ResponseEntity.ok(
+                carSearchService.specSearch(conditions == null ? List.of() : conditions, brand, bodyType, fuelType, transmissionType, cursor, size)
+        );
+    }
+
+    @GetMapping("/specs/columns")
+    public ResponseEntity<List<String>> specColumns() {
+        return ResponseEntity.ok(carSearchService.specColumns());
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "8") @Min(1) @Max(10) int limit
+    ) {
+        return ResponseEntity.ok(carSearchService.suggest(prefix, limit));
+    }
 }
@@ -1,15 +1,21 @@
 package com.arcarshowcaseserver.controller;
 
+import com.arcarshowcaseserver.dto.CarFullView;
 import com.arcarshowcaseserver.dto.CarVariantDTO;
+import com.arcarshowcaseserver.dto.PageResponse;
 import com.arcarshowcaseserver.exceptions.BadRequestException;
-import com.arcarshowcaseserver.model.Cars.Car;
 import com.arcarshowcaseserver.model.Cars.CarVariant;
+import com.arcarshowcaseserver.service.CarFields;
 import com.arcarshowcaseserver.service.CarVariantService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
+@Validated
 @RestController
 @RequestMapping("api/carvariants")
 public class CarVariantsController {
@@ -20,11 +26,13 @@ public class CarVariantsController {
     }
 
     @GetMapping("/variant/{variant}")
-    public ResponseEntity<Car> getByVariant(@PathVariable String variant) {
+    public ResponseEntity<CarFullView> getByVariant(
+            @PathVariable String variant,
+            @RequestParam(required = false) String fields) {
         if (variant == null || variant.isBlank()) {
             throw new BadRequestException("Variant name cannot be blank");
         }
-        return ResponseEntity.ok(carVariantService.getByVariant(variant));
+        return ResponseEntity.ok(carVariantService.getByVariant(variant, CarFields.parse(fields)));
     }
 
     @GetMapping("/brand/{brand}/model/{model}/fuel/{fuelType}")
@@ -60,19 +68,26 @@ public class CarVariantsController {
 
     @GetMapping("/engineCC")
     public ResponseEntity<List<CarVariantDTO>> getByEngine(
-            @RequestParam String engineCC) {
-        if (engineCC == null || engineCC.isBlank()) {
-            throw new BadRequestException("Engine CC value cannot be blank");
+            @RequestParam(required = false) String engineCC,
+            @RequestParam(required = false) Integer minCc,
+            @RequestParam(required = false) Integer maxCc) {
+        if ((engineCC == null || engineCC.isBlank()) && minCc == null && maxCc == null) {
+            throw new BadRequestException("Engine CC value or a minCc/maxCc range is required");
+        }
+        if ((minCc != null && minCc < 0) || (maxCc != null && maxCc < 0)) {
+            throw new BadRequestException("Engine cc cannot be negative");
         }
         return ResponseEntity.ok(
-                carVariantService.getByEngine(engineCC)
+                carVariantService.getByEngine(engineCC, minCc, maxCc)
         );
     }
 
 
     @GetMapping("/price/under/{priceLakhs}")
-    public ResponseEntity<List<CarVariantDTO>> getUnderPrice(
-            @PathVariable double priceLakhs) {
+    public ResponseEntity<PageResponse<CarVariantDTO>> getUnderPrice(
+            @PathVariable double priceLakhs,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
         if (priceLakhs <= 0) {
             throw new BadRequestException("Price must be greater than 0");
         }
@@ -80,23 +95,30 @@ public class CarVariantsController {
             throw new BadRequestException("Price must be at most 200 Lakhs");
         }
         return ResponseEntity.ok(
-                carVariantService.getUnderPrice(priceLakhs)
+                carVariantService.getUnderPrice(priceLakhs, cursor, size)
         );
     }
     @GetMapping("/price/between")
-    public ResponseEntity<List<CarVariantDTO>> getBetweenPrices(
+    public ResponseEntity<PageResponse<CarVariantDTO>> getBetweenPrices(
             @RequestParam double min,
-            @RequestParam double max) {
+            @RequestParam double max,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
 
         return ResponseEntity.ok(
-                carVariantService.getBetweenPrices(min, max)
+                carVariantService.getBetweenPrices(min, max, cursor, size)
         );
     }
     @GetMapping("/filter")
-    public ResponseEntity<List<CarVariantDTO>> filterVariants(
+    public ResponseEntity<PageResponse<CarVariantDTO>> filterVariants(
             @RequestParam(required = false) String fuel,
             @RequestParam(required = false) String engine,
-            @RequestParam(required = false) Double maxPrice) {
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Integer minCc,
+            @RequestParam(required = false) Integer maxCc,
+            @RequestParam(required = false) Double minMileage,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
         if (maxPrice != null && maxPrice <= 0) {
             throw new BadRequestException("Max price must be greater than 0");
         }
@@ -104,7 +126,7 @@ public class CarVariantsController {
             throw new BadRequestException("Max price must be at most 200 Lakhs");
         }
         return ResponseEntity.ok(
-                carVariantService.filterVariants(fuel, engine, maxPrice)
+                carVariantService.filterVariants(fuel, engine, maxPrice, minCc, maxCc, minMileage, cursor, size)
         );
     }
 
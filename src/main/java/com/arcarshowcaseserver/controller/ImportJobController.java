@@ -0,0 +1,72 @@
+package com.arcarshowcaseserver.controller;
+
+import com.arcarshowcaseserver.configuration.ImportProperties;
+import com.arcarshowcaseserver.dto.ImportJobDTO;
+import com.arcarshowcaseserver.exceptions.BadRequestException;
+import com.arcarshowcaseserver.service.ImportJobService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/admin/imports")
+@PreAuthorize("hasAuthority('ADMIN')")
+public class ImportJobController {
+
+    private final ImportJobService importJobService;
+
+    public ImportJobController(ImportJobService importJobService) {
+        this.importJobService = importJobService;
+    }
+
+    // Either a multipart "file" or a "path" under catalog.import.allowed-dir
+    @PostMapping
+    public ResponseEntity<ImportJobDTO> submit(
+            @RequestParam(required = false) MultipartFile file,
+            @RequestParam(required = false) String path,
+            @RequestParam(defaultValue = "delta") String mode) {
+        ImportProperties.Mode importMode = parseMode(mode);
+        boolean hasFile = file != null && !file.isEmpty();
+        boolean hasPath = path != null && !path.isBlank();
+        if (hasFile == hasPath) {
+            throw new BadRequestException("Provide either a file upload or a server-side path");
+        }
+        ImportJobDTO job = hasFile
+                ? importJobService.submitUpload(file, importMode)
+                : importJobService.submitPath(path.trim(), importMode);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ImportJobDTO>> list() {
+        return ResponseEntity.ok(importJobService.list());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobDTO> get(@PathVariable String id) {
+        return ResponseEntity.ok(importJobService.get(id));
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<ImportJobDTO> cancel(@PathVariable String id) {
+        return ResponseEntity.ok(importJobService.cancel(id));
+    }
+
+    private static ImportProperties.Mode parseMode(String mode) {
+        try {
+            return ImportProperties.Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Import mode must be 'full' or 'delta'");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.arcarshowcaseserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CarColorDTO {
+    private Long id;
+    private String name;
+    private String imageUrl;
+}
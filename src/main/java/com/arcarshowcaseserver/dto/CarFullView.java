@@ -0,0 +1,47 @@
+package com.arcarshowcaseserver.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Complete read model of one car, the same shape the {@code Car} entity
+ * used to serialize to, but assembled inside the service transaction so
+ * serialization never triggers lazy loading.
+ * <p>
+ * Only the properties of the requested {@code fields=} selection are
+ * written, nulls included, so a {@code full} view keeps the shape of the old
+ * entity JSON whatever is missing from a car.
+ */
+@Data
+@JsonFilter(CarFullView.FILTER)
+@NoArgsConstructor
+public class CarFullView {
+
+    public static final String FILTER = "carFields";
+
+    private Long id;
+    private String brand;
+    private String model;
+    private String bodyType;
+    private String fuelType;
+    private String transmissionType;
+    private Integer seatingCapacity;
+    private String priceRange;
+    private Double minPriceLakhs;
+    private Double maxPriceLakhs;
+    private Double rating;
+    private String modelUrl;
+    private String image;
+    private List<CarSpecDTO> details;
+    private List<CarVariantDTO> variants;
+    private List<CarImageDTO> images;
+    private List<CarColorDTO> colors;
+    // Property names to serialize; null writes them all
+    @JsonIgnore
+    private Set<String> selection;
+}
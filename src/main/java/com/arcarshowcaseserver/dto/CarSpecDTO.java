@@ -0,0 +1,16 @@
+package com.arcarshowcaseserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One spec row of {@link CarFullView}, shaped like the serialized {@code CarDetail} entity. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CarSpecDTO {
+    private Long id;
+    private String key;
+    private String value;
+    private String category;
+}
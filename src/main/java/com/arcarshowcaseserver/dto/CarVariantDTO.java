@@ -15,8 +15,10 @@ import java.util.List;
 @NoArgsConstructor
 public class CarVariantDTO {
 
+    private Long id;
     private String variant;
     private String price;
+    private Double priceLakhs;
     private String engineCc;
     private String fuel;
     private String transmission;
@@ -0,0 +1,20 @@
+package com.arcarshowcaseserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FacetedSearchResultDTO {
+    private List<CarDTO> cars;
+    private int total;
+    // facet name (brand, bodyType, fuelType, transmissionType) → value → count
+    private Map<String, Map<String, Integer>> facets;
+    // Opaque; pass back as ?cursor= for the next page of cars. null on the last page.
+    private String nextCursor;
+}
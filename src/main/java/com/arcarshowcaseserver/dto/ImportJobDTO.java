@@ -0,0 +1,35 @@
+package com.arcarshowcaseserver.dto;
+
+import com.arcarshowcaseserver.service.ImportProgress;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportJobDTO {
+    private String id;
+    // QUEUED, RUNNING, SUCCEEDED, PARTIAL, FAILED or CANCELLED
+    private String status;
+    private String mode;
+    private String source;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private int processed;
+    private double carsPerSecond;
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    private int skipped;
+    private int deleted;
+    private int failedChunks;
+    private int errorCount;
+    private List<ImportProgress.CarError> errors;
+    // why the job failed or was only partly applied
+    private String message;
+}
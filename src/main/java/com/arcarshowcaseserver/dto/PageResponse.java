@@ -0,0 +1,21 @@
+package com.arcarshowcaseserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PageResponse<T> {
+    private List<T> items;
+    private int size;
+    // Opaque; pass back as ?cursor= to get the next page. null on the last page.
+    private String nextCursor;
+
+    public static <T> PageResponse<T> of(List<T> items, String nextCursor) {
+        return new PageResponse<>(items, items.size(), nextCursor);
+    }
+}
@@ -0,0 +1,19 @@
+package com.arcarshowcaseserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResponseCacheStatsDTO {
+    private long catalogVersion;
+    private long hits;
+    private long misses;
+    private double hitRatio;
+    private int entries;
+    private long bytes;
+    private long maxBytes;
+    private long evictions;
+}
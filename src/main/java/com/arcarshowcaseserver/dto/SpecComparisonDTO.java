@@ -0,0 +1,16 @@
+package com.arcarshowcaseserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SpecComparisonDTO {
+    // Column order of every row's values
+    private List<CarDTO> cars;
+    private List<SpecComparisonRowDTO> rows;
+}
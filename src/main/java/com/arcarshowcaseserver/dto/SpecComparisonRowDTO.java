@@ -0,0 +1,18 @@
+package com.arcarshowcaseserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SpecComparisonRowDTO {
+    private String category;
+    private String key;
+    // One per compared car, null where the car lacks the spec
+    private List<String> values;
+    private boolean different;
+}
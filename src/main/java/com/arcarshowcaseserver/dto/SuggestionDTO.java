@@ -0,0 +1,16 @@
+package com.arcarshowcaseserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SuggestionDTO {
+    private String text;
+    // BRAND, MODEL or VARIANT
+    private String type;
+    // null for brands
+    private Long carId;
+}
@@ -10,7 +10,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "cars_v2")
+@Table(
+        name = "cars_v2",
+        indexes = @Index(name = "idx_car_slug", columnList = "slug")
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,6 +35,12 @@ public class Car {
     private double maxPriceLakhs = 0.0;
     private double rating = 0.0;
     private String modelUrl = "";
+    // Slugs.car(brand, model), kept in sync by CarImportService
+    private String slug;
+
+    // CarImportService.contentHash of the source JSON; compared by the delta import
+    @Column(name = "content_hash")
+    private String contentHash;
     @JsonManagedReference
     @OneToMany(mappedBy = "car", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CarDetail> details = new ArrayList<>();
@@ -7,7 +7,13 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "car_details_v2")
+@Table(
+        name = "car_details_v2",
+        indexes = {
+                @Index(name = "idx_detail_spec_key_id", columnList = "spec_key_id"),
+                @Index(name = "idx_detail_numeric", columnList = "spec_key_id, numeric_value")
+        }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,12 +23,25 @@ public class CarDetail {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Raw key of rows imported before spec_key_id; null since, the text lives in spec_keys
     @Column(name = "spec_key", columnDefinition = "TEXT")
-    private String key = "";
+    private String key;
 
     @Column(name = "spec_value", columnDefinition = "TEXT")
     private String value = "";
 
+    // SpecKey id, assigned at import
+    @Column(name = "spec_key_id")
+    private Integer specKeyId;
+
+    // Parsed from value by NumericSpecParser; unit is "" once parsed without
+    // a match and null for rows that have not been parsed yet
+    @Column(name = "numeric_value")
+    private Double numericValue;
+
+    @Column(name = "unit", columnDefinition = "TEXT")
+    private String unit;
+
     @Column(name = "category", columnDefinition = "TEXT")
     private String category = "";
 
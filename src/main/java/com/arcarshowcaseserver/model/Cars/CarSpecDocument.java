@@ -0,0 +1,28 @@
+package com.arcarshowcaseserver.model.Cars;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * All specs of one car in a single JSONB row; the storage used instead of
+ * {@code car_details_v2} when {@code catalog.specs.storage=document}.
+ */
+@Entity
+@Table(name = "car_spec_documents")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CarSpecDocument {
+
+    @Id
+    @Column(name = "car_id")
+    private Long carId;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb", nullable = false)
+    private SpecDocument document;
+}
@@ -12,7 +12,11 @@ import java.util.List;
 @Table(
         name = "car_variants_v2",
         indexes = {
-                @Index(name = "idx_variant", columnList = "variant")
+                @Index(name = "idx_variant", columnList = "variant"),
+                @Index(name = "idx_variant_price_lakhs", columnList = "price_lakhs"),
+                @Index(name = "idx_variant_slug", columnList = "slug"),
+                @Index(name = "idx_variant_displacement_cc", columnList = "displacement_cc"),
+                @Index(name = "idx_variant_mileage_kmpl", columnList = "mileage_kmpl")
         }
 )
 @Data
@@ -28,6 +32,12 @@ public class CarVariant {
     private String variant = "";
     @Column(columnDefinition = "TEXT")
     private String price = "";
+    // Parsed from price at import ("Lakh"/"Crore" aware), null when unparseable
+    @Column(name = "price_lakhs")
+    private Double priceLakhs;
+    // Slugs.variant(brand, model, variant)
+    @Column(columnDefinition = "TEXT")
+    private String slug;
     @Column(columnDefinition = "TEXT")
     private String engineCc = "";
     @Column(columnDefinition = "TEXT")
@@ -37,6 +47,25 @@ public class CarVariant {
     @Column(columnDefinition = "TEXT")
     private String mileage = "";
 
+    // Parsed at import by NumericSpecParser from engineCc, mileage and the
+    // key specifications; null when the text carries no such number
+    @Column(name = "displacement_cc")
+    private Integer displacementCc;
+    @Column(name = "battery_kwh")
+    private Double batteryKwh;
+    @Column(name = "mileage_kmpl")
+    private Double mileageKmpl;
+    @Column(name = "range_km")
+    private Double rangeKm;
+    @Column(name = "power_bhp")
+    private Double powerBhp;
+    @Column(name = "torque_nm")
+    private Double torqueNm;
+    // Set once the columns above were derived, even when none was found,
+    // so the start-up backfill does not re-parse the variant
+    @Column(name = "numbers_parsed")
+    private Boolean numbersParsed;
+
     @ElementCollection
     @CollectionTable(
             name = "variant_key_specifications_v2",
@@ -0,0 +1,37 @@
+package com.arcarshowcaseserver.model.Cars;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON body of a {@link CarSpecDocument}: a car's specs grouped by
+ * category, in import order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpecDocument {
+
+    private List<Category> categories = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Category {
+        private String name;
+        private List<Spec> specs = new ArrayList<>();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Spec {
+        private Integer keyId;
+        private String key;
+        private String value;
+    }
+}
@@ -0,0 +1,39 @@
+package com.arcarshowcaseserver.model.Cars;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One distinct spec key as it appears in the source data, with the
+ * canonical label it is displayed under ("petrol mileage arai" → "ARAI Mileage").
+ */
+@Entity
+@Table(name = "spec_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpecKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    // lowercased, trimmed raw key
+    @Column(name = "raw_key", columnDefinition = "TEXT", nullable = false, unique = true)
+    private String rawKey;
+
+    // first spelling seen, used as label when no alias applies
+    @Column(name = "source_key", columnDefinition = "TEXT", nullable = false)
+    private String sourceKey;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String label;
+
+    public SpecKey(String rawKey, String sourceKey, String label) {
+        this.rawKey = rawKey;
+        this.sourceKey = sourceKey;
+        this.label = label;
+    }
+}
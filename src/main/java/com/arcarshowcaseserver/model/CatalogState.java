@@ -0,0 +1,44 @@
+package com.arcarshowcaseserver.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single-row table of catalog-wide state. {@code version} is bumped in the
+ * same transaction as every change to catalog data, so it names the data
+ * it was committed with on every node and across restarts. {@code seeded}
+ * is false while the initial dataset import has not completed cleanly;
+ * {@code datasetHash} is the SHA-256 of the dataset file last imported in
+ * full, committed with its data.
+ */
+@Entity
+@Table(name = "catalog_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogState {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long version;
+
+    // null on installs seeded before this column existed
+    private Boolean seeded;
+
+    @Column(name = "dataset_hash", length = 64)
+    private String datasetHash;
+
+    public CatalogState(Integer id, Long version) {
+        this(id, version, null, null);
+    }
+
+    public CatalogState(Integer id, Long version, Boolean seeded) {
+        this(id, version, seeded, null);
+    }
+}
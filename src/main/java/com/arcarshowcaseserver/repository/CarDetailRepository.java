@@ -2,6 +2,7 @@ package com.arcarshowcaseserver.repository;
 
 import com.arcarshowcaseserver.model.Cars.CarDetail;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -18,26 +19,20 @@ public interface CarDetailRepository extends JpaRepository<CarDetail, Long> {
     @Query("SELECT DISTINCT d.category FROM CarDetail d WHERE d.car.id = :carId")
     List<String> findDistinctCategoriesByCarId(@Param("carId") Long carId);
 
-    @Query("SELECT d FROM CarDetail d WHERE d.car.id = :carId AND LOWER(d.key) LIKE LOWER(CONCAT('%', :key, '%'))")
-    List<CarDetail> searchByKey(@Param("carId") Long carId, @Param("key") String key);
+    List<CarDetail> findByCarIdInOrderById(List<Long> carIds);
 
+    @Query("SELECT DISTINCT d.car.id FROM CarDetail d ORDER BY d.car.id")
+    List<Long> findCarIdsWithDetails();
 
+    @Modifying
+    @Query("DELETE FROM CarDetail d WHERE d.car.id IN :carIds")
+    int deleteByCarIds(@Param("carIds") List<Long> carIds);
 
-    @Query("""
-    SELECT d FROM CarDetail d
-    WHERE d.car.id = :carId
-    AND LOWER(d.key) LIKE LOWER(CONCAT('%', :key, '%'))
-    AND d.category = 'Full Specifications'
-    """)
-    List<CarDetail> searchByKeyInFullSpecs(@Param("carId") Long carId, @Param("key") String key);
+    @Query("SELECT d FROM CarDetail d WHERE d.specKeyId IS NULL")
+    List<CarDetail> findWithoutSpecKey();
 
-    @Query("""
-    SELECT d FROM CarDetail d
-    WHERE d.car.id = :carId
-    AND LOWER(d.key) LIKE LOWER(CONCAT('%', :key, '%'))
-    AND d.category = 'Key Specifications'
-    """)
-    List<CarDetail> searchByKeyInKeySpecs(@Param("carId") Long carId, @Param("key") String key);
+    @Query("SELECT d FROM CarDetail d WHERE d.unit IS NULL")
+    List<CarDetail> findUnparsedNumbers();
 
 
 
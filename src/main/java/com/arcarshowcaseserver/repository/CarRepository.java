@@ -2,14 +2,16 @@ package com.arcarshowcaseserver.repository;
 
 import com.arcarshowcaseserver.model.Cars.Car;
 import com.arcarshowcaseserver.dto.CarDTO;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface CarRepository extends JpaRepository<Car, Long> {
@@ -18,18 +20,6 @@ public interface CarRepository extends JpaRepository<Car, Long> {
     @Query("SELECT DISTINCT LOWER(c.model) FROM Car c WHERE LOWER(c.brand) = LOWER(:brand)")
     List<String> findModelsByBrandIgnoreCase(@Param("brand") String brand);
 
-    @Query("""
-       SELECT c
-       FROM Car c
-       WHERE LOWER(c.brand) = LOWER(:brand)
-         AND LOWER(c.model) = LOWER(:model)
-       ORDER BY c.id ASC
-       """)
-    Optional<Car> findByBrandAndModel(
-            @Param("brand") String brand,
-            @Param("model") String model
-    );
-
     @Query("""
         SELECT c.id
         FROM Car c
@@ -74,35 +64,6 @@ public interface CarRepository extends JpaRepository<Car, Long> {
     """)
     List<CarDTO> searchCars(@Param("keyword") String keyword);
 
-    @Query("""
-        SELECT DISTINCT new com.arcarshowcaseserver.dto.CarDTO(
-            c.id,
-            c.brand,
-            c.model,
-            c.bodyType,
-            c.fuelType,
-            c.priceRange,
-            c.rating
-        )
-        FROM Car c
-        LEFT JOIN c.variants v
-        LEFT JOIN c.details d
-        WHERE LOWER(c.brand) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(c.model) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(c.bodyType) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(c.fuelType) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(c.transmissionType) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(c.priceRange) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(v.variant) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(v.fuel) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(v.transmission) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(v.engineCc) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(d.key) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(d.value) LIKE LOWER(CONCAT('%', :keyword, '%'))
-        ORDER BY c.rating DESC
-    """)
-    List<CarDTO> advancedSearchCars(@Param("keyword") String keyword);
-
     @Query("""
         SELECT new com.arcarshowcaseserver.dto.CarDTO(
             c.id,
@@ -240,6 +201,22 @@ public interface CarRepository extends JpaRepository<Car, Long> {
     """)
     List<CarDTO> findByUnderPrice(@Param("price") double price);
 
+    @Query("SELECT c.slug FROM Car c WHERE c.slug IN :slugs")
+    Set<String> findExistingSlugs(@Param("slugs") Collection<String> slugs);
+
+    // (id, slug, contentHash), lowest id first
+    @Query("SELECT c.id, c.slug, c.contentHash FROM Car c WHERE c.slug IN :slugs ORDER BY c.id ASC")
+    List<Object[]> findHashesBySlugs(@Param("slugs") Collection<String> slugs);
+
+    @Query("SELECT c.id FROM Car c")
+    List<Long> findAllIds();
+
+    @Query("SELECT c FROM Car c WHERE c.slug IS NULL")
+    List<Car> findWithoutSlug();
+
+    @Query("SELECT c.id FROM Car c WHERE c.id > :afterId ORDER BY c.id ASC")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
     @EntityGraph(attributePaths = {"variants"})
     @Query("SELECT c FROM Car c WHERE c.id IN :ids")
     List<Car> findByIdsWithVariants(@Param("ids") List<Long> ids);
@@ -252,30 +229,18 @@ public interface CarRepository extends JpaRepository<Car, Long> {
     @Query("SELECT c FROM Car c WHERE c.id IN :ids")
     List<Car> findByIdsWithImages(@Param("ids") List<Long> ids);
 
+    // (carId, imageUrl) of the lowest-id image of each car
+    @Query("""
+        SELECT i.car.id, i.imageUrl FROM CarImage i
+        WHERE i.id IN (SELECT MIN(j.id) FROM CarImage j WHERE j.car.id IN :ids GROUP BY j.car.id)
+    """)
+    List<Object[]> findFirstImageUrls(@Param("ids") List<Long> ids);
+
     @EntityGraph(attributePaths = {"colors"})
     @Query("SELECT c FROM Car c WHERE c.id IN :ids")
     List<Car> findByIdsWithColors(@Param("ids") List<Long> ids);
 
 
-    @Query("""
-        SELECT DISTINCT c.id
-        FROM Car c
-        LEFT JOIN c.variants v
-        LEFT JOIN c.details d
-        WHERE LOWER(c.brand) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(c.model) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(c.bodyType) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(c.fuelType) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(c.transmissionType) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(v.variant) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(v.fuel) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(v.transmission) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(v.engineCc) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(d.key) LIKE LOWER(CONCAT('%', :keyword, '%'))
-           OR LOWER(d.value) LIKE LOWER(CONCAT('%', :keyword, '%'))
-    """)
-    List<Long> searchCarIds(@Param("keyword") String keyword);
-
     @Query("SELECT DISTINCT c.brand FROM Car c ORDER BY c.brand")
     List<String> findDistinctBrands();
 
@@ -0,0 +1,9 @@
+package com.arcarshowcaseserver.repository;
+
+import com.arcarshowcaseserver.model.Cars.CarSpecDocument;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CarSpecDocumentRepository extends JpaRepository<CarSpecDocument, Long> {
+}
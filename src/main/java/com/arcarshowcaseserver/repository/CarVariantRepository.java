@@ -7,7 +7,6 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface CarVariantRepository extends JpaRepository<CarVariant,Long> {
@@ -27,84 +26,28 @@ public interface CarVariantRepository extends JpaRepository<CarVariant,Long> {
     );
 
 
-    @Query("""
-       SELECT v
-       FROM CarVariant v
-       WHERE v.car.id = :carId
-       AND v.variant =:variant
-       """)
-    Optional<CarVariant> findByCarIdAndVariant(
-            @Param("carId") Long carId,
-            @Param("variant") String variant
-    );
-
 @Query("SELECT v FROM CarVariant v WHERE v.car.id = :carId")
 List<CarVariant> findVariantsByCarId(@Param("carId") Long carId);
 
 
-        //  By engineCC (1984 cc / 17.4 kWh)
+        //  By displacement range (1984 cc), parsed at import
         @Query("""
-        SELECT v FROM CarVariant v 
-        WHERE LOWER(v.engineCc) LIKE LOWER(CONCAT('%', :engine, '%'))
+        SELECT v FROM CarVariant v
+        WHERE v.displacementCc BETWEEN :minCc AND :maxCc
+        ORDER BY v.displacementCc ASC, v.id ASC
     """)
-        List<CarVariant> findByEngineCc(@Param("engine") String engineCC);
-
-
+        List<CarVariant> findByDisplacementBetween(@Param("minCc") int minCc, @Param("maxCc") int maxCc);
 
+        //  By battery capacity (17.4 kWh)
         @Query("""
         SELECT v FROM CarVariant v
-        WHERE CAST(
-            REGEXP_REPLACE(v.price, '[^0-9.]', '', 'g')
-            AS double
-        ) <= :maxPrice
+        WHERE v.batteryKwh = :kwh
+        ORDER BY v.id ASC
     """)
-        List<CarVariant> findUnderPrice(@Param("maxPrice") double maxPrice);
-
-
-
-
-    @Query(
-            value = """
-    SELECT *
-    FROM car_variants_v2
-    WHERE CAST(
-        REGEXP_REPLACE(price, '[^0-9.]', '', 'g')
-        AS DOUBLE PRECISION
-    ) BETWEEN :min AND :max
-    ORDER BY CAST(
-        REGEXP_REPLACE(price, '[^0-9.]', '', 'g')
-        AS DOUBLE PRECISION
-    ) ASC
-    """,
-            nativeQuery = true
-    )
-    List<CarVariant> findBetweenPrices(
-            @Param("min") double min,
-            @Param("max") double max
-    );
-
+        List<CarVariant> findByBatteryKwh(@Param("kwh") double kwh);
 
 
 
-    @Query(
-            value = """
-        SELECT *
-        FROM car_variants_v2 v
-        WHERE (:fuel IS NULL OR LOWER(v.fuel) = LOWER(:fuel))
-          AND (:engine IS NULL OR LOWER(v.engine_cc) LIKE LOWER(CONCAT('%', :engine, '%')))
-          AND (:maxPrice IS NULL OR
-               CAST(REGEXP_REPLACE(v.price, '[^0-9.]', '', 'g') AS DOUBLE PRECISION)
-               <= :maxPrice)
-        """,
-            nativeQuery = true
-    )
-    List<CarVariant> filterVariants(
-            @Param("fuel") String fuel,
-            @Param("engine") String engine,
-            @Param("maxPrice") Double maxPrice
-    );
-
-
     @Query("""
         SELECT v
         FROM CarVariant v
@@ -118,9 +61,19 @@ List<CarVariant> findVariantsByCarId(@Param("carId") Long carId);
 
 
     @Query("""
-       SELECT v
-       FROM CarVariant v
-       WHERE v.variant =:variant
-       """)
-    CarVariant findByVariant(@Param("variant") String variant);
+        SELECT DISTINCT v
+        FROM CarVariant v
+        LEFT JOIN FETCH v.keySpecifications
+        WHERE v.car.id IN :carIds
+    """)
+    List<CarVariant> findWithKeySpecificationsByCarIds(@Param("carIds") List<Long> carIds);
+
+    @Query("SELECT v FROM CarVariant v JOIN FETCH v.car WHERE v.slug IS NULL")
+    List<CarVariant> findWithoutSlug();
+
+    @Query("SELECT v FROM CarVariant v WHERE v.priceLakhs IS NULL AND v.price <> ''")
+    List<CarVariant> findUnparsedPrices();
+
+    @Query("SELECT v FROM CarVariant v WHERE v.numbersParsed IS NULL")
+    List<CarVariant> findUnparsedNumbers();
 }
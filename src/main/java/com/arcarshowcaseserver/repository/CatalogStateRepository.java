@@ -0,0 +1,35 @@
+package com.arcarshowcaseserver.repository;
+
+import com.arcarshowcaseserver.model.CatalogState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface CatalogStateRepository extends JpaRepository<CatalogState, Integer> {
+
+    @Query("SELECT s.version FROM CatalogState s WHERE s.id = :id")
+    Optional<Long> findVersion(@Param("id") Integer id);
+
+    @Modifying
+    @Query("UPDATE CatalogState s SET s.version = s.version + 1 WHERE s.id = :id")
+    int incrementVersion(@Param("id") Integer id);
+
+    @Query("SELECT s.datasetHash FROM CatalogState s WHERE s.id = :id")
+    Optional<String> findDatasetHash(@Param("id") Integer id);
+
+    @Modifying
+    @Query("UPDATE CatalogState s SET s.datasetHash = :hash WHERE s.id = :id")
+    int updateDatasetHash(@Param("id") Integer id, @Param("hash") String hash);
+
+    // Leaves version alone, unlike saving a possibly stale entity
+    @Transactional
+    @Modifying
+    @Query("UPDATE CatalogState s SET s.seeded = :seeded WHERE s.id = :id")
+    int updateSeeded(@Param("id") Integer id, @Param("seeded") Boolean seeded);
+}
@@ -5,10 +5,12 @@ import com.arcarshowcaseserver.model.Cars.Car;
 import com.arcarshowcaseserver.model.Cars.Like;
 import com.arcarshowcaseserver.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Set;
 
 @Repository
@@ -40,4 +42,11 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     boolean existsByCarIdAndUserId(@Param("carId") Long carId, @Param("userId") Long userId);
 
     long countByUser(User user);
+
+    @Query("SELECT l.car.id, COUNT(l) FROM Like l GROUP BY l.car.id")
+    List<Object[]> countLikesByCar();
+
+    @Modifying
+    @Query("DELETE FROM Like l WHERE l.car.id IN :carIds")
+    int deleteByCarIds(@Param("carIds") List<Long> carIds);
 }
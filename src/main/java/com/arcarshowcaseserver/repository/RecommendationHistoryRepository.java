@@ -21,4 +21,8 @@ public interface RecommendationHistoryRepository extends JpaRepository<Recommend
     @Transactional
     @Query("DELETE FROM RecommendationHistory rh WHERE rh.shownAt < :cutoff")
     void deleteByShownAtBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM RecommendationHistory rh WHERE rh.carId IN :carIds")
+    int deleteByCarIds(@Param("carIds") List<Long> carIds);
 }
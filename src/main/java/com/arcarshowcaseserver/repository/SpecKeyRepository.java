@@ -0,0 +1,13 @@
+package com.arcarshowcaseserver.repository;
+
+import com.arcarshowcaseserver.model.Cars.SpecKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SpecKeyRepository extends JpaRepository<SpecKey, Integer> {
+
+    Optional<SpecKey> findByRawKey(String rawKey);
+}
@@ -0,0 +1,114 @@
+package com.arcarshowcaseserver.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+
+/**
+ * Aho-Corasick automaton over a fixed list of patterns: one pass over the
+ * text reports every pattern occurring in it, by its index in the list.
+ * Built once; matching allocates nothing and is safe from any thread.
+ */
+public final class AhoCorasick {
+
+    // Per state: sorted transition chars and their targets
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] fail;
+    // Pattern ending at a state (first one given when patterns repeat), or -1
+    private final int[] output;
+    // Nearest state along the fail links that has an output, or -1
+    private final int[] dictionary;
+    private final int[] patternLengths;
+
+    public AhoCorasick(List<String> patterns) {
+        List<TreeMap<Character, Integer>> edges = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        edges.add(new TreeMap<>());
+        outputs.add(-1);
+        patternLengths = new int[patterns.size()];
+
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = patterns.get(p);
+            patternLengths[p] = pattern.length();
+            if (pattern.isEmpty()) continue;
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                Integer next = edges.get(state).get(pattern.charAt(i));
+                if (next == null) {
+                    next = edges.size();
+                    edges.add(new TreeMap<>());
+                    outputs.add(-1);
+                    edges.get(state).put(pattern.charAt(i), next);
+                }
+                state = next;
+            }
+            if (outputs.get(state) < 0) outputs.set(state, p);
+        }
+
+        int states = edges.size();
+        edgeChars = new char[states][];
+        edgeTargets = new int[states][];
+        output = new int[states];
+        for (int s = 0; s < states; s++) {
+            TreeMap<Character, Integer> out = edges.get(s);
+            edgeChars[s] = new char[out.size()];
+            edgeTargets[s] = new int[out.size()];
+            int i = 0;
+            for (var edge : out.entrySet()) {
+                edgeChars[s][i] = edge.getKey();
+                edgeTargets[s][i++] = edge.getValue();
+            }
+            output[s] = outputs.get(s);
+        }
+
+        // Breadth first, so every fail target is finished before it is used
+        fail = new int[states];
+        dictionary = new int[states];
+        Arrays.fill(dictionary, -1);
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : edgeTargets[0]) {
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < edgeChars[state].length; i++) {
+                char c = edgeChars[state][i];
+                int child = edgeTargets[state][i];
+                int f = fail[state];
+                while (f != 0 && step(f, c) < 0) f = fail[f];
+                int target = step(f, c);
+                fail[child] = target < 0 || target == child ? 0 : target;
+                dictionary[child] = output[fail[child]] >= 0 ? fail[child] : dictionary[fail[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    public int patternLength(int pattern) {
+        return patternLengths[pattern];
+    }
+
+    /** Calls {@code onMatch} with the index of every pattern occurrence in {@code text}. */
+    public void forEachMatch(CharSequence text, IntConsumer onMatch) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = step(state, c)) < 0 && state != 0) state = fail[state];
+            state = next < 0 ? 0 : next;
+            for (int s = output[state] >= 0 ? state : dictionary[state]; s > 0; s = dictionary[s]) {
+                onMatch.accept(output[s]);
+            }
+        }
+    }
+
+    private int step(int state, char c) {
+        int i = Arrays.binarySearch(edgeChars[state], c);
+        return i < 0 ? -1 : edgeTargets[state][i];
+    }
+}
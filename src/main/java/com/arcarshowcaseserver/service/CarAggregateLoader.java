@@ -0,0 +1,162 @@
+package com.arcarshowcaseserver.service;
+
+import com.arcarshowcaseserver.dto.CarColorDTO;
+import com.arcarshowcaseserver.dto.CarFullView;
+import com.arcarshowcaseserver.dto.CarImageDTO;
+import com.arcarshowcaseserver.dto.CarSpecDTO;
+import com.arcarshowcaseserver.dto.CarVariantDTO;
+import com.arcarshowcaseserver.model.Cars.Car;
+import com.arcarshowcaseserver.model.Cars.CarColor;
+import com.arcarshowcaseserver.model.Cars.CarImage;
+import com.arcarshowcaseserver.model.Cars.CarVariant;
+import com.arcarshowcaseserver.repository.CarRepository;
+import com.arcarshowcaseserver.repository.CarVariantRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assembles {@link CarFullView}s for a batch of car ids in a fixed number of
+ * queries, independent of how many variants, specs, images or colors the
+ * cars have:
+ * <ol>
+ *     <li>cars + variants</li>
+ *     <li>variant key specifications</li>
+ *     <li>specs ({@link SpecStore}: detail rows or spec documents)</li>
+ *     <li>images</li>
+ *     <li>colors</li>
+ * </ol>
+ * Each query initializes one collection on the same managed {@code Car}
+ * instances, so nothing is lazily loaded once the views are built and the
+ * result can be serialized without an open session.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CarAggregateLoader {
+
+    private final CarRepository carRepository;
+    private final CarVariantRepository carVariantRepository;
+    private final SpecStore specStore;
+
+    public CarAggregateLoader(CarRepository carRepository,
+                              CarVariantRepository carVariantRepository,
+                              SpecStore specStore) {
+        this.carRepository = carRepository;
+        this.carVariantRepository = carVariantRepository;
+        this.specStore = specStore;
+    }
+
+    /** Views in the order of {@code ids}; ids with no car are skipped. */
+    public List<CarFullView> load(List<Long> ids) {
+        return load(ids, CarFields.FULL);
+    }
+
+    /**
+     * Same, restricted to {@code fields}: collections outside the selection
+     * are neither queried nor set, and a scalar-only selection is a single
+     * query on {@code cars_v2}.
+     */
+    public List<CarFullView> load(List<Long> ids, CarFields fields) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Car> cars = new HashMap<>(ids.size() * 2);
+        List<Car> loaded = fields.needsVariants()
+                ? carRepository.findByIdsWithVariants(ids)
+                : carRepository.findAllById(ids);
+        for (Car car : loaded) {
+            cars.put(car.getId(), car);
+        }
+        if (cars.isEmpty()) {
+            return List.of();
+        }
+        if (fields.needsVariants()) {
+            carVariantRepository.findWithKeySpecificationsByCarIds(ids);
+        }
+        Map<Long, List<SpecValue>> specs = fields.needsDetails() ? specStore.findByCarIds(ids) : Map.of();
+        if (fields.needsImages()) {
+            carRepository.findByIdsWithImages(ids);
+        }
+        if (fields.needsColors()) {
+            carRepository.findByIdsWithColors(ids);
+        }
+        Map<Long, String> firstImages = new HashMap<>();
+        if (fields.needsImage()) {
+            for (Object[] row : carRepository.findFirstImageUrls(ids)) {
+                firstImages.put((Long) row[0], (String) row[1]);
+            }
+        }
+
+        List<CarFullView> views = new ArrayList<>(cars.size());
+        for (Long id : ids) {
+            Car car = cars.get(id);
+            if (car != null) {
+                views.add(toView(car, fields, specs.getOrDefault(id, List.of()), firstImages.get(id)));
+            }
+        }
+        return views;
+    }
+
+    private CarFullView toView(Car car, CarFields fields, List<SpecValue> specs, String firstImage) {
+        CarFullView view = new CarFullView();
+        view.setId(car.getId());
+        view.setSelection(fields.names());
+        if (fields.includes("brand")) view.setBrand(car.getBrand());
+        if (fields.includes("model")) view.setModel(car.getModel());
+        if (fields.includes("bodyType")) view.setBodyType(car.getBodyType());
+        if (fields.includes("fuelType")) view.setFuelType(car.getFuelType());
+        if (fields.includes("transmissionType")) view.setTransmissionType(car.getTransmissionType());
+        if (fields.includes("seatingCapacity")) view.setSeatingCapacity(car.getSeatingCapacity());
+        if (fields.includes("priceRange")) view.setPriceRange(car.getPriceRange());
+        if (fields.includes("minPriceLakhs")) view.setMinPriceLakhs(car.getMinPriceLakhs());
+        if (fields.includes("maxPriceLakhs")) view.setMaxPriceLakhs(car.getMaxPriceLakhs());
+        if (fields.includes("rating")) view.setRating(car.getRating());
+        if (fields.includes("modelUrl")) view.setModelUrl(car.getModelUrl());
+        if (fields.needsImage()) view.setImage(firstImage);
+
+        if (fields.needsDetails()) {
+            List<CarSpecDTO> details = new ArrayList<>(specs.size());
+            for (SpecValue spec : specs) {
+                details.add(new CarSpecDTO(spec.id(), spec.key(), spec.value(), spec.category()));
+            }
+            view.setDetails(details);
+        }
+        if (fields.needsVariants()) {
+            List<CarVariantDTO> variants = new ArrayList<>(car.getVariants().size());
+            for (CarVariant variant : car.getVariants()) {
+                variants.add(new CarVariantDTO(
+                        variant.getId(),
+                        variant.getVariant(),
+                        variant.getPrice(),
+                        variant.getPriceLakhs(),
+                        variant.getEngineCc(),
+                        variant.getFuel(),
+                        variant.getTransmission(),
+                        variant.getMileage(),
+                        List.copyOf(variant.getKeySpecifications())
+                ));
+            }
+            view.setVariants(variants);
+        }
+        if (fields.needsImages()) {
+            List<CarImageDTO> images = new ArrayList<>(car.getImages().size());
+            for (CarImage image : car.getImages()) {
+                images.add(new CarImageDTO(image.getId(), image.getType(), image.getImageUrl()));
+            }
+            view.setImages(images);
+        }
+        if (fields.needsColors()) {
+            List<CarColorDTO> colors = new ArrayList<>(car.getColors().size());
+            for (CarColor color : car.getColors()) {
+                colors.add(new CarColorDTO(color.getId(), color.getName(), color.getImageUrl()));
+            }
+            view.setColors(colors);
+        }
+        return view;
+    }
+}
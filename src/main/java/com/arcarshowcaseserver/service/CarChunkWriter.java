@@ -0,0 +1,16 @@
+package com.arcarshowcaseserver.service;
+
+import com.arcarshowcaseserver.model.Cars.Car;
+
+import java.util.List;
+
+/**
+ * Persists one import chunk: mapped car graphs (variants, images, colours)
+ * plus the specs of each car, inside the caller's transaction. Chosen with
+ * {@code catalog.import.writer} ({@code jpa} or {@code jdbc}).
+ */
+public interface CarChunkWriter {
+
+    /** Writes {@code cars} and {@code specs} (same order) and returns the new car ids in order. */
+    List<Long> write(List<Car> cars, List<List<SpecValue>> specs);
+}
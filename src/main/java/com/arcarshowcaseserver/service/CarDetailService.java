@@ -2,6 +2,7 @@ package com.arcarshowcaseserver.service;
 
 import com.arcarshowcaseserver.dto.CarDetailDTO;
 import com.arcarshowcaseserver.dto.GroupedSpecsDTO;
+import com.arcarshowcaseserver.dto.SpecComparisonDTO;
 
 import java.util.List;
 
@@ -19,4 +20,6 @@ public interface CarDetailService {
 
     List<CarDetailDTO> searchByKey(Long carId, String key, String category);
 
+    SpecComparisonDTO compare(List<Long> carIds, boolean differencesOnly);
+
 }
@@ -0,0 +1,111 @@
+package com.arcarshowcaseserver.service;
+
+import com.arcarshowcaseserver.exceptions.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@code fields=} selection of a car endpoint: a named projection
+ * ({@code card}, {@code ar}, {@code full}) or a comma separated list of
+ * {@link com.arcarshowcaseserver.dto.CarFullView} properties, optionally
+ * mixed ({@code card,colors}). {@link CarAggregateLoader} only queries the
+ * collections a selection needs.
+ */
+public final class CarFields {
+
+    public static final String DETAILS = "details";
+    public static final String VARIANTS = "variants";
+    public static final String IMAGES = "images";
+    public static final String COLORS = "colors";
+    // URL of the car's first image, without loading the image list
+    public static final String IMAGE = "image";
+
+    private static final List<String> SCALARS = List.of(
+            "id", "brand", "model", "bodyType", "fuelType", "transmissionType", "seatingCapacity",
+            "priceRange", "minPriceLakhs", "maxPriceLakhs", "rating", "modelUrl");
+
+    private static final Map<String, List<String>> PROJECTIONS = Map.of(
+            "card", List.of("id", "brand", "model", "modelUrl", IMAGE),
+            "ar", List.of("id", "brand", "model", "modelUrl", COLORS),
+            "full", concat(SCALARS, List.of(DETAILS, VARIANTS, IMAGES, COLORS)));
+
+    private static final Set<String> KNOWN = Set.copyOf(concat(SCALARS, List.of(DETAILS, VARIANTS, IMAGES, COLORS, IMAGE)));
+
+    public static final CarFields FULL = new CarFields(new LinkedHashSet<>(PROJECTIONS.get("full")));
+
+    private final Set<String> fields;
+
+    private CarFields(Set<String> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+    /** {@code null}/blank selects {@link #FULL}; unknown names are a bad request. */
+    public static CarFields parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return FULL;
+        }
+        Set<String> fields = new LinkedHashSet<>();
+        fields.add("id");
+        for (String raw : spec.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty()) continue;
+            List<String> projection = PROJECTIONS.get(name.toLowerCase(Locale.ROOT));
+            if (projection != null) {
+                fields.addAll(projection);
+            } else if (KNOWN.contains(name)) {
+                fields.add(name);
+            } else {
+                throw new BadRequestException(
+                        "Unknown field '" + name + "'; use card, ar, full or any of " + KNOWN.stream().sorted().toList()
+                );
+            }
+        }
+        return new CarFields(fields);
+    }
+
+    /** Selected {@link com.arcarshowcaseserver.dto.CarFullView} property names. */
+    public Set<String> names() {
+        return fields;
+    }
+
+    public boolean includes(String field) {
+        return fields.contains(field);
+    }
+
+    public boolean needsVariants() {
+        return fields.contains(VARIANTS);
+    }
+
+    public boolean needsDetails() {
+        return fields.contains(DETAILS);
+    }
+
+    public boolean needsImages() {
+        return fields.contains(IMAGES);
+    }
+
+    public boolean needsColors() {
+        return fields.contains(COLORS);
+    }
+
+    public boolean needsImage() {
+        return fields.contains(IMAGE);
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        List<String> all = new ArrayList<>(first);
+        all.addAll(second);
+        return List.copyOf(all);
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", fields);
+    }
+}
@@ -1,56 +1,637 @@
 package com.arcarshowcaseserver.service;
 
+import com.arcarshowcaseserver.catalog.CatalogChangedEvent;
+import com.arcarshowcaseserver.catalog.CatalogVersion;
+import com.arcarshowcaseserver.configuration.ImportProperties;
 import com.arcarshowcaseserver.model.Cars.*;
+import com.arcarshowcaseserver.repository.CarDetailRepository;
 import com.arcarshowcaseserver.repository.CarRepository;
+import com.arcarshowcaseserver.repository.CarVariantRepository;
+import com.arcarshowcaseserver.repository.LikeRepository;
+import com.arcarshowcaseserver.repository.RecommendationHistoryRepository;
+import com.arcarshowcaseserver.service.serviceImpl.RowSpecStore;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 @Service
 public class CarImportService {
 
     private static final Logger log = LoggerFactory.getLogger(CarImportService.class);
+    private static final String MODEL_URL_PREFIX = "/api/static/models/";
 
     private final CarRepository carRepository;
+    private final CarVariantRepository carVariantRepository;
+    private final CarDetailRepository carDetailRepository;
     private final ObjectMapper objectMapper;
-    private final com.arcarshowcaseserver.configuration.CarModelConfig carModelConfig;
+    private final ModelFileMatcher modelFileMatcher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SpecKeyDictionary specKeyDictionary;
+    private final ImportProperties importProperties;
+    private final CarChunkWriter carChunkWriter;
+    private final SpecStore specStore;
+    private final LikeRepository likeRepository;
+    private final RecommendationHistoryRepository recommendationHistoryRepository;
+    private final CatalogVersion catalogVersion;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaction;
 
     public CarImportService(CarRepository carRepository,
+                            CarVariantRepository carVariantRepository,
+                            CarDetailRepository carDetailRepository,
                             ObjectMapper objectMapper,
-                            com.arcarshowcaseserver.configuration.CarModelConfig carModelConfig) {
+                            ModelFileMatcher modelFileMatcher,
+                            ApplicationEventPublisher eventPublisher,
+                            SpecKeyDictionary specKeyDictionary,
+                            ImportProperties importProperties,
+                            CarChunkWriter carChunkWriter,
+                            SpecStore specStore,
+                            LikeRepository likeRepository,
+                            RecommendationHistoryRepository recommendationHistoryRepository,
+                            CatalogVersion catalogVersion,
+                            EntityManager entityManager,
+                            PlatformTransactionManager transactionManager) {
         this.carRepository = carRepository;
+        this.carVariantRepository = carVariantRepository;
+        this.carDetailRepository = carDetailRepository;
         this.objectMapper = objectMapper;
-        this.carModelConfig = carModelConfig;
+        this.modelFileMatcher = modelFileMatcher;
+        this.eventPublisher = eventPublisher;
+        this.specKeyDictionary = specKeyDictionary;
+        this.importProperties = importProperties;
+        this.carChunkWriter = carChunkWriter;
+        this.specStore = specStore;
+        this.likeRepository = likeRepository;
+        this.recommendationHistoryRepository = recommendationHistoryRepository;
+        this.catalogVersion = catalogVersion;
+        this.entityManager = entityManager;
+        this.transaction = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional
+    /**
+     * Streams the top-level JSON array one car object at a time through
+     * {@link ImportPipeline}: parsing on one thread, mapping on
+     * {@code catalog.import.map-threads} workers, and commits of
+     * {@code catalog.import.chunk-size} cars in their own transaction on the
+     * calling thread. Memory stays bounded by the pipeline queues and a
+     * failed chunk only loses itself. Cars whose slug is already stored are
+     * skipped, so re-running an interrupted import continues after the last
+     * committed chunk. A run without failures records the SHA-256 of the file
+     * as the imported dataset.
+     */
     public void importData(InputStream inputStream) throws IOException {
-        JsonNode rootNode = objectMapper.readTree(inputStream);
+        importData(inputStream, new ImportProgress());
+    }
+
+    public void importData(InputStream inputStream, ImportProgress progress) throws IOException {
+        boolean resuming = carRepository.count() > 0;
+
+        ImportTally tally = new ImportTally(progress, false);
+        DigestInputStream digesting = new DigestInputStream(inputStream, sha256());
+        try {
+            runPipeline(digesting, tally, (chunk, run) -> writeChunk(chunk, resuming), false);
+            log.info("Successfully imported {} cars ({} already present, {} failed chunks).",
+                    tally.inserted, tally.skipped, tally.failedChunks);
+            if (tally.failedChunks == 0 && tally.mapFailures.get() == 0) {
+                String datasetHash = HexFormat.of().formatHex(digesting.getMessageDigest().digest());
+                transaction.executeWithoutResult(status -> catalogVersion.recordDataset(datasetHash));
+            }
+        } finally {
+            publishChanges(tally);
+        }
+    }
+
+    /**
+     * Applies the file as a delta against the stored catalog, keyed by car
+     * slug (brand + model). Cars whose {@link #contentHash} matches the
+     * stored one are left alone; changed cars are updated in place, keeping
+     * their id and the ids of variants whose slug is unchanged. New cars are
+     * inserted with the chunk they arrive in; chunks reach the writer in file
+     * order, so their ids follow it. A slug that occurs more than once keeps
+     * its first occurrence in the file. Cars missing from the file are deleted
+     * afterwards, with their likes and recommendation history.
+     * <p>
+     * The whole run is one transaction that also bumps the catalog version
+     * and records the SHA-256 of the file as the imported dataset, so readers
+     * see either the old catalog or the new one. A car that cannot be mapped,
+     * a failed write, a parse error or a cancel rolls everything back, and
+     * only a committed run announces its changes.
+     */
+    public void importDelta(InputStream inputStream) throws IOException {
+        importDelta(inputStream, new ImportProgress());
+    }
+
+    public void importDelta(InputStream inputStream, ImportProgress progress) throws IOException {
+        ImportTally tally = new ImportTally(progress, true);
+        DigestInputStream digesting = new DigestInputStream(inputStream, sha256());
+        try {
+            transaction.executeWithoutResult(status -> {
+                try {
+                    runPipeline(digesting, tally, this::applyDeltaChunk, true);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (tally.mapFailures.get() > 0) {
+                    throw new IllegalStateException(tally.mapFailures.get() + " cars could not be mapped");
+                }
+                if (tally.seenIds.isEmpty()) {
+                    throw new IllegalStateException("the file holds no cars");
+                }
+                tally.deleted = deleteMissing(tally);
+                if (!tally.changedIds.isEmpty()) {
+                    catalogVersion.bump();
+                }
+                catalogVersion.recordDataset(HexFormat.of().formatHex(digesting.getMessageDigest().digest()));
+            });
+        } catch (UncheckedIOException e) {
+            log.error("Delta import rolled back: {}", e.getCause().getMessage());
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            log.error("Delta import rolled back: {}", e.getMessage());
+            throw e;
+        }
+        log.info("Delta import: {} inserted, {} updated, {} unchanged, {} deleted, {} duplicates.",
+                tally.inserted, tally.updated, tally.unchanged, tally.deleted, tally.duplicates.get());
+        publishChanges(tally);
+    }
+
+    // One rebuild for the whole import rather than one per chunk; for a
+    // seed import also after a failed or cancelled run, for the chunks that did commit
+    private void publishChanges(ImportTally tally) {
+        if (!tally.changedIds.isEmpty()) {
+            eventPublisher.publishEvent(new CatalogChangedEvent(tally.changedIds));
+        }
+    }
+
+    // index: position of the car in the file
+    private record SourceCar(int index, JsonNode node) {
+    }
+
+    private record MappedCar(Car car, List<SpecValue> specs) {
+    }
+
+    // What one chunk did; merged into the run's tally only once it committed
+    private static class ChunkResult {
+        private final List<Long> insertedIds = new ArrayList<>();
+        private final List<Long> updatedIds = new ArrayList<>();
+        private final List<Long> unchangedIds = new ArrayList<>();
+        private int skipped;
+    }
+
+    // Written by the committing thread only, apart from mapFailures
+    private static class ImportTally {
+        private final ImportProgress progress;
+        // All chunks run in the caller's transaction, and any failure aborts the run
+        private final boolean atomic;
+        private final List<Long> changedIds = new ArrayList<>();
+        private final Set<Long> seenIds = new HashSet<>();
+        private final AtomicInteger mapFailures = new AtomicInteger();
+        private final AtomicInteger duplicates = new AtomicInteger();
+        private int chunks;
+        private int inserted;
+        private int updated;
+        private int unchanged;
+        private int skipped;
+        private int failedChunks;
+        private int deleted;
+
+        private ImportTally(ImportProgress progress, boolean atomic) {
+            this.progress = progress;
+            this.atomic = atomic;
+        }
+
+        private void merge(ChunkResult result, int cars) {
+            changedIds.addAll(result.insertedIds);
+            changedIds.addAll(result.updatedIds);
+            seenIds.addAll(result.insertedIds);
+            seenIds.addAll(result.updatedIds);
+            seenIds.addAll(result.unchangedIds);
+            inserted += result.insertedIds.size();
+            updated += result.updatedIds.size();
+            unchanged += result.unchangedIds.size();
+            skipped += result.skipped;
+            progress.chunkCommitted(cars, result.insertedIds.size(), result.updatedIds.size(),
+                    result.unchangedIds.size(), result.skipped);
+        }
+    }
+
+    private void runPipeline(InputStream inputStream, ImportTally tally,
+                             BiFunction<List<MappedCar>, ImportTally, ChunkResult> writer,
+                             boolean dropDuplicates) throws IOException {
+        ImportPipeline.Stats stats = ImportPipeline.<SourceCar, MappedCar>run(
+                sink -> parseCars(inputStream, dropDuplicates ? firstPerSlug(sink, tally) : sink),
+                node -> mapCar(node, tally),
+                chunk -> commitChunk(tally, chunk, writer),
+                Math.max(1, importProperties.getChunkSize()),
+                importProperties.getMapThreads()
+        );
+        log.info("Import pipeline: {} cars on {} map threads in {} ms | parse {} ms (blocked {} ms), "
+                        + "map {} ms (blocked {} ms), write {} ms | max queue depth parsed {}/{}, mapped {}/{}",
+                stats.items(), stats.mapThreads(), stats.wallMs(), stats.parseMs(), stats.parseBlockedMs(),
+                stats.mapMs(), stats.mapBlockedMs(), stats.writeMs(),
+                stats.maxParsedDepth(), stats.queueCapacity(), stats.maxMappedDepth(), stats.queueCapacity());
+    }
+
+    // On the parse thread, which sees the cars in file order: the first of a slug wins
+    private static Consumer<SourceCar> firstPerSlug(Consumer<SourceCar> sink, ImportTally tally) {
+        Set<String> slugs = new HashSet<>();
+        return source -> {
+            String slug = Slugs.car(source.node().path("brand").asText(""), source.node().path("model").asText(""));
+            if (slugs.add(slug)) {
+                sink.accept(source);
+                return;
+            }
+            log.warn("Duplicate car {} at position {} in import file; keeping the first.", slug, source.index());
+            tally.duplicates.incrementAndGet();
+            tally.progress.skipped(1);
+        };
+    }
 
-        if (!rootNode.isArray()) {
-            log.warn("Root JSON is not an array. Skipping import.");
+    private void parseCars(InputStream inputStream, Consumer<SourceCar> sink) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                log.warn("Root JSON is not an array. Skipping import.");
+                return;
+            }
+            JsonToken token;
+            int index = 0;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                sink.accept(new SourceCar(index++, objectMapper.readTree(parser)));
+            }
+            // Read to the end, so a digest over the stream covers the whole file
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    // Runs on the map workers: no transaction, nothing shared but the spec key dictionary
+    private MappedCar mapCar(SourceCar source, ImportTally tally) {
+        JsonNode carNode = source.node();
+        try {
+            Car car = mapJsonToCar(carNode);
+            car.setContentHash(contentHash(carNode, car.getModelUrl()));
+            return new MappedCar(car, mapSpecs(carNode, car));
+        } catch (Exception e) {
+            log.error("Failed to map car node: {} | Error: {}", carNode.path("model").asText(), e.getMessage());
+            tally.mapFailures.incrementAndGet();
+            tally.progress.error(carNode.path("brand").asText("") + " " + carNode.path("model").asText(""),
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    private void commitChunk(ImportTally tally, List<MappedCar> chunk,
+                             BiFunction<List<MappedCar>, ImportTally, ChunkResult> writer) {
+        if (tally.progress.isCancelled()) {
+            throw new CancellationException("Import cancelled");
+        }
+        int chunkNumber = ++tally.chunks;
+        if (tally.atomic) {
+            tally.merge(writer.apply(chunk, tally), chunk.size());
+            // The run's transaction stays open; nothing of this chunk needs to stay managed
+            entityManager.flush();
+            entityManager.clear();
             return;
         }
+        try {
+            ChunkResult result = transaction.execute(status -> {
+                ChunkResult written = writer.apply(chunk, tally);
+                if (!written.insertedIds.isEmpty() || !written.updatedIds.isEmpty()) {
+                    catalogVersion.bump();
+                }
+                return written;
+            });
+            if (result != null) {
+                tally.merge(result, chunk.size());
+            }
+        } catch (RuntimeException e) {
+            log.error("Import chunk {} ({} cars) rolled back: {}", chunkNumber, chunk.size(), e.getMessage());
+            tally.failedChunks++;
+            tally.progress.chunkFailed(chunk.size(), e.getMessage());
+        }
+    }
+
+    private ChunkResult writeChunk(List<MappedCar> chunk, boolean resuming) {
+        List<MappedCar> toSave = chunk;
+        if (resuming) {
+            Set<String> existing = carRepository.findExistingSlugs(
+                    chunk.stream().map(mapped -> mapped.car().getSlug()).toList());
+            toSave = chunk.stream().filter(mapped -> !existing.contains(mapped.car().getSlug())).toList();
+        }
+
+        ChunkResult result = new ChunkResult();
+        result.insertedIds.addAll(carChunkWriter.write(
+                toSave.stream().map(MappedCar::car).toList(),
+                toSave.stream().map(MappedCar::specs).toList()));
+        result.skipped = chunk.size() - toSave.size();
+        return result;
+    }
+
+    private ChunkResult applyDeltaChunk(List<MappedCar> chunk, ImportTally tally) {
+        ChunkResult result = new ChunkResult();
+        Map<String, Object[]> stored = new HashMap<>();
+        for (Object[] row : carRepository.findHashesBySlugs(chunk.stream().map(m -> m.car().getSlug()).toList())) {
+            // lowest id wins when a slug is stored twice; the others are swept as missing
+            stored.putIfAbsent((String) row[1], row);
+        }
+
+        List<MappedCar> newCars = new ArrayList<>();
+        Map<Long, MappedCar> updates = new LinkedHashMap<>();
+        for (MappedCar mapped : chunk) {
+            Object[] row = stored.get(mapped.car().getSlug());
+            if (row == null) {
+                newCars.add(mapped);
+            } else if (mapped.car().getContentHash().equals(row[2])) {
+                result.unchangedIds.add((Long) row[0]);
+            } else {
+                updates.put((Long) row[0], mapped);
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            List<Long> ids = new ArrayList<>(updates.keySet());
+            specStore.deleteByCarIds(ids);
+            for (Car car : carRepository.findAllById(ids)) {
+                MappedCar mapped = updates.get(car.getId());
+                copyInto(car, mapped.car());
+                specStore.write(car, mapped.specs());
+                result.updatedIds.add(car.getId());
+            }
+        }
+
+        // The chunk is in file order, so new ids follow the file
+        if (!newCars.isEmpty()) {
+            result.insertedIds.addAll(carChunkWriter.write(
+                    newCars.stream().map(MappedCar::car).toList(),
+                    newCars.stream().map(MappedCar::specs).toList()));
+        }
+        return result;
+    }
+
+    // Scalars overwritten, variants matched by slug so their ids survive,
+    // images and colours replaced
+    private static void copyInto(Car target, Car source) {
+        target.setBrand(source.getBrand());
+        target.setModel(source.getModel());
+        target.setBodyType(source.getBodyType());
+        target.setFuelType(source.getFuelType());
+        target.setTransmissionType(source.getTransmissionType());
+        target.setSeatingCapacity(source.getSeatingCapacity());
+        target.setPriceRange(source.getPriceRange());
+        target.setMinPriceLakhs(source.getMinPriceLakhs());
+        target.setMaxPriceLakhs(source.getMaxPriceLakhs());
+        target.setRating(source.getRating());
+        target.setModelUrl(source.getModelUrl());
+        target.setSlug(source.getSlug());
+        target.setContentHash(source.getContentHash());
+
+        Map<String, CarVariant> existing = new HashMap<>();
+        for (CarVariant variant : target.getVariants()) {
+            existing.putIfAbsent(variant.getSlug(), variant);
+        }
+        List<CarVariant> variants = new ArrayList<>();
+        for (CarVariant incoming : source.getVariants()) {
+            CarVariant variant = existing.remove(incoming.getSlug());
+            if (variant == null) {
+                variant = incoming;
+                variant.setCar(target);
+            } else {
+                variant.setVariant(incoming.getVariant());
+                variant.setPrice(incoming.getPrice());
+                variant.setPriceLakhs(incoming.getPriceLakhs());
+                variant.setEngineCc(incoming.getEngineCc());
+                variant.setFuel(incoming.getFuel());
+                variant.setTransmission(incoming.getTransmission());
+                variant.setMileage(incoming.getMileage());
+                variant.setDisplacementCc(incoming.getDisplacementCc());
+                variant.setBatteryKwh(incoming.getBatteryKwh());
+                variant.setMileageKmpl(incoming.getMileageKmpl());
+                variant.setRangeKm(incoming.getRangeKm());
+                variant.setPowerBhp(incoming.getPowerBhp());
+                variant.setTorqueNm(incoming.getTorqueNm());
+                variant.setNumbersParsed(incoming.getNumbersParsed());
+                variant.getKeySpecifications().clear();
+                variant.getKeySpecifications().addAll(incoming.getKeySpecifications());
+            }
+            variants.add(variant);
+        }
+        target.getVariants().clear();
+        target.getVariants().addAll(variants);
 
-        List<Car> carsToSave = new ArrayList<>();
-        for (JsonNode carNode : rootNode) {
-            try {
-                Car car = mapJsonToCar(carNode);
-                carsToSave.add(car);
-            } catch (Exception e) {
-                log.error("Failed to map car node: {} | Error: {}", carNode.path("model").asText(), e.getMessage());
+        target.getImages().clear();
+        for (CarImage image : source.getImages()) {
+            image.setCar(target);
+            target.getImages().add(image);
+        }
+        target.getColors().clear();
+        for (CarColor color : source.getColors()) {
+            color.setCar(target);
+            target.getColors().add(color);
+        }
+    }
+
+    // Inside the delta's transaction
+    private int deleteMissing(ImportTally tally) {
+        List<Long> missing = carRepository.findAllIds().stream()
+                .filter(id -> !tally.seenIds.contains(id))
+                .toList();
+        int chunkSize = Math.max(1, importProperties.getChunkSize());
+        for (int from = 0; from < missing.size(); from += chunkSize) {
+            List<Long> batch = missing.subList(from, Math.min(from + chunkSize, missing.size()));
+            if (tally.progress.isCancelled()) {
+                throw new CancellationException("Import cancelled");
+            }
+            likeRepository.deleteByCarIds(batch);
+            recommendationHistoryRepository.deleteByCarIds(batch);
+            specStore.deleteByCarIds(batch);
+            carRepository.deleteAllById(batch);
+            tally.changedIds.addAll(batch);
+            tally.progress.deleted(batch.size());
+        }
+        return missing.size();
+    }
+
+    /**
+     * SHA-256 over the car's JSON with object fields in sorted order, so
+     * key order and whitespace in the file don't matter, plus the model file
+     * it was assigned, so a changed model mapping also counts as a change.
+     */
+    static String contentHash(JsonNode node, String modelUrl) {
+        MessageDigest digest = sha256();
+        digestNode(digest, node);
+        digestText(digest, modelUrl == null ? "" : modelUrl);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void digestNode(MessageDigest digest, JsonNode node) {
+        if (node.isObject()) {
+            digest.update((byte) '{');
+            List<String> names = new ArrayList<>();
+            node.fieldNames().forEachRemaining(names::add);
+            Collections.sort(names);
+            for (String name : names) {
+                digestText(digest, name);
+                digestNode(digest, node.get(name));
+            }
+            digest.update((byte) '}');
+        } else if (node.isArray()) {
+            digest.update((byte) '[');
+            for (JsonNode element : node) {
+                digestNode(digest, element);
+            }
+            digest.update((byte) ']');
+        } else if (node.isNull() || node.isMissingNode()) {
+            digest.update((byte) 'n');
+        } else if (node.isNumber()) {
+            digest.update((byte) 'd');
+            digestText(digest, node.decimalValue().stripTrailingZeros().toPlainString());
+        } else if (node.isBoolean()) {
+            digest.update((byte) (node.booleanValue() ? 't' : 'f'));
+        } else {
+            digest.update((byte) 's');
+            digestText(digest, node.asText());
+        }
+    }
+
+    // Length-prefixed, so ["ab","c"] and ["a","bc"] differ
+    private static void digestText(MessageDigest digest, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+    // Rows imported before price_lakhs existed only carry the display string
+    @Transactional
+    public int backfillVariantPrices() {
+        List<CarVariant> unparsed = carVariantRepository.findUnparsedPrices();
+        int parsed = 0;
+        for (CarVariant variant : unparsed) {
+            Double lakhs = PriceParser.toLakhs(variant.getPrice());
+            if (lakhs != null) {
+                variant.setPriceLakhs(lakhs);
+                parsed++;
             }
         }
-        carRepository.saveAll(carsToSave);
-        log.info("Successfully imported {} cars.", carsToSave.size());
+        if (parsed > 0) {
+            catalogVersion.bump();
+            log.info("Backfilled price_lakhs for {} of {} variants.", parsed, unparsed.size());
+            eventPublisher.publishEvent(new CatalogChangedEvent(
+                    unparsed.stream().map(v -> v.getCar().getId()).distinct().toList()));
+        }
+        return parsed;
+    }
+
+    // Rows imported before the slug columns existed
+    @Transactional
+    public int backfillSlugs() {
+        List<Car> cars = carRepository.findWithoutSlug();
+        for (Car car : cars) {
+            car.setSlug(Slugs.car(car.getBrand(), car.getModel()));
+        }
+        List<CarVariant> variants = carVariantRepository.findWithoutSlug();
+        for (CarVariant variant : variants) {
+            Car car = variant.getCar();
+            variant.setSlug(Slugs.variant(car.getBrand(), car.getModel(), variant.getVariant()));
+        }
+        if (!cars.isEmpty() || !variants.isEmpty()) {
+            catalogVersion.bump();
+            log.info("Backfilled slugs for {} cars and {} variants.", cars.size(), variants.size());
+        }
+        return cars.size() + variants.size();
+    }
+
+    // Details imported before the spec key dictionary existed; their key text moves into spec_keys
+    @Transactional
+    public int backfillSpecKeys() {
+        List<CarDetail> details = carDetailRepository.findWithoutSpecKey();
+        for (CarDetail detail : details) {
+            detail.setSpecKeyId(specKeyDictionary.resolve(detail.getKey()).getId());
+            detail.setKey(null);
+        }
+        if (!details.isEmpty()) {
+            catalogVersion.bump();
+            log.info("Backfilled spec_key_id for {} details.", details.size());
+        }
+        return details.size();
+    }
+
+    // Rows imported before the typed numeric columns existed
+    @Transactional
+    public int backfillNumericSpecs() {
+        List<CarVariant> variants = carVariantRepository.findUnparsedNumbers();
+        for (CarVariant variant : variants) {
+            parseNumbers(variant);
+        }
+        List<CarDetail> details = carDetailRepository.findUnparsedNumbers();
+        for (CarDetail detail : details) {
+            RowSpecStore.parseNumber(detail);
+        }
+        if (!variants.isEmpty() || !details.isEmpty()) {
+            catalogVersion.bump();
+            log.info("Backfilled numeric specs for {} variants and {} details.", variants.size(), details.size());
+        }
+        return variants.size() + details.size();
+    }
+
+    /**
+     * Recompiles the model file matcher from the current config and points
+     * every car at the model file it now resolves to.
+     */
+    @Transactional
+    public int reresolveModelUrls() {
+        modelFileMatcher.recompile();
+        List<Long> changed = new ArrayList<>();
+        for (Car car : carRepository.findAll()) {
+            String modelUrl = modelUrl(car);
+            if (!modelUrl.equals(car.getModelUrl())) {
+                car.setModelUrl(modelUrl);
+                changed.add(car.getId());
+            }
+        }
+        if (!changed.isEmpty()) {
+            catalogVersion.bump();
+            log.info("Re-resolved model files of {} cars.", changed.size());
+            eventPublisher.publishEvent(new CatalogChangedEvent(changed));
+        }
+        return changed.size();
+    }
+
+    private String modelUrl(Car car) {
+        return MODEL_URL_PREFIX + modelFileMatcher.resolve(car.getBrand(), car.getModel());
     }
 
     private Car mapJsonToCar(JsonNode node) {
@@ -65,11 +646,13 @@ public class CarImportService {
         car.setMinPriceLakhs(node.path("min_price_lakhs").asDouble(0.0));
         car.setMaxPriceLakhs(node.path("max_price_lakhs").asDouble(0.0));
         car.setRating(node.path("rating").asDouble(0.0));
+        car.setSlug(Slugs.car(car.getBrand(), car.getModel()));
 
-        String assignedModel = resolveModelFile(car.getBrand(), car.getModel());
-        car.setModelUrl("/api/static/models/" + assignedModel);
-
-        mapSpecs(node, car);
+        String assignedModel = modelFileMatcher.resolve(car.getBrand(), car.getModel());
+        if (ModelFileMatcher.DEFAULT_FILE.equals(assignedModel)) {
+            log.warn("No model match for: {} {} → Defaulting to {}", car.getBrand(), car.getModel(), assignedModel);
+        }
+        car.setModelUrl(MODEL_URL_PREFIX + assignedModel);
 
         mapVariants(node, car);
 
@@ -78,31 +661,34 @@ public class CarImportService {
         return car;
     }
 
-    private void mapSpecs(JsonNode node, Car car) {
+    // Stored through the SpecStore once the car has an id
+    private List<SpecValue> mapSpecs(JsonNode node, Car car) {
+        List<SpecValue> specs = new ArrayList<>();
         JsonNode specsNode = node.path("specs");
-        if (specsNode.isMissingNode() || specsNode.isEmpty()) return;
+        if (specsNode.isMissingNode() || specsNode.isEmpty()) return specs;
 
         Iterator<Map.Entry<String, JsonNode>> specCategories = specsNode.fields();
         while (specCategories.hasNext()) {
             Map.Entry<String, JsonNode> categoryEntry = specCategories.next();
 
             String rawCategory = categoryEntry.getKey();
-            String normalizedCategory = normalizeCategory(rawCategory, car.getBrand(), car.getModel());
+            String normalizedCategory = SpecCategoryClassifier.classify(rawCategory, car.getBrand(), car.getModel());
 
             JsonNode categoryData = categoryEntry.getValue();
             Iterator<Map.Entry<String, JsonNode>> specFields = categoryData.fields();
 
             while (specFields.hasNext()) {
                 Map.Entry<String, JsonNode> specEntry = specFields.next();
-                CarDetail detail = new CarDetail(
+                specs.add(new SpecValue(
+                        null,
                         normalizedCategory,
+                        specKeyDictionary.resolve(specEntry.getKey()).getId(),
                         specEntry.getKey(),
-                        specEntry.getValue().asText(""),
-                        car
-                );
-                car.getDetails().add(detail);
+                        specEntry.getValue().asText("")
+                ));
             }
         }
+        return specs;
     }
 
     private void mapVariants(JsonNode node, Car car) {
@@ -113,10 +699,12 @@ public class CarImportService {
             CarVariant variant = new CarVariant();
             variant.setVariant(vNode.path("variant").asText(""));
             variant.setPrice(vNode.path("price").asText(""));
+            variant.setPriceLakhs(PriceParser.toLakhs(variant.getPrice()));
             variant.setEngineCc(vNode.path("engine_cc").asText(""));
             variant.setFuel(vNode.path("fuel").asText(""));
             variant.setTransmission(vNode.path("transmission").asText(""));
             variant.setMileage(vNode.path("mileage").asText(""));
+            variant.setSlug(Slugs.variant(car.getBrand(), car.getModel(), variant.getVariant()));
             variant.setCar(car);
 
             JsonNode keySpecsNode = vNode.path("key_specifications");
@@ -127,6 +715,7 @@ public class CarImportService {
                 }
                 variant.setKeySpecifications(keySpecs);
             }
+            parseNumbers(variant);
 
             car.getVariants().add(variant);
         }
@@ -170,65 +759,40 @@ public class CarImportService {
         }
     }
 
-    private String normalizeCategory(String rawCategory, String brand, String model) {
-        if (rawCategory == null || rawCategory.isBlank()) return "General";
-
-        String lower = rawCategory.toLowerCase();
-
-        if (lower.startsWith("key spec"))              return "Key Specifications";
-        if (lower.contains("specification"))           return "Full Specifications";
-        if (lower.contains("feature"))                 return "Features";
-        if (lower.contains("safety"))                  return "Safety";
-        if (lower.contains("comfort"))                 return "Comfort";
-        if (lower.contains("colour") || lower.contains("color")) return "Colours";
-        if (lower.contains("dimension"))               return "Dimensions";
-        if (lower.contains("engine"))                  return "Engine";
-        if (lower.contains("performance"))             return "Performance";
-        if (lower.contains("infotainment"))            return "Infotainment";
-
-        String cleaned = rawCategory;
-        if (brand != null && !brand.isBlank()) {
-            cleaned = cleaned.replaceAll("(?i)" + Pattern.quote(brand), "").trim();
-        }
-        if (model != null && !model.isBlank()) {
-            cleaned = cleaned.replaceAll("(?i)" + Pattern.quote(model), "").trim();
+    // Typed columns from the free-text fields, derived from scratch so a
+    // re-parse also corrects values an older parser got wrong. The first
+    // number per unit wins; power only comes from a power-labelled key
+    // specification, since kW also rates chargers and single motors.
+    private static void parseNumbers(CarVariant variant) {
+        List<String> texts = new ArrayList<>();
+        texts.add(variant.getEngineCc());
+        texts.add(variant.getMileage());
+        texts.addAll(variant.getKeySpecifications());
+
+        // One text can carry several measures ("1497 cc, 118 bhp, 145 Nm"), so each unit is looked up on its own
+        Map<NumericSpecParser.Unit, Double> values = new EnumMap<>(NumericSpecParser.Unit.class);
+        for (String text : texts) {
+            for (NumericSpecParser.Unit unit : NumericSpecParser.Unit.values()) {
+                if (unit == NumericSpecParser.Unit.BHP || values.containsKey(unit)) continue;
+                Double value = NumericSpecParser.find(text, unit);
+                if (value != null) values.put(unit, value);
+            }
         }
-
-        cleaned = cleaned.replaceAll("\\s+", " ").trim();
-
-        if (cleaned.isBlank()) return "General";
-
-        return Character.toUpperCase(cleaned.charAt(0)) + cleaned.substring(1).toLowerCase();
-    }
-
-    private String resolveModelFile(String brand, String model) {
-        if (brand == null || model == null) return "car.glb";
-
-        String normalizedBrand = brand.toLowerCase().replaceAll("[^a-z0-9]", "");
-        String normalizedModel = model.toLowerCase().replaceAll("[^a-z0-9]", "");
-
-        for (com.arcarshowcaseserver.configuration.CarModelConfig.ModelEntry entry : carModelConfig.getModels().values()) {
-            if (entry.getBrand() == null) continue;
-
-            String configBrand = entry.getBrand().toLowerCase().replaceAll("[^a-z0-9]", "");
-
-            if (!normalizedBrand.equals(configBrand)) continue;
-
-            if (entry.getModelNames() == null) continue;
-
-            for (String configModelName : entry.getModelNames()) {
-                String normalizedConfigModel = configModelName.toLowerCase().replaceAll("[^a-z0-9]", "");
-
-                log.debug("Checking: {} vs {}", normalizedModel, normalizedConfigModel);
-
-                if (normalizedModel.contains(normalizedConfigModel)) {
-                    log.info("Model MATCHED: {} → {}", model, entry.getFile());
-                    return entry.getFile();
-                }
+        for (String spec : variant.getKeySpecifications()) {
+            Double power = NumericSpecParser.power(spec);
+            if (power != null) {
+                values.putIfAbsent(NumericSpecParser.Unit.BHP, power);
+                break;
             }
         }
 
-        log.warn("No model match for: {} {} → Defaulting to car.glb", brand, model);
-        return "car.glb";
+        Double cc = values.get(NumericSpecParser.Unit.CC);
+        variant.setDisplacementCc(cc == null ? null : (int) Math.round(cc));
+        variant.setBatteryKwh(values.get(NumericSpecParser.Unit.KWH));
+        variant.setMileageKmpl(values.get(NumericSpecParser.Unit.KMPL));
+        variant.setRangeKm(values.get(NumericSpecParser.Unit.KM));
+        variant.setPowerBhp(values.get(NumericSpecParser.Unit.BHP));
+        variant.setTorqueNm(values.get(NumericSpecParser.Unit.NM));
+        variant.setNumbersParsed(true);
     }
 }
@@ -1,20 +1,35 @@
 package com.arcarshowcaseserver.service;
 
 import com.arcarshowcaseserver.dto.CarDTO;
+import com.arcarshowcaseserver.dto.FacetedSearchResultDTO;
+import com.arcarshowcaseserver.dto.PageResponse;
+import com.arcarshowcaseserver.dto.SuggestionDTO;
 import java.util.List;
 
 public interface CarSearchService {
-    List<CarDTO> simpleSearch(String keyword);
+    PageResponse<CarDTO> simpleSearch(String keyword, String cursor, int size);
 
-    List<CarDTO> advancedSearch(String keyword);
+    PageResponse<CarDTO> advancedSearch(String keyword, String cursor, int size);
 
-    List<CarDTO> multiFilterSearch(
+    PageResponse<CarDTO> fuzzySearch(String keyword, String cursor, int size);
+
+    List<SuggestionDTO> suggest(String prefix, int limit);
+
+    PageResponse<CarDTO> specSearch(List<String> conditions, String brand, String bodyType,
+                                    String fuelType, String transmissionType, String cursor, int size);
+
+    List<String> specColumns();
+
+    FacetedSearchResultDTO multiFilterSearch(
             String keyword,
             String brand,
             String bodyType,
             String fuelType,
+            String transmissionType,
             Double minPrice,
             Double maxPrice,
-            Double minRating
+            Double minRating,
+            String cursor,
+            int size
     );
 }
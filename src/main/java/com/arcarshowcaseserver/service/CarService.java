@@ -1,18 +1,23 @@
 package com.arcarshowcaseserver.service;
 
 import com.arcarshowcaseserver.dto.CarDTO;
+import com.arcarshowcaseserver.dto.CarFullView;
 import com.arcarshowcaseserver.dto.CarOptionsDTO;
+import com.arcarshowcaseserver.dto.PageResponse;
 import com.arcarshowcaseserver.model.Cars.Car;
 import com.arcarshowcaseserver.model.Cars.CarVariant;
 
 import java.util.List;
 
 public interface CarService {
-    List<Car> GetAllCars();
+    PageResponse<CarFullView> getCarsPage(String cursor, int size);
 
     List<Car> searchCars(String keyword);
 
-    Car getCarsById(Long id);
+    CarFullView getCarsById(Long id, CarFields fields);
+
+    // In the order of ids; unknown ids are skipped
+    List<CarFullView> getCarsByIds(List<Long> ids, CarFields fields);
 
     List<String> getAllBrands();
 
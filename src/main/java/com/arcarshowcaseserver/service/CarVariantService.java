@@ -1,25 +1,28 @@
 package com.arcarshowcaseserver.service;
 
+import com.arcarshowcaseserver.dto.CarFullView;
 import com.arcarshowcaseserver.dto.CarVariantDTO;
 import com.arcarshowcaseserver.dto.EngineCCRequest;
-import com.arcarshowcaseserver.model.Cars.Car;
+import com.arcarshowcaseserver.dto.PageResponse;
 import com.arcarshowcaseserver.model.Cars.CarVariant;
 import org.springframework.http.ResponseEntity;
 
 import java.util.List;
 
 public interface CarVariantService {
-    List<CarVariantDTO> filterVariants(String fuel, String engine, Double maxPrice);
+    PageResponse<CarVariantDTO> filterVariants(String fuel, String engine, Double maxPrice,
+                                               Integer minCc, Integer maxCc, Double minMileage,
+                                               String cursor, int size);
 
-    List<CarVariantDTO> getBetweenPrices(double min, double max);
+    PageResponse<CarVariantDTO> getBetweenPrices(double min, double max, String cursor, int size);
 
-    List<CarVariantDTO> getUnderPrice(double priceLakhs);
+    PageResponse<CarVariantDTO> getUnderPrice(double priceLakhs, String cursor, int size);
 
-    List<CarVariantDTO> getByEngine(String engine);
+    List<CarVariantDTO> getByEngine(String engine, Integer minCc, Integer maxCc);
 
     List<CarVariant> getByBrandAndModelAndFuelType(String brand,String model,String fuel);
 
     List<CarVariant> getByBrandAndFuel(String model, String fuelType);
 
-    Car getByVariant(String variant);
+    CarFullView getByVariant(String variant, CarFields fields);
 }
@@ -0,0 +1,267 @@
+package com.arcarshowcaseserver.service;
+
+import com.arcarshowcaseserver.catalog.CatalogVersion;
+import com.arcarshowcaseserver.configuration.ImportProperties;
+import com.arcarshowcaseserver.dto.ImportJobDTO;
+import com.arcarshowcaseserver.repository.CarRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-imports the dataset file at {@code catalog.import.watch.path} whenever
+ * it changes. Change events are debounced, the file is copied aside and
+ * validated before anything touches the database, and the copy is then
+ * applied as a delta import job. The delta commits as one transaction, so
+ * readers keep the current catalog until it commits and the snapshot is
+ * swapped in one go, and a failed import leaves the catalog as it was.
+ * <p>
+ * Which dataset the catalog holds is the hash the last delta committed
+ * ({@link CatalogVersion#datasetHash()}), so a restart does not re-import
+ * an unchanged file. A file that fails validation or whose import fails is
+ * not retried until it changes again.
+ */
+@Service
+@ConditionalOnProperty(name = "catalog.import.watch.path")
+public class CatalogFileWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogFileWatcher.class);
+
+    private final ImportJobService importJobService;
+    private final CarRepository carRepository;
+    private final CatalogVersion catalogVersion;
+    private final ObjectMapper objectMapper;
+    private final ImportProperties.Watch properties;
+    private final Path file;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("catalog-reload").daemon().factory());
+
+    private WatchService watchService;
+    private ScheduledFuture<?> pendingCheck;
+    // Hash of the dataset the catalog currently reflects
+    private volatile String currentHash;
+    // Hash of the last file that was rejected or failed to import
+    private volatile String rejectedHash;
+    // An import job of ours is queued or running; changes meanwhile are picked up once it ends
+    private volatile boolean importing;
+
+    public CatalogFileWatcher(ImportJobService importJobService,
+                              CarRepository carRepository,
+                              CatalogVersion catalogVersion,
+                              ObjectMapper objectMapper,
+                              ImportProperties importProperties) {
+        this.importJobService = importJobService;
+        this.carRepository = carRepository;
+        this.catalogVersion = catalogVersion;
+        this.objectMapper = objectMapper;
+        this.properties = importProperties.getWatch();
+        this.file = Path.of(properties.getPath()).toAbsolutePath().normalize();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        Path directory = file.getParent();
+        if (directory == null || !Files.isDirectory(directory)) {
+            log.error("Catalog watch disabled: directory of {} does not exist", file);
+            return;
+        }
+        currentHash = catalogVersion.datasetHash();
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        Thread.ofPlatform().name("catalog-watch").daemon().start(this::watch);
+        log.info("Watching catalog dataset {} (debounce {} ms)", file, properties.getDebounce().toMillis());
+        // The file may have changed while the application was down
+        scheduleCheck();
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.warn("Could not close catalog watch service: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean relevant = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    // Overflow means events were lost; the hash check sorts out whether ours was one
+                    relevant |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                            || file.getFileName().equals(event.context());
+                }
+                if (relevant) {
+                    scheduleCheck();
+                }
+                if (!key.reset()) {
+                    log.error("Catalog watch stopped: {} is no longer accessible", file.getParent());
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // shutting down
+        }
+    }
+
+    // Each event pushes the check back, so a file still being written is read once, when it settles
+    private synchronized void scheduleCheck() {
+        if (scheduler.isShutdown()) {
+            return;
+        }
+        if (pendingCheck != null) {
+            pendingCheck.cancel(false);
+        }
+        pendingCheck = scheduler.schedule(this::check, properties.getDebounce().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void check() {
+        if (importing || !Files.isRegularFile(file)) {
+            return;
+        }
+        Path snapshot = null;
+        try {
+            // Copied first, so a writer touching the file again cannot change what gets validated and imported
+            snapshot = Files.createTempFile("catalog-reload-", ".json");
+            Files.copy(file, snapshot, StandardCopyOption.REPLACE_EXISTING);
+            String hash = sha256(snapshot);
+            if (hash.equals(currentHash) || hash.equals(rejectedHash)) {
+                Files.delete(snapshot);
+                return;
+            }
+
+            String problem = validate(snapshot);
+            if (problem != null) {
+                log.warn("Catalog dataset {} rejected, keeping the current catalog: {}", file, problem);
+                rejectedHash = hash;
+                Files.delete(snapshot);
+                return;
+            }
+
+            importing = true;
+            Path imported = snapshot;
+            ImportJobDTO job = importJobService.submitResource(new FileSystemResource(snapshot),
+                    ImportProperties.Mode.DELTA, result -> finished(result, imported, hash));
+            log.info("Catalog dataset {} changed; reload queued as import job {}", file, job.getId());
+        } catch (Exception e) {
+            importing = false;
+            log.error("Catalog reload of {} failed: {}", file, e.getMessage());
+            deleteQuietly(snapshot);
+        }
+    }
+
+    /** Null when the dataset may be imported, else what is wrong with it. */
+    private String validate(Path snapshot) throws IOException {
+        int cars = 0;
+        try (InputStream in = Files.newInputStream(snapshot);
+             JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return "root is not a JSON array";
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    return "truncated JSON";
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    return "entry " + cars + " is not an object";
+                }
+                JsonNode car = objectMapper.readTree(parser);
+                if (car.path("brand").asText("").isBlank() || car.path("model").asText("").isBlank()) {
+                    return "entry " + cars + " has no brand or model";
+                }
+                cars++;
+            }
+        } catch (IOException e) {
+            return "unreadable JSON: " + e.getMessage();
+        }
+        if (cars == 0) {
+            return "no cars";
+        }
+        // A delta deletes every car missing from the file, so a cut-off export must not get through
+        long current = carRepository.count();
+        if (cars < current * properties.getMinCarRatio()) {
+            return cars + " cars against " + current + " in the catalog (minimum ratio "
+                    + properties.getMinCarRatio() + ")";
+        }
+        return null;
+    }
+
+    // Runs on the import job thread
+    private void finished(ImportJobDTO job, Path snapshot, String hash) {
+        try {
+            if (ImportJobService.Status.SUCCEEDED.name().equals(job.getStatus())) {
+                currentHash = hash;
+                log.info("Catalog reloaded from {}: {} inserted, {} updated, {} deleted",
+                        file, job.getInserted(), job.getUpdated(), job.getDeleted());
+                return;
+            }
+            // Rolled back as a whole, so the catalog still holds the previous dataset
+            rejectedHash = hash;
+            log.error("Catalog reload from {} ended {} ({}); keeping the current catalog",
+                    file, job.getStatus(), job.getMessage());
+        } finally {
+            deleteQuietly(snapshot);
+            importing = false;
+            scheduleCheck();
+        }
+    }
+
+    private static String sha256(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(path), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", path, e.getMessage());
+        }
+    }
+}
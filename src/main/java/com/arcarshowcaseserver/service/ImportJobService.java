@@ -0,0 +1,310 @@
+package com.arcarshowcaseserver.service;
+
+import com.arcarshowcaseserver.configuration.ImportProperties;
+import com.arcarshowcaseserver.dto.ImportJobDTO;
+import com.arcarshowcaseserver.exceptions.BadRequestException;
+import com.arcarshowcaseserver.exceptions.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Runs catalog imports in the background, one at a time in submission
+ * order, and keeps the last {@link #MAX_JOBS} jobs for status queries.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportJobService.class);
+    private static final int MAX_JOBS = 50;
+
+    // PARTIAL: a full import that finished with rolled-back chunks or unmappable cars
+    public enum Status { QUEUED, RUNNING, SUCCEEDED, PARTIAL, FAILED, CANCELLED }
+
+    private static class ImportJob {
+        private final String id = UUID.randomUUID().toString();
+        private final ImportProperties.Mode mode;
+        private final String source;
+        private final Resource resource;
+        // temp copy of an upload, removed once the job is done
+        private final Path uploadedFile;
+        private final Consumer<ImportJobDTO> onFinished;
+        private final ImportProgress progress = new ImportProgress();
+        private final Instant submittedAt = Instant.now();
+        private volatile Status status = Status.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile String message;
+
+        private ImportJob(ImportProperties.Mode mode, String source, Resource resource, Path uploadedFile,
+                          Consumer<ImportJobDTO> onFinished) {
+            this.mode = mode;
+            this.source = source;
+            this.resource = resource;
+            this.uploadedFile = uploadedFile;
+            this.onFinished = onFinished;
+        }
+    }
+
+    private final CarImportService carImportService;
+    private final ImportProperties importProperties;
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("import-job-", 0).factory());
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+
+    public ImportJobService(CarImportService carImportService, ImportProperties importProperties) {
+        this.carImportService = carImportService;
+        this.importProperties = importProperties;
+    }
+
+    public ImportJobDTO submitUpload(MultipartFile file, ImportProperties.Mode mode) {
+        if (file.isEmpty()) {
+            throw new BadRequestException("Uploaded import file is empty");
+        }
+        Path temp;
+        try {
+            temp = Files.createTempFile("car-import-", ".json");
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not store uploaded import file", e);
+        }
+        try {
+            file.transferTo(temp);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(temp);
+            throw new IllegalStateException("Could not store uploaded import file", e);
+        }
+        String name = file.getOriginalFilename() != null ? file.getOriginalFilename() : "upload";
+        return submit(new ImportJob(mode, "upload:" + name, new FileSystemResource(temp), temp, null));
+    }
+
+    /**
+     * A file under {@code catalog.import.allowed-dir}; nothing else on the server is readable.
+     * Symlinks are resolved before the check, so a link inside the directory cannot point out of it.
+     */
+    public ImportJobDTO submitPath(String path, ImportProperties.Mode mode) {
+        if (importProperties.getAllowedDir() == null || importProperties.getAllowedDir().isBlank()) {
+            throw new BadRequestException("Server-side imports are disabled; set catalog.import.allowed-dir");
+        }
+        Path allowed;
+        try {
+            allowed = Path.of(importProperties.getAllowedDir()).toRealPath();
+        } catch (IOException e) {
+            throw new IllegalStateException("Import directory " + importProperties.getAllowedDir() + " is not accessible", e);
+        }
+        Path file;
+        try {
+            file = allowed.resolve(path).toRealPath();
+        } catch (IOException e) {
+            throw new BadRequestException("Import file not found: " + path);
+        }
+        if (!file.startsWith(allowed)) {
+            throw new BadRequestException("Import path must be inside " + allowed);
+        }
+        if (!Files.isRegularFile(file) || !Files.isReadable(file)) {
+            throw new BadRequestException("Import file not found: " + path);
+        }
+        return submit(new ImportJob(mode, "path:" + allowed.relativize(file), new FileSystemResource(file), null, null));
+    }
+
+    /** For imports started by the application itself. */
+    public ImportJobDTO submitResource(Resource resource, ImportProperties.Mode mode) {
+        return submitResource(resource, mode, null);
+    }
+
+    /** As above; {@code onFinished} is called on the job thread with the final state of the job. */
+    public ImportJobDTO submitResource(Resource resource, ImportProperties.Mode mode,
+                                      Consumer<ImportJobDTO> onFinished) {
+        return submit(new ImportJob(mode, "resource:" + resource.getDescription(), resource, null, onFinished));
+    }
+
+    public List<ImportJobDTO> list() {
+        synchronized (jobs) {
+            List<ImportJobDTO> all = new ArrayList<>();
+            for (ImportJob job : jobs.values()) {
+                all.add(toDTO(job));
+            }
+            all.sort(Comparator.comparing(ImportJobDTO::getSubmittedAt).reversed());
+            return all;
+        }
+    }
+
+    public ImportJobDTO get(String id) {
+        return toDTO(find(id));
+    }
+
+    /**
+     * A queued job never starts; a running one stops before its next chunk.
+     * A full import keeps what it already committed, a delta rolls back.
+     */
+    public ImportJobDTO cancel(String id) {
+        ImportJob job = find(id);
+        job.progress.cancel();
+        synchronized (job) {
+            if (job.status == Status.QUEUED) {
+                job.status = Status.CANCELLED;
+                job.finishedAt = Instant.now();
+            }
+        }
+        return toDTO(job);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (jobs) {
+            jobs.values().forEach(job -> job.progress.cancel());
+        }
+        executor.shutdownNow();
+    }
+
+    private ImportJobDTO submit(ImportJob job) {
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            evictFinished();
+        }
+        executor.execute(() -> run(job));
+        log.info("Import job {} queued: {} ({})", job.id, job.source, job.mode);
+        return toDTO(job);
+    }
+
+    private void run(ImportJob job) {
+        synchronized (job) {
+            if (job.status != Status.QUEUED) {
+                cleanUp(job);
+                notifyFinished(job);
+                return;
+            }
+            job.status = Status.RUNNING;
+            job.startedAt = Instant.now();
+        }
+        log.info("Import job {} started", job.id);
+        try (InputStream in = job.resource.getInputStream()) {
+            if (job.mode == ImportProperties.Mode.DELTA) {
+                carImportService.importDelta(in, job.progress);
+            } else {
+                carImportService.importData(in, job.progress);
+            }
+            finish(job);
+        } catch (CancellationException e) {
+            job.status = Status.CANCELLED;
+        } catch (Exception e) {
+            log.error("Import job {} failed", job.id, e);
+            job.message = e.getMessage();
+            job.status = Status.FAILED;
+        } finally {
+            job.finishedAt = Instant.now();
+            cleanUp(job);
+        }
+        log.info("Import job {} {}: {} cars processed, {} errors",
+                job.id, job.status, job.progress.getProcessed(), job.progress.getErrorCount());
+        notifyFinished(job);
+    }
+
+    // A delta rolls back on any failure, so only a full import can end up partly applied
+    private static void finish(ImportJob job) {
+        int failedChunks = job.progress.getFailedChunks();
+        int carErrors = job.progress.getErrorCount() - failedChunks;
+        if (failedChunks == 0 && carErrors == 0) {
+            job.status = Status.SUCCEEDED;
+            return;
+        }
+        job.message = "Partly applied: failed chunks " + failedChunks + ", unmappable cars " + carErrors;
+        job.status = Status.PARTIAL;
+    }
+
+    private void notifyFinished(ImportJob job) {
+        if (job.onFinished == null) {
+            return;
+        }
+        try {
+            job.onFinished.accept(toDTO(job));
+        } catch (RuntimeException e) {
+            log.error("Completion handler of import job {} failed", job.id, e);
+        }
+    }
+
+    private void cleanUp(ImportJob job) {
+        if (job.uploadedFile != null) {
+            deleteQuietly(job.uploadedFile);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete uploaded import file {}: {}", file, e.getMessage());
+        }
+    }
+
+    // Oldest finished jobs go first; queued and running jobs are always kept
+    private void evictFinished() {
+        var it = jobs.values().iterator();
+        while (jobs.size() > MAX_JOBS && it.hasNext()) {
+            ImportJob job = it.next();
+            if (job.finishedAt != null) {
+                it.remove();
+            }
+        }
+    }
+
+    private ImportJob find(String id) {
+        synchronized (jobs) {
+            ImportJob job = jobs.get(id);
+            if (job == null) {
+                throw new ResourceNotFoundException("Import job not found: " + id);
+            }
+            return job;
+        }
+    }
+
+    private static ImportJobDTO toDTO(ImportJob job) {
+        ImportProgress progress = job.progress;
+        double carsPerSecond = 0;
+        if (job.startedAt != null) {
+            Instant end = job.finishedAt != null ? job.finishedAt : Instant.now();
+            long millis = Math.max(1, Duration.between(job.startedAt, end).toMillis());
+            carsPerSecond = Math.round(progress.getProcessed() * 1000.0 / millis * 10) / 10.0;
+        }
+        return new ImportJobDTO(
+                job.id,
+                job.status.name(),
+                job.mode.name(),
+                job.source,
+                job.submittedAt,
+                job.startedAt,
+                job.finishedAt,
+                progress.getProcessed(),
+                carsPerSecond,
+                progress.getInserted(),
+                progress.getUpdated(),
+                progress.getUnchanged(),
+                progress.getSkipped(),
+                progress.getDeleted(),
+                progress.getFailedChunks(),
+                progress.getErrorCount(),
+                progress.getErrors(),
+                job.message
+        );
+    }
+}
@@ -0,0 +1,237 @@
+package com.arcarshowcaseserver.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Parse → map → write over two queues. One thread parses, a pool of
+ * {@code mapThreads} maps, and the calling thread writes chunks of
+ * {@code chunkSize}. Items reach the writer in input order: a mapped item
+ * waits in a reorder buffer until every item before it is mapped. The
+ * parser takes one of {@code queueCapacity} permits per item and the writer
+ * returns it once the item is in a chunk, so queues and reorder buffer
+ * together never hold more than that many items whatever the input size.
+ */
+public final class ImportPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportPipeline.class);
+    private static final Object END = new Object();
+    private static final Object DROPPED = new Object();
+    // A parser stuck in a blocking read does not see the interrupt; do not wait on it forever
+    private static final long PARSER_JOIN_MS = 10_000;
+
+    /** The parse stage: pushes every item of the input into {@code sink}. */
+    public interface Source<I> {
+        void emit(Consumer<I> sink) throws IOException;
+    }
+
+    /**
+     * Busy time per stage (map is summed over its threads), time the parse
+     * stage waited for an in-flight permit and the map stage for queue room,
+     * and the deepest each queue got.
+     */
+    public record Stats(int items, int mapThreads, long wallMs,
+                        long parseMs, long mapMs, long writeMs,
+                        long parseBlockedMs, long mapBlockedMs,
+                        int maxParsedDepth, int maxMappedDepth, int queueCapacity) {
+    }
+
+    // seq: position of the item in the input
+    private record Sequenced(long seq, Object item) {
+    }
+
+    private ImportPipeline() {
+    }
+
+    /**
+     * {@code mapper} returns {@code null} for items to drop. The first
+     * parse failure is rethrown once the items parsed before it are written.
+     * The writer sees the remaining items in the order the source emitted them.
+     */
+    @SuppressWarnings("unchecked")
+    public static <I, O> Stats run(Source<I> source, Function<I, O> mapper, Consumer<List<O>> writer,
+                                   int chunkSize, int mapThreads) throws IOException {
+        int threads = mapThreads > 0 ? mapThreads : Runtime.getRuntime().availableProcessors();
+        int capacity = Math.max(chunkSize * 2, threads * 2);
+        Semaphore inFlight = new Semaphore(capacity);
+        // Room for every in-flight item plus the END markers, so neither put has to wait on the writer
+        BlockingQueue<Object> parsed = new ArrayBlockingQueue<>(capacity + threads);
+        BlockingQueue<Object> mapped = new ArrayBlockingQueue<>(capacity + threads);
+
+        AtomicInteger maxParsedDepth = new AtomicInteger();
+        AtomicInteger maxMappedDepth = new AtomicInteger();
+        AtomicLong parseBlocked = new AtomicLong();
+        AtomicLong mapBlocked = new AtomicLong();
+        AtomicLong parseNanos = new AtomicLong();
+        AtomicLong mapNanos = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long started = System.nanoTime();
+
+        Thread parser = Thread.ofPlatform().name("import-parse").start(() -> {
+            long begin = System.nanoTime();
+            try {
+                long[] seq = {0};
+                source.emit(item -> {
+                    acquire(inFlight, parseBlocked);
+                    put(parsed, new Sequenced(seq[0]++, item), maxParsedDepth, new AtomicLong());
+                });
+            } catch (CancellationException e) {
+                // writer gave up; nothing left to report
+            } catch (IOException | RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                parseNanos.set(System.nanoTime() - begin - parseBlocked.get());
+                try {
+                    for (int i = 0; i < threads; i++) {
+                        put(parsed, END, maxParsedDepth, new AtomicLong());
+                    }
+                } catch (CancellationException ignored) {
+                    // interrupted while shutting down
+                }
+            }
+        });
+
+        ExecutorService mappers = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("import-map-", 0).factory());
+        for (int i = 0; i < threads; i++) {
+            mappers.execute(() -> {
+                try {
+                    while (true) {
+                        Object item = parsed.take();
+                        if (item == END) break;
+                        Sequenced in = (Sequenced) item;
+                        long begin = System.nanoTime();
+                        O out;
+                        try {
+                            out = mapper.apply((I) in.item());
+                        } catch (RuntimeException e) {
+                            log.error("Import item could not be mapped: {}", e.getMessage());
+                            out = null;
+                        }
+                        mapNanos.addAndGet(System.nanoTime() - begin);
+                        // A dropped item still takes its turn, or the writer would wait for it forever
+                        put(mapped, new Sequenced(in.seq(), out != null ? out : DROPPED), maxMappedDepth, mapBlocked);
+                    }
+                    put(mapped, END, maxMappedDepth, new AtomicLong());
+                } catch (InterruptedException | CancellationException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        int items = 0;
+        long writeNanos = 0;
+        boolean completed = false;
+        try {
+            List<O> chunk = new ArrayList<>(chunkSize);
+            PriorityQueue<Sequenced> pending = new PriorityQueue<>(Comparator.comparingLong(Sequenced::seq));
+            long next = 0;
+            int finished = 0;
+            while (finished < threads) {
+                Object item = mapped.take();
+                if (item == END) {
+                    finished++;
+                    continue;
+                }
+                pending.add((Sequenced) item);
+                while (!pending.isEmpty() && pending.peek().seq() == next) {
+                    Object out = pending.poll().item();
+                    next++;
+                    inFlight.release();
+                    if (out == DROPPED) continue;
+                    chunk.add((O) out);
+                    items++;
+                    if (chunk.size() == chunkSize) {
+                        long begin = System.nanoTime();
+                        writer.accept(chunk);
+                        writeNanos += System.nanoTime() - begin;
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                long begin = System.nanoTime();
+                writer.accept(chunk);
+                writeNanos += System.nanoTime() - begin;
+            }
+            completed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        } finally {
+            if (!completed) {
+                parser.interrupt();
+            }
+            mappers.shutdownNow();
+            join(parser);
+        }
+
+        Throwable parseFailure = failure.get();
+        if (parseFailure instanceof IOException e) throw e;
+        if (parseFailure instanceof RuntimeException e) throw e;
+
+        return new Stats(items, threads, millis(System.nanoTime() - started),
+                millis(parseNanos.get()), millis(mapNanos.get()), millis(writeNanos),
+                millis(parseBlocked.get()), millis(mapBlocked.get()),
+                maxParsedDepth.get(), maxMappedDepth.get(), capacity);
+    }
+
+    private static void join(Thread parser) {
+        try {
+            parser.join(PARSER_JOIN_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (parser.isAlive()) {
+            log.warn("Import parser did not stop within {} ms", PARSER_JOIN_MS);
+        }
+    }
+
+    private static void acquire(Semaphore permits, AtomicLong blockedNanos) {
+        try {
+            if (!permits.tryAcquire()) {
+                long begin = System.nanoTime();
+                permits.acquire();
+                blockedNanos.addAndGet(System.nanoTime() - begin);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Import pipeline stopped");
+        }
+    }
+
+    private static void put(BlockingQueue<Object> queue, Object item, AtomicInteger maxDepth, AtomicLong blockedNanos) {
+        try {
+            if (!queue.offer(item)) {
+                long begin = System.nanoTime();
+                queue.put(item);
+                blockedNanos.addAndGet(System.nanoTime() - begin);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Import pipeline stopped");
+        }
+        maxDepth.accumulateAndGet(queue.size(), Math::max);
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+}
@@ -0,0 +1,110 @@
+package com.arcarshowcaseserver.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live counters of one import run, updated by {@link CarImportService} as
+ * chunks are written and read by whoever watches the run. Also carries the
+ * cancel request: the import stops before its next chunk once
+ * {@link #cancel()} was called. A seed import keeps the chunks already
+ * committed; a delta import rolls back as a whole, counters included.
+ */
+public class ImportProgress {
+
+    // Per-car errors kept for reporting; further ones are only counted
+    public static final int MAX_ERRORS = 100;
+
+    public record CarError(String car, String message) {
+    }
+
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger inserted = new AtomicInteger();
+    private final AtomicInteger updated = new AtomicInteger();
+    private final AtomicInteger unchanged = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger deleted = new AtomicInteger();
+    private final AtomicInteger failedChunks = new AtomicInteger();
+    private final AtomicInteger errorCount = new AtomicInteger();
+    private final List<CarError> errors = new ArrayList<>();
+    private volatile boolean cancelled;
+
+    public void chunkCommitted(int cars, int inserted, int updated, int unchanged, int skipped) {
+        this.inserted.addAndGet(inserted);
+        this.updated.addAndGet(updated);
+        this.unchanged.addAndGet(unchanged);
+        this.skipped.addAndGet(skipped);
+        this.processed.addAndGet(cars);
+    }
+
+    public void chunkFailed(int cars, String message) {
+        failedChunks.incrementAndGet();
+        processed.addAndGet(cars);
+        error("chunk of " + cars + " cars", message);
+    }
+
+    public void skipped(int cars) {
+        skipped.addAndGet(cars);
+        processed.addAndGet(cars);
+    }
+
+    public void deleted(int cars) {
+        deleted.addAndGet(cars);
+    }
+
+    public void error(String car, String message) {
+        errorCount.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(new CarError(car, message));
+            }
+        }
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public int getProcessed() {
+        return processed.get();
+    }
+
+    public int getInserted() {
+        return inserted.get();
+    }
+
+    public int getUpdated() {
+        return updated.get();
+    }
+
+    public int getUnchanged() {
+        return unchanged.get();
+    }
+
+    public int getSkipped() {
+        return skipped.get();
+    }
+
+    public int getDeleted() {
+        return deleted.get();
+    }
+
+    public int getFailedChunks() {
+        return failedChunks.get();
+    }
+
+    public int getErrorCount() {
+        return errorCount.get();
+    }
+
+    public List<CarError> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+}
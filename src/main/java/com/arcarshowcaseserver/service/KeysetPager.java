@@ -0,0 +1,86 @@
+package com.arcarshowcaseserver.service;
+
+import com.arcarshowcaseserver.dto.PageResponse;
+import com.arcarshowcaseserver.exceptions.BadRequestException;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Keyset pages over lists that are already in their final order, such as
+ * the precomputed lists of the catalog snapshot. The cursor carries the
+ * sort key of the last row handed out, never an offset, so a page boundary
+ * stays put when the catalog is rebuilt between two requests.
+ */
+public class KeysetPager {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * {@code ordered} is sorted by {@code sortKey} ({@code descending} or
+     * not), then by ascending id; the cursor is (sortKey, id). Finding the
+     * page start is a binary search.
+     */
+    public static <T> PageResponse<T> seek(List<T> ordered, String cursor, int size,
+                                           ToDoubleFunction<T> sortKey, Function<T, Long> id,
+                                           boolean descending) {
+        int from = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] keys = CursorCodec.decode(cursor, 2);
+            double afterKey;
+            long afterId;
+            try {
+                afterKey = Double.parseDouble(keys[0]);
+                afterId = Long.parseLong(keys[1]);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            // first row strictly after (afterKey, afterId)
+            int lo = 0, hi = ordered.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                T row = ordered.get(mid);
+                int byKey = Double.compare(sortKey.applyAsDouble(row), afterKey);
+                if (descending) byKey = -byKey;
+                boolean after = byKey > 0 || (byKey == 0 && id.apply(row) > afterId);
+                if (after) hi = mid; else lo = mid + 1;
+            }
+            from = lo;
+        }
+        return slice(ordered, from, size, last -> CursorCodec.encode(sortKey.applyAsDouble(last), id.apply(last)));
+    }
+
+    /**
+     * For ranked results (relevance order) with no sort key of their own:
+     * the cursor is the id of the last row, and the next page starts right
+     * after that row in {@code ordered}.
+     */
+    public static <T> PageResponse<T> afterId(List<T> ordered, String cursor, int size, Function<T, Long> id) {
+        int from = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            long afterId = CursorCodec.decodeLong(cursor);
+            from = -1;
+            for (int i = 0; i < ordered.size(); i++) {
+                if (id.apply(ordered.get(i)) == afterId) {
+                    from = i + 1;
+                    break;
+                }
+            }
+            if (from < 0) {
+                throw new BadRequestException("Cursor no longer matches the results; start again without it");
+            }
+        }
+        return slice(ordered, from, size, last -> CursorCodec.encode(id.apply(last)));
+    }
+
+    private static <T> PageResponse<T> slice(List<T> ordered, int from, int size, Function<T, String> cursorOf) {
+        if (size <= 0) {
+            throw new BadRequestException("Page size must be greater than 0");
+        }
+        int to = Math.min(from + Math.min(size, MAX_PAGE_SIZE), ordered.size());
+        List<T> items = from >= to ? List.of() : List.copyOf(ordered.subList(from, to));
+        String nextCursor = to < ordered.size() && !items.isEmpty() ? cursorOf.apply(items.get(items.size() - 1)) : null;
+        return PageResponse.of(items, nextCursor);
+    }
+}
@@ -0,0 +1,103 @@
+package com.arcarshowcaseserver.service;
+
+import com.arcarshowcaseserver.configuration.CarModelConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Resolves the 3D model file of a car from {@link CarModelConfig}, compiled
+ * once into one {@link AhoCorasick} automaton per brand over the normalized
+ * (lowercase alphanumeric) model names. When several names occur in the
+ * car's model the longest wins, so "scorpio-n" beats "scorpio"; equal
+ * lengths go to the entry whose config key sorts first.
+ */
+@Component
+public final class ModelFileMatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ModelFileMatcher.class);
+    public static final String DEFAULT_FILE = "car.glb";
+
+    private record BrandModels(AhoCorasick automaton, List<String> files) {
+    }
+
+    private final CarModelConfig carModelConfig;
+    private volatile Map<String, BrandModels> byBrand;
+
+    public ModelFileMatcher(CarModelConfig carModelConfig) {
+        this.carModelConfig = carModelConfig;
+        recompile();
+    }
+
+    /** Rebuilds the automata from the current {@link CarModelConfig}. */
+    public void recompile() {
+        Map<String, List<String>> names = new HashMap<>();
+        Map<String, List<String>> files = new HashMap<>();
+        // Sorted by config key, so ties resolve the same way on every start
+        for (CarModelConfig.ModelEntry entry : new TreeMap<>(carModelConfig.getModels()).values()) {
+            if (entry.getBrand() == null || entry.getModelNames() == null || entry.getFile() == null) continue;
+            String brand = normalize(entry.getBrand());
+            for (String modelName : entry.getModelNames()) {
+                String name = normalize(modelName);
+                if (name.isEmpty()) continue;
+                names.computeIfAbsent(brand, k -> new ArrayList<>()).add(name);
+                files.computeIfAbsent(brand, k -> new ArrayList<>()).add(entry.getFile());
+            }
+        }
+
+        Map<String, BrandModels> compiled = new HashMap<>();
+        names.forEach((brand, brandNames) ->
+                compiled.put(brand, new BrandModels(new AhoCorasick(brandNames), List.copyOf(files.get(brand)))));
+        byBrand = compiled;
+        log.info("Model file matcher compiled: {} model names over {} brands.",
+                names.values().stream().mapToInt(List::size).sum(), compiled.size());
+    }
+
+    /** Configured model file for the car, or {@link #DEFAULT_FILE}. */
+    public String resolve(String brand, String model) {
+        if (brand == null || model == null) return DEFAULT_FILE;
+
+        BrandModels models = byBrand.get(normalize(brand));
+        if (models == null) {
+            return DEFAULT_FILE;
+        }
+
+        AhoCorasick automaton = models.automaton();
+        int[] best = {-1};
+        automaton.forEachMatch(normalize(model), pattern -> {
+            int current = best[0];
+            if (current < 0) {
+                best[0] = pattern;
+                return;
+            }
+            int byLength = Integer.compare(automaton.patternLength(pattern), automaton.patternLength(current));
+            if (byLength > 0 || (byLength == 0 && pattern < current)) {
+                best[0] = pattern;
+            }
+        });
+        if (best[0] < 0) {
+            return DEFAULT_FILE;
+        }
+        String file = models.files().get(best[0]);
+        log.debug("Model MATCHED: {} → {}", model, file);
+        return file;
+    }
+
+    // Lowercase ASCII letters and digits only, as the config names are compared
+    static String normalize(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,128 @@
+package com.arcarshowcaseserver.service;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Pulls typed numbers out of free-text spec values at import time:
+ * "1984 cc", "17.4 kWh", "19.4 kmpl", "465 km", "201.15 bhp @ 5200 rpm",
+ * "320 Nm @ 1500-4000 rpm". Power given in PS or kW is converted to bhp.
+ */
+public final class NumericSpecParser {
+
+    public enum Unit {
+        CC("cc"),
+        KWH("kWh"),
+        KMPL("kmpl"),
+        KM("km"),
+        BHP("bhp"),
+        NM("Nm");
+
+        private final String symbol;
+
+        Unit(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+    }
+
+    public record Measure(double value, Unit unit) {
+    }
+
+    // Labels of a car's overall power output, after normalizeLabel
+    private static final Set<String> POWER_LABELS = Set.of(
+            "power", "max power", "maximum power", "peak power", "power output", "max power output",
+            "combined power", "system power", "total power");
+
+    private static final double BHP_PER_PS = 0.98632;
+    private static final double BHP_PER_KW = 1.34102;
+
+    // Longest suffixes first: "kwh" before "kw", "kmpl"/"km/l" before "km"
+    private static final Pattern MEASURE = Pattern.compile(
+            "(\\d[\\d,]*(?:\\.\\d+)?)\\s*"
+                    + "(cc|kwh|kmpl|km\\s*/\\s*l(?:tr|itre|iter)?|km(?!/)|bhp|hp|ps|kw|nm)(?![a-z])",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern PARENTHESIZED = Pattern.compile("\\([^)]*\\)");
+    private static final Pattern NON_LETTERS = Pattern.compile("[^a-z]+");
+
+    private NumericSpecParser() {
+    }
+
+    /** First number in {@code text} that carries a known unit, or {@code null}. */
+    public static Measure parse(String text) {
+        if (text == null || text.isBlank()) return null;
+        Matcher matcher = MEASURE.matcher(text);
+        while (matcher.find()) {
+            Measure measure = toMeasure(matcher);
+            if (measure != null) return measure;
+        }
+        return null;
+    }
+
+    /** First number in {@code text} expressed in {@code unit}, or {@code null}. */
+    public static Double find(String text, Unit unit) {
+        if (text == null || text.isBlank()) return null;
+        Matcher matcher = MEASURE.matcher(text);
+        while (matcher.find()) {
+            Measure measure = toMeasure(matcher);
+            if (measure != null && measure.unit() == unit) return measure.value();
+        }
+        return null;
+    }
+
+    /**
+     * Power in bhp from a spec whose label names the car's power output
+     * ("Max Power: 118 bhp", "Power (kW) 150 kW"), or {@code null}. kW and
+     * bhp figures under any other label (a 7.2 kW charger, one motor of
+     * several) are not the car's power.
+     */
+    public static Double power(String spec) {
+        if (spec == null || spec.isBlank()) return null;
+        Matcher matcher = MEASURE.matcher(spec);
+        if (!matcher.find() || !POWER_LABELS.contains(normalizeLabel(spec.substring(0, matcher.start())))) {
+            return null;
+        }
+        Measure measure = toMeasure(matcher);
+        return measure != null && measure.unit() == Unit.BHP ? measure.value() : null;
+    }
+
+    /** A bare number ("1984", "17.4") with no unit, or {@code null}. */
+    public static Double number(String text) {
+        if (text == null || text.isBlank()) return null;
+        try {
+            return Double.parseDouble(text.trim().replace(",", ""));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // "Max. Power (bhp@rpm):" → "max power"
+    private static String normalizeLabel(String label) {
+        String withoutHints = PARENTHESIZED.matcher(label.toLowerCase(Locale.ROOT)).replaceAll(" ");
+        return NON_LETTERS.matcher(withoutHints).replaceAll(" ").trim();
+    }
+
+    private static Measure toMeasure(Matcher matcher) {
+        double value;
+        try {
+            value = Double.parseDouble(matcher.group(1).replace(",", ""));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        String suffix = matcher.group(2).toLowerCase(Locale.ROOT).replaceAll("\\s", "");
+        if (suffix.equals("cc")) return new Measure(value, Unit.CC);
+        if (suffix.equals("kwh")) return new Measure(value, Unit.KWH);
+        if (suffix.equals("kmpl") || suffix.startsWith("km/l")) return new Measure(value, Unit.KMPL);
+        if (suffix.equals("km")) return new Measure(value, Unit.KM);
+        if (suffix.equals("bhp") || suffix.equals("hp")) return new Measure(value, Unit.BHP);
+        if (suffix.equals("ps")) return new Measure(value * BHP_PER_PS, Unit.BHP);
+        if (suffix.equals("kw")) return new Measure(value * BHP_PER_KW, Unit.BHP);
+        if (suffix.equals("nm")) return new Measure(value, Unit.NM);
+        return null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.arcarshowcaseserver.service;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class PriceParser {
+
+    private static final Pattern AMOUNT = Pattern.compile("(\\d[\\d,]*(?:\\.\\d+)?)");
+    // The word right after the amount, e.g. "lakh" in "6.49 Lakh*"
+    private static final Pattern UNIT = Pattern.compile("\\s*([a-z]+)");
+    private static final Set<String> LAKH_UNITS = Set.of("lakh", "lakhs", "lac", "lacs", "l");
+    private static final Set<String> CRORE_UNITS = Set.of("crore", "crores", "cr");
+    private static final double RUPEES_PER_LAKH = 100_000.0;
+
+    private PriceParser() {
+    }
+
+    /**
+     * "Rs.6.49 Lakh*" → 6.49, "₹1.2 Crore" → 120.0, "Rs. 8,50,000" → 8.5.
+     * Returns {@code null} when the text carries no amount.
+     */
+    public static Double toLakhs(String rawPrice) {
+        if (rawPrice == null || rawPrice.isBlank()) return null;
+
+        Matcher matcher = AMOUNT.matcher(rawPrice);
+        if (!matcher.find()) return null;
+
+        double amount;
+        try {
+            amount = Double.parseDouble(matcher.group(1).replace(",", ""));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        Matcher unitMatcher = UNIT.matcher(rawPrice.substring(matcher.end()).toLowerCase(Locale.ROOT));
+        String unit = unitMatcher.lookingAt() ? unitMatcher.group(1) : "";
+        if (CRORE_UNITS.contains(unit)) return amount * 100;
+        if (LAKH_UNITS.contains(unit)) return amount;
+
+        // No unit: anything this large is a plain rupee amount
+        return amount >= RUPEES_PER_LAKH ? amount / RUPEES_PER_LAKH : amount;
+    }
+}
@@ -21,7 +21,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class RecommendationService {
@@ -35,6 +34,9 @@ public class RecommendationService {
     @Autowired
     private RecommendationHistoryRepository historyRepository;
 
+    @Autowired
+    private SlugResolver slugResolver;
+
     @Value("${ml.service.url}")
     private String mlServiceUrl;
 
@@ -47,7 +49,7 @@ public class RecommendationService {
         return (car.getBrand() + "_" + car.getModel()).toLowerCase();
     }
 
-    public List<Car> getRecommendedCars(Long carId) {
+    public List<Long> getRecommendedCarIds(Long carId) {
         Optional<Car> carOptional = carRepository.findById(carId);
         if (carOptional.isEmpty()) {
             return new ArrayList<>();
@@ -74,23 +76,14 @@ public class RecommendationService {
             }
 
             List<Map<String, String>> recommendedItems = (List<Map<String, String>>) response.getBody();
-            List<Car> recommendedCars = new ArrayList<>();
-
-            for (Map<String, String> item : recommendedItems) {
-                String brand = item.get("brand");
-                String model = item.get("model");
-                Optional<Car> recCar = carRepository.findByBrandAndModel(brand, model);
-                recCar.ifPresent(recommendedCars::add);
-            }
-
-            return recommendedCars;
+            return resolveCarIds(recommendedItems);
 
         } catch (Exception e) {
             return new ArrayList<>();
         }
     }
 
-    public List<Car> getPersonalizedRecommendations(Long userId) {
+    public List<Long> getPersonalizedRecommendationIds(Long userId) {
         com.arcarshowcaseserver.model.User user = userRepository.findById(userId).orElse(null);
         if (user == null) {
             return new ArrayList<>();
@@ -148,16 +141,7 @@ public class RecommendationService {
             }
 
             List<Map<String, String>> recommendedItems = (List<Map<String, String>>) response.getBody();
-            List<Car> recommendedCars = new ArrayList<>();
-
-            for (Map<String, String> item : recommendedItems) {
-                String rBrand = item.get("brand");
-                String rModel = item.get("model");
-                Optional<Car> found = carRepository.findByBrandAndModel(rBrand, rModel);
-                found.ifPresent(recommendedCars::add);
-            }
-
-            return recommendedCars;
+            return resolveCarIds(recommendedItems);
 
         } catch (Exception e) {
             return new ArrayList<>();
@@ -173,6 +157,16 @@ public class RecommendationService {
         car.ifPresent(c -> relayFeedbackToPython(toBrandModelKey(c), action));
     }
 
+    // Slug lookups for every brand/model pair, in ML order; the caller
+    // loads whichever fields of those cars it needs
+    private List<Long> resolveCarIds(List<Map<String, String>> items) {
+        List<Long> ids = new ArrayList<>();
+        for (Map<String, String> item : items) {
+            slugResolver.findCarId(item.get("brand"), item.get("model")).ifPresent(ids::add);
+        }
+        return ids;
+    }
+
     private void relayFeedbackToPython(String carKey, String action) {
         String url = mlServiceUrl + "/recommend/feedback";
 
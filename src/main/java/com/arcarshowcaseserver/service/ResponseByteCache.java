@@ -0,0 +1,117 @@
+package com.arcarshowcaseserver.service;
+
+import com.arcarshowcaseserver.configuration.ResponseCacheProperties;
+import com.arcarshowcaseserver.dto.ResponseCacheStatsDTO;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Final response bytes (plain and gzipped) of hot catalog routes, LRU
+ * evicted once the total size exceeds the configured budget.
+ * <p>
+ * Entries belong to one catalog version; the first lookup that sees a newer
+ * version drops everything, so a response is never served across an import.
+ */
+@Service
+public class ResponseByteCache {
+
+    public record Entry(long version, String contentType, byte[] body, byte[] gzipped) {
+        long weight() {
+            return body.length + gzipped.length;
+        }
+    }
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long currentVersion;
+    private long totalBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ResponseByteCache(ResponseCacheProperties properties) {
+        this.maxBytes = properties.getMaxSize().toBytes();
+        this.maxEntryBytes = properties.getMaxEntrySize().toBytes();
+    }
+
+    public synchronized Entry get(String key, long version) {
+        advance(version);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry;
+    }
+
+    /** Stores {@code body} unless it is larger than the per-entry limit or from an older version. */
+    public void put(String key, long version, String contentType, byte[] body) {
+        if (body.length > maxEntryBytes) {
+            return;
+        }
+        // Compress outside the lock; it is the expensive part.
+        Entry entry = new Entry(version, contentType, body, gzip(body));
+        synchronized (this) {
+            advance(version);
+            if (version != currentVersion) {
+                return;
+            }
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                totalBytes -= previous.weight();
+            }
+            totalBytes += entry.weight();
+            evict();
+        }
+    }
+
+    public synchronized ResponseCacheStatsDTO stats() {
+        long lookups = hits + misses;
+        return new ResponseCacheStatsDTO(
+                currentVersion,
+                hits,
+                misses,
+                lookups == 0 ? 0.0 : (double) hits / lookups,
+                entries.size(),
+                totalBytes,
+                maxBytes,
+                evictions
+        );
+    }
+
+    private void advance(long version) {
+        if (version > currentVersion) {
+            entries.clear();
+            totalBytes = 0;
+            currentVersion = version;
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().weight();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
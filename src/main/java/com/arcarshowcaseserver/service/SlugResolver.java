@@ -0,0 +1,39 @@
+package com.arcarshowcaseserver.service;
+
+import com.arcarshowcaseserver.catalog.CatalogSnapshotService;
+import com.arcarshowcaseserver.catalog.VariantEntry;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Resolves brand/model/variant path variables to ids through the catalog
+ * snapshot's slug maps. The snapshot is the published catalog: every
+ * change to catalog data rebuilds it, and a car an import has not
+ * published yet is not resolvable, just as it is missing from every list.
+ * Misses never reach the database, so unknown paths cost one map probe.
+ */
+@Service
+public class SlugResolver {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    public SlugResolver(CatalogSnapshotService catalogSnapshotService) {
+        this.catalogSnapshotService = catalogSnapshotService;
+    }
+
+    public Optional<Long> findCarId(String brand, String model) {
+        return Optional.ofNullable(catalogSnapshotService.snapshot().findCarIdBySlug(Slugs.car(brand, model)));
+    }
+
+    public Optional<Long> findVariantId(String brand, String model, String variant) {
+        VariantEntry entry = catalogSnapshotService.snapshot().findVariantBySlug(Slugs.variant(brand, model, variant));
+        return entry != null ? Optional.of(entry.id()) : Optional.empty();
+    }
+
+    // Car owning the first variant with this name, whatever the brand/model
+    public Optional<Long> findCarIdByVariantName(String variant) {
+        VariantEntry entry = catalogSnapshotService.snapshot().findVariantByName(variant);
+        return entry != null ? Optional.of(entry.carId()) : Optional.empty();
+    }
+}
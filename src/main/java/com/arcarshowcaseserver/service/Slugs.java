@@ -0,0 +1,34 @@
+package com.arcarshowcaseserver.service;
+
+import java.util.Locale;
+
+/**
+ * Canonical keys for brand/model/variant path lookups.
+ * <p>
+ * Applies the same cleanup as the controllers' {@code sanitize()} ("+" from
+ * URL-encoded path variables becomes a space), then lowercases and turns every
+ * run of non-alphanumerics into one "-". "GDi+IVT", "GDi IVT" and "gdi-ivt"
+ * all become {@code gdi-ivt}; parts are joined with "/".
+ */
+public class Slugs {
+
+    public static String of(String value) {
+        if (value == null) return "";
+        String slug = value.replace("+", " ")
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9]+", "-");
+        int from = 0;
+        int to = slug.length();
+        while (from < to && slug.charAt(from) == '-') from++;
+        while (to > from && slug.charAt(to - 1) == '-') to--;
+        return slug.substring(from, to);
+    }
+
+    public static String car(String brand, String model) {
+        return of(brand) + "/" + of(model);
+    }
+
+    public static String variant(String brand, String model, String variant) {
+        return car(brand, model) + "/" + of(variant);
+    }
+}
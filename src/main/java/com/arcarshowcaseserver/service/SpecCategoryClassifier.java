@@ -0,0 +1,91 @@
+package com.arcarshowcaseserver.service;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Maps the raw spec category headings of the source data ("Mahindra
+ * Scorpio N Safety Features", "Key Specs of ...") onto the fixed category
+ * names. The keywords are compiled once into an {@link AhoCorasick}
+ * automaton; when several occur, the rule listed first wins.
+ */
+public final class SpecCategoryClassifier {
+
+    private static final String GENERAL = "General";
+    private static final String KEY_SPEC_PREFIX = "key spec";
+
+    private record Rule(String keyword, String category) {
+    }
+
+    private static final List<Rule> RULES = List.of(
+            new Rule("specification", "Full Specifications"),
+            new Rule("feature", "Features"),
+            new Rule("safety", "Safety"),
+            new Rule("comfort", "Comfort"),
+            new Rule("colour", "Colours"),
+            new Rule("color", "Colours"),
+            new Rule("dimension", "Dimensions"),
+            new Rule("engine", "Engine"),
+            new Rule("performance", "Performance"),
+            new Rule("infotainment", "Infotainment"));
+
+    private static final AhoCorasick KEYWORDS = new AhoCorasick(RULES.stream().map(Rule::keyword).toList());
+
+    private SpecCategoryClassifier() {
+    }
+
+    public static String classify(String rawCategory, String brand, String model) {
+        if (rawCategory == null || rawCategory.isBlank()) return GENERAL;
+
+        String lower = rawCategory.toLowerCase(Locale.ROOT);
+        if (lower.startsWith(KEY_SPEC_PREFIX)) return "Key Specifications";
+
+        int[] first = {Integer.MAX_VALUE};
+        KEYWORDS.forEachMatch(lower, rule -> first[0] = Math.min(first[0], rule));
+        if (first[0] != Integer.MAX_VALUE) return RULES.get(first[0]).category();
+
+        // Anything else keeps its own heading, minus the car's brand and model
+        String cleaned = rawCategory;
+        if (brand != null && !brand.isBlank()) {
+            cleaned = removeIgnoreCase(cleaned, brand);
+        }
+        if (model != null && !model.isBlank()) {
+            cleaned = removeIgnoreCase(cleaned, model);
+        }
+        cleaned = collapseWhitespace(cleaned);
+
+        if (cleaned.isEmpty()) return GENERAL;
+
+        return Character.toUpperCase(cleaned.charAt(0)) + cleaned.substring(1).toLowerCase(Locale.ROOT);
+    }
+
+    private static String removeIgnoreCase(String text, String word) {
+        StringBuilder out = new StringBuilder(text.length());
+        int i = 0;
+        while (i < text.length()) {
+            if (text.regionMatches(true, i, word, 0, word.length())) {
+                i += word.length();
+            } else {
+                out.append(text.charAt(i++));
+            }
+        }
+        return out.toString();
+    }
+
+    // Trimmed, with every whitespace run turned into one space
+    private static String collapseWhitespace(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = out.length() > 0;
+            } else {
+                if (pendingSpace) out.append(' ');
+                out.append(c);
+                pendingSpace = false;
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,95 @@
+package com.arcarshowcaseserver.service;
+
+import com.arcarshowcaseserver.catalog.CatalogChangedEvent;
+import com.arcarshowcaseserver.catalog.CatalogVersion;
+import com.arcarshowcaseserver.model.Cars.CarDetail;
+import com.arcarshowcaseserver.model.Cars.CarSpecDocument;
+import com.arcarshowcaseserver.repository.CarDetailRepository;
+import com.arcarshowcaseserver.repository.CarSpecDocumentRepository;
+import com.arcarshowcaseserver.service.serviceImpl.DocumentSpecStore;
+import com.arcarshowcaseserver.service.serviceImpl.RowSpecStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves {@code car_details_v2} rows into per-car spec documents when
+ * running with {@code catalog.specs.storage=document}. Each batch commits
+ * on its own, so an interrupted migration resumes where it stopped; cars
+ * that already have a document only get their leftover rows removed.
+ */
+@Service
+@ConditionalOnProperty(name = "catalog.specs.storage", havingValue = "document")
+public class SpecDocumentMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(SpecDocumentMigrator.class);
+    private static final int BATCH_SIZE = 50;
+
+    private final CarDetailRepository carDetailRepository;
+    private final CarSpecDocumentRepository documentRepository;
+    private final SpecKeyDictionary specKeyDictionary;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogVersion catalogVersion;
+    private final TransactionTemplate transaction;
+
+    public SpecDocumentMigrator(CarDetailRepository carDetailRepository,
+                                CarSpecDocumentRepository documentRepository,
+                                SpecKeyDictionary specKeyDictionary,
+                                ApplicationEventPublisher eventPublisher,
+                                CatalogVersion catalogVersion,
+                                PlatformTransactionManager transactionManager) {
+        this.carDetailRepository = carDetailRepository;
+        this.documentRepository = documentRepository;
+        this.specKeyDictionary = specKeyDictionary;
+        this.eventPublisher = eventPublisher;
+        this.catalogVersion = catalogVersion;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public int migrate() {
+        List<Long> carIds = carDetailRepository.findCarIdsWithDetails();
+        if (carIds.isEmpty()) {
+            return 0;
+        }
+
+        int migrated = 0;
+        for (int from = 0; from < carIds.size(); from += BATCH_SIZE) {
+            List<Long> batch = carIds.subList(from, Math.min(from + BATCH_SIZE, carIds.size()));
+            Integer written = transaction.execute(status -> migrateBatch(batch));
+            migrated += written == null ? 0 : written;
+        }
+        log.info("Migrated specs of {} cars from car_details_v2 to spec documents.", migrated);
+
+        // Detail ids change from row ids to positions; drop cached responses
+        eventPublisher.publishEvent(new CatalogChangedEvent(carIds));
+        return migrated;
+    }
+
+    private int migrateBatch(List<Long> carIds) {
+        Map<Long, List<SpecValue>> specs = new LinkedHashMap<>();
+        for (CarDetail detail : carDetailRepository.findByCarIdInOrderById(carIds)) {
+            specs.computeIfAbsent(detail.getCar().getId(), k -> new ArrayList<>())
+                    .add(RowSpecStore.toValue(detail, specKeyDictionary));
+        }
+
+        List<CarSpecDocument> documents = new ArrayList<>();
+        specs.forEach((carId, values) -> {
+            if (!documentRepository.existsById(carId)) {
+                documents.add(new CarSpecDocument(carId, DocumentSpecStore.toDocument(values)));
+            }
+        });
+        documentRepository.saveAll(documents);
+        carDetailRepository.deleteByCarIds(carIds);
+        catalogVersion.bump();
+        return documents.size();
+    }
+}
@@ -0,0 +1,150 @@
+package com.arcarshowcaseserver.service;
+
+import com.arcarshowcaseserver.catalog.CatalogVersion;
+import com.arcarshowcaseserver.configuration.SpecKeyProperties;
+import com.arcarshowcaseserver.model.Cars.SpecKey;
+import com.arcarshowcaseserver.repository.SpecKeyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code spec_keys} dictionary, cached in memory.
+ * <p>
+ * Raw keys are resolved to a {@link SpecKey} once, at import; details only
+ * carry its integer id, so turning a detail into a response is a map probe
+ * and {@code car_details_v2} does not repeat the key text on every row.
+ * Labels follow {@link SpecKeyProperties}: on startup, stored labels are
+ * re-derived from the configured aliases, so editing the configuration
+ * relabels existing rows without a re-import.
+ */
+@Service
+public class SpecKeyDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(SpecKeyDictionary.class);
+
+    private final SpecKeyRepository specKeyRepository;
+    private final CatalogVersion catalogVersion;
+    private final TransactionTemplate newTransaction;
+    private final Map<String, String> labelsByAlias = new HashMap<>();
+    private final Map<String, SpecKey> byRawKey = new ConcurrentHashMap<>();
+    private final Map<Integer, String> labelsById = new ConcurrentHashMap<>();
+    private final Map<Integer, String> sourceKeysById = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public SpecKeyDictionary(SpecKeyRepository specKeyRepository,
+                             SpecKeyProperties properties,
+                             CatalogVersion catalogVersion,
+                             PlatformTransactionManager transactionManager) {
+        this.specKeyRepository = specKeyRepository;
+        this.catalogVersion = catalogVersion;
+        // Dictionary rows commit on their own: an import that rolls back
+        // must not leave cached ids pointing at rows that never existed.
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        properties.getCanonical().values().forEach(canonical -> {
+            for (String alias : canonical.getAliases()) {
+                labelsByAlias.put(normalize(alias), canonical.getLabel());
+            }
+        });
+    }
+
+    /** Dictionary entry for a raw key, created on first sight. */
+    public SpecKey resolve(String rawKey) {
+        load();
+        String normalized = normalize(rawKey);
+        SpecKey cached = byRawKey.get(normalized);
+        if (cached != null) {
+            return cached;
+        }
+        synchronized (this) {
+            cached = byRawKey.get(normalized);
+            if (cached != null) {
+                return cached;
+            }
+            String source = rawKey == null ? "" : rawKey.trim();
+            SpecKey created = newTransaction.execute(status -> specKeyRepository.findByRawKey(normalized)
+                    .orElseGet(() -> specKeyRepository.save(
+                            new SpecKey(normalized, source, labelFor(normalized, source)))));
+            cache(created);
+            return created;
+        }
+    }
+
+    /** Display label of a spec key; rows imported before the dictionary fall back to the alias table. */
+    public String label(Integer specKeyId, String rawKey) {
+        if (specKeyId != null) {
+            load();
+            String label = labelsById.get(specKeyId);
+            if (label != null) {
+                return label;
+            }
+        }
+        return labelFor(normalize(rawKey), rawKey);
+    }
+
+    /** Raw key of a spec; rows written since the dictionary store only the id, older ones their own key. */
+    public String key(Integer specKeyId, String storedKey) {
+        if (storedKey != null || specKeyId == null) {
+            return storedKey;
+        }
+        load();
+        return sourceKeysById.get(specKeyId);
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            int relabelled = newTransaction.execute(status -> {
+                int changed = 0;
+                for (SpecKey key : specKeyRepository.findAll()) {
+                    String label = labelFor(key.getRawKey(), key.getSourceKey());
+                    if (!label.equals(key.getLabel())) {
+                        key.setLabel(label);
+                        changed++;
+                    }
+                    cache(key);
+                }
+                // Labels are part of every spec response
+                if (changed > 0) {
+                    catalogVersion.bump();
+                }
+                return changed;
+            });
+            if (relabelled > 0) {
+                log.info("Relabelled {} spec keys from configuration.", relabelled);
+            }
+            log.info("Spec key dictionary loaded: {} keys.", byRawKey.size());
+            loaded = true;
+        }
+    }
+
+    private void cache(SpecKey key) {
+        byRawKey.put(key.getRawKey(), key);
+        labelsById.put(key.getId(), key.getLabel());
+        sourceKeysById.put(key.getId(), key.getSourceKey());
+    }
+
+    private String labelFor(String normalized, String fallback) {
+        String label = labelsByAlias.get(normalized);
+        if (label != null) return label;
+        return fallback == null ? "" : fallback.trim();
+    }
+
+    private static String normalize(String rawKey) {
+        return rawKey == null ? "" : rawKey.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,25 @@
+package com.arcarshowcaseserver.service;
+
+import com.arcarshowcaseserver.model.Cars.Car;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Where car specs live: one {@code car_details_v2} row per spec, or one JSONB
+ * document per car. Chosen with {@code catalog.specs.storage} ({@code rows}
+ * or {@code document}). Specs of one category keep their import order.
+ */
+public interface SpecStore {
+
+    /** Stores the specs of a car that has already been saved (has an id). */
+    void write(Car car, List<SpecValue> specs);
+
+    /** Removes every stored spec of these cars. */
+    void deleteByCarIds(List<Long> carIds);
+
+    List<SpecValue> findByCarId(Long carId);
+
+    /** Specs of each car, in one round trip; cars without specs are absent. */
+    Map<Long, List<SpecValue>> findByCarIds(List<Long> carIds);
+}
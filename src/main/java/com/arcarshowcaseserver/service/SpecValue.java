@@ -0,0 +1,9 @@
+package com.arcarshowcaseserver.service;
+
+/**
+ * One spec of a car, independent of how it is stored. {@code id} is the
+ * detail row id in row storage and the 1-based position inside the car's
+ * document in document storage.
+ */
+public record SpecValue(Long id, String category, Integer specKeyId, String key, String value) {
+}
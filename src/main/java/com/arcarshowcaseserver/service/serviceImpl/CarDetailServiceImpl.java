@@ -1,22 +1,30 @@
 package com.arcarshowcaseserver.service.serviceImpl;
 
+import com.arcarshowcaseserver.dto.CarDTO;
 import com.arcarshowcaseserver.dto.CarDetailDTO;
 import com.arcarshowcaseserver.dto.GroupedSpecsDTO;
+import com.arcarshowcaseserver.dto.SpecComparisonDTO;
+import com.arcarshowcaseserver.dto.SpecComparisonRowDTO;
 import com.arcarshowcaseserver.exceptions.BadRequestException;
 import com.arcarshowcaseserver.exceptions.ResourceNotFoundException;
-import com.arcarshowcaseserver.model.Cars.CarDetail;
-import com.arcarshowcaseserver.repository.CarDetailRepository;
+import com.arcarshowcaseserver.model.Cars.Car;
 import com.arcarshowcaseserver.repository.CarRepository;
 import com.arcarshowcaseserver.service.CarDetailService;
-import com.arcarshowcaseserver.service.KeyNormalizer;
+import com.arcarshowcaseserver.service.SpecKeyDictionary;
+import com.arcarshowcaseserver.service.SpecStore;
+import com.arcarshowcaseserver.service.SpecValue;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,30 +32,35 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class CarDetailServiceImpl implements CarDetailService {
 
-    private final CarDetailRepository carDetailRepository;
+    private static final String KEY_SPECIFICATIONS = "Key Specifications";
+    private static final String FULL_SPECIFICATIONS = "Full Specifications";
+
+    private final SpecStore specStore;
     private final CarRepository carRepository;
+    private final SpecKeyDictionary specKeyDictionary;
 
     @Override
     public List<CarDetailDTO> getAllDetails(Long carId) {
         validateCarExists(carId);
-        return carDetailRepository.findByCarId(carId)
+        return specStore.findByCarId(carId)
                 .stream()
                 .map(this::toDTO)
                 .collect(Collectors.toList());
     }
 
+    // All slicing below works on the car's specs fetched in one go
     @Override
     public GroupedSpecsDTO getDetailsGrouped(Long carId) {
         validateCarExists(carId);
-        List<CarDetail> all = carDetailRepository.findByCarId(carId);
+        List<SpecValue> all = specStore.findByCarId(carId);
 
         List<CarDetailDTO> keySpecs = all.stream()
-                .filter(d -> "Key Specifications".equals(d.getCategory()))
+                .filter(d -> KEY_SPECIFICATIONS.equals(d.category()))
                 .map(this::toDTO)
                 .collect(Collectors.toList());
 
         List<CarDetailDTO> fullSpecs = all.stream()
-                .filter(d -> "Full Specifications".equals(d.getCategory()))
+                .filter(d -> FULL_SPECIFICATIONS.equals(d.category()))
                 .map(this::toDTO)
                 .collect(Collectors.toList());
 
@@ -58,8 +71,7 @@ public class CarDetailServiceImpl implements CarDetailService {
     @Override
     public List<CarDetailDTO> getKeySpecifications(Long carId) {
         validateCarExists(carId);
-        return carDetailRepository
-                .findByCarIdAndCategory(carId, "Key Specifications")
+        return inCategory(specStore.findByCarId(carId), KEY_SPECIFICATIONS)
                 .stream()
                 .map(this::toDTO)
                 .collect(Collectors.toList());
@@ -68,8 +80,7 @@ public class CarDetailServiceImpl implements CarDetailService {
     @Override
     public List<CarDetailDTO> getFullSpecifications(Long carId) {
         validateCarExists(carId);
-        return carDetailRepository
-                .findByCarIdAndCategory(carId, "Full Specifications")
+        return inCategory(specStore.findByCarId(carId), FULL_SPECIFICATIONS)
                 .stream()
                 .map(this::toDTO)
                 .collect(Collectors.toList());
@@ -78,7 +89,11 @@ public class CarDetailServiceImpl implements CarDetailService {
     @Override
     public List<String> getCategories(Long carId) {
         validateCarExists(carId);
-        return carDetailRepository.findDistinctCategoriesByCarId(carId);
+        return specStore.findByCarId(carId)
+                .stream()
+                .map(SpecValue::category)
+                .distinct()
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -89,13 +104,16 @@ public class CarDetailServiceImpl implements CarDetailService {
             throw new BadRequestException("Search key cannot be empty");
         }
 
-        List<CarDetail> results = switch (category.toLowerCase()) {
-            case "full specifications", "full" ->
-                    carDetailRepository.searchByKeyInFullSpecs(carId, key);
-            case "key specifications", "key" ->
-                    carDetailRepository.searchByKeyInKeySpecs(carId, key);
-            default ->
-                    deduplicateByKey(carDetailRepository.searchByKey(carId, key));
+        String needle = key.toLowerCase(Locale.ROOT);
+        List<SpecValue> matches = specStore.findByCarId(carId)
+                .stream()
+                .filter(d -> d.key() != null && d.key().toLowerCase(Locale.ROOT).contains(needle))
+                .collect(Collectors.toList());
+
+        List<SpecValue> results = switch (category.toLowerCase()) {
+            case "full specifications", "full" -> inCategory(matches, FULL_SPECIFICATIONS);
+            case "key specifications", "key" -> inCategory(matches, KEY_SPECIFICATIONS);
+            default -> deduplicateByKey(matches);
         };
 
         if (results.isEmpty()) {
@@ -109,25 +127,95 @@ public class CarDetailServiceImpl implements CarDetailService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Specs of several cars aligned into rows of (category, canonical label).
+     * Aliased raw keys ("petrol mileage arai", "diesel mileage arai") share a
+     * label and so land in the same row. Rows follow the order in which the
+     * cars list their specs, first car first.
+     */
+    @Override
+    public SpecComparisonDTO compare(List<Long> carIds, boolean differencesOnly) {
+        Map<Long, Car> cars = new HashMap<>();
+        for (Car car : carRepository.findAllById(carIds)) {
+            cars.put(car.getId(), car);
+        }
+        for (Long carId : carIds) {
+            if (!cars.containsKey(carId)) {
+                throw new ResourceNotFoundException("Car not found with ID: " + carId);
+            }
+        }
+        Map<Long, List<SpecValue>> specs = specStore.findByCarIds(carIds);
+
+        int columns = carIds.size();
+        Map<String, String[]> values = new LinkedHashMap<>();
+        Map<String, String[]> headers = new HashMap<>();
+        for (int column = 0; column < columns; column++) {
+            for (SpecValue spec : specs.getOrDefault(carIds.get(column), List.of())) {
+                String label = specKeyDictionary.label(spec.specKeyId(), spec.key());
+                String rowKey = spec.category() + '\u0000' + label.toLowerCase(Locale.ROOT);
+                String[] row = values.computeIfAbsent(rowKey, k -> new String[columns]);
+                headers.putIfAbsent(rowKey, new String[]{spec.category(), label});
+                if (row[column] == null) {
+                    row[column] = spec.value();
+                }
+            }
+        }
 
-    private CarDetailDTO toDTO(CarDetail detail) {
+        List<SpecComparisonRowDTO> rows = new ArrayList<>(values.size());
+        for (Map.Entry<String, String[]> entry : values.entrySet()) {
+            boolean different = differs(entry.getValue());
+            if (differencesOnly && !different) {
+                continue;
+            }
+            String[] header = headers.get(entry.getKey());
+            rows.add(new SpecComparisonRowDTO(header[0], header[1], Arrays.asList(entry.getValue()), different));
+        }
+
+        List<CarDTO> columnsHeader = carIds.stream()
+                .map(cars::get)
+                .map(car -> new CarDTO(car.getId(), car.getBrand(), car.getModel(), car.getBodyType(),
+                        car.getFuelType(), car.getPriceRange(), car.getRating()))
+                .collect(Collectors.toList());
+        return new SpecComparisonDTO(columnsHeader, rows);
+    }
+
+    // Missing counts as a difference; values compare trimmed and case-insensitively
+    private static boolean differs(String[] values) {
+        String first = normalizeValue(values[0]);
+        for (int i = 1; i < values.length; i++) {
+            if (!Objects.equals(first, normalizeValue(values[i]))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalizeValue(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private CarDetailDTO toDTO(SpecValue detail) {
         return new CarDetailDTO(
-                detail.getId(),
-                detail.getKey(),
-                KeyNormalizer.normalize(detail.getKey()),
-                detail.getValue(),
-                detail.getCategory()
+                detail.id(),
+                detail.key(),
+                detail.value(),
+                specKeyDictionary.label(detail.specKeyId(), detail.key()),
+                detail.category()
         );
     }
 
+    private static List<SpecValue> inCategory(List<SpecValue> specs, String category) {
+        return specs.stream()
+                .filter(d -> category.equals(d.category()))
+                .collect(Collectors.toList());
+    }
 
-
-    private List<CarDetail> deduplicateByKey(List<CarDetail> details) {
-        Map<String, CarDetail> map = new LinkedHashMap<>();
-        for (CarDetail d : details) {
-            if (!map.containsKey(d.getKey()) ||
-                    "Full Specifications".equals(d.getCategory())) {
-                map.put(d.getKey(), d);
+    private List<SpecValue> deduplicateByKey(List<SpecValue> details) {
+        Map<String, SpecValue> map = new LinkedHashMap<>();
+        for (SpecValue d : details) {
+            if (!map.containsKey(d.key()) ||
+                    FULL_SPECIFICATIONS.equals(d.category())) {
+                map.put(d.key(), d);
             }
         }
         return new ArrayList<>(map.values());
@@ -1,79 +1,168 @@
 package com.arcarshowcaseserver.service.serviceImpl;
 
+import com.arcarshowcaseserver.catalog.CatalogSnapshot;
+import com.arcarshowcaseserver.catalog.CatalogSnapshotService;
+import com.arcarshowcaseserver.catalog.FacetIndex.Facet;
+import com.arcarshowcaseserver.catalog.FacetQuery;
+import com.arcarshowcaseserver.catalog.FacetResult;
+import com.arcarshowcaseserver.catalog.SpecPredicate;
 import com.arcarshowcaseserver.dto.CarDTO;
+import com.arcarshowcaseserver.dto.FacetedSearchResultDTO;
+import com.arcarshowcaseserver.dto.PageResponse;
+import com.arcarshowcaseserver.dto.SuggestionDTO;
 import com.arcarshowcaseserver.exceptions.BadRequestException;
 import com.arcarshowcaseserver.exceptions.ResourceNotFoundException;
-import com.arcarshowcaseserver.repository.CarRepository;
 import com.arcarshowcaseserver.service.CarSearchService;
+import com.arcarshowcaseserver.service.KeysetPager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
-@Transactional(readOnly = true)
 public class CarSearchServiceImpl implements CarSearchService {
 
     private static final Logger log = LoggerFactory.getLogger(CarSearchServiceImpl.class);
-    private final CarRepository carRepository;
+    private final CatalogSnapshotService catalogSnapshotService;
 
-    public CarSearchServiceImpl(CarRepository carRepository) {
-        this.carRepository = carRepository;
+    public CarSearchServiceImpl(CatalogSnapshotService catalogSnapshotService) {
+        this.catalogSnapshotService = catalogSnapshotService;
     }
 
     @Override
-    public List<CarDTO> simpleSearch(String keyword) {
+    public PageResponse<CarDTO> simpleSearch(String keyword, String cursor, int size) {
         if (keyword == null || keyword.isBlank()) {
             log.debug("No keyword provided — returning all cars");
-            List<CarDTO> all = carRepository.findAllCarsAsDTO();
+            List<CarDTO> all = catalogSnapshotService.snapshot().getAllByRating();
             if (all.isEmpty()) {
                 throw new ResourceNotFoundException("No cars found in the database");
             }
-            return all;
+            return byRating(all, cursor, size);
         }
 
         log.debug("Simple search for keyword: '{}'", keyword.trim());
-        List<CarDTO> results = carRepository.searchCars(keyword.trim());
+        List<CarDTO> results = catalogSnapshotService.snapshot().search(keyword.trim());
+        if (results.isEmpty()) {
+            results = fuzzyFallback(keyword.trim());
+        }
         if (results.isEmpty()) {
             throw new ResourceNotFoundException(
                     "No cars found matching: '" + keyword.trim() + "'"
             );
         }
-        return results;
+        return KeysetPager.afterId(results, cursor, size, CarDTO::getId);
     }
 
     @Override
-    public List<CarDTO> advancedSearch(String keyword) {
+    public PageResponse<CarDTO> advancedSearch(String keyword, String cursor, int size) {
         if (keyword == null || keyword.isBlank()) {
             log.debug("No keyword provided — returning all cars");
-            List<CarDTO> all = carRepository.findAllCarsAsDTO();
+            List<CarDTO> all = catalogSnapshotService.snapshot().getAllByRating();
             if (all.isEmpty()) {
                 throw new ResourceNotFoundException("No cars found in the database");
             }
-            return all;
+            return byRating(all, cursor, size);
         }
 
         log.debug("Advanced search for keyword: '{}'", keyword.trim());
-        List<CarDTO> results = carRepository.advancedSearchCars(keyword.trim());
+        List<CarDTO> results = catalogSnapshotService.snapshot().advancedSearch(keyword.trim());
+        if (results.isEmpty()) {
+            results = fuzzyFallback(keyword.trim());
+        }
         if (results.isEmpty()) {
             throw new ResourceNotFoundException(
                     "No cars found matching: '" + keyword.trim() + "'"
             );
         }
-        return results;
+        return KeysetPager.afterId(results, cursor, size, CarDTO::getId);
     }
 
     @Override
-    public List<CarDTO> multiFilterSearch(
+    public PageResponse<CarDTO> fuzzySearch(String keyword, String cursor, int size) {
+        if (keyword == null || keyword.isBlank()) {
+            throw new BadRequestException("Search keyword cannot be blank");
+        }
+
+        log.debug("Fuzzy search for keyword: '{}'", keyword.trim());
+        List<CarDTO> results = catalogSnapshotService.snapshot().fuzzySearch(keyword.trim());
+        if (results.isEmpty()) {
+            throw new ResourceNotFoundException(
+                    "No cars found matching: '" + keyword.trim() + "'"
+            );
+        }
+        return KeysetPager.afterId(results, cursor, size, CarDTO::getId);
+    }
+
+    // Typeahead: an empty list rather than 404 so the client can just render it.
+    @Override
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return catalogSnapshotService.snapshot().suggest(prefix, limit);
+    }
+
+    @Override
+    public PageResponse<CarDTO> specSearch(List<String> conditions, String brand, String bodyType,
+                                           String fuelType, String transmissionType, String cursor, int size) {
+        List<SpecPredicate> predicates = new ArrayList<>();
+        for (String condition : conditions) {
+            try {
+                predicates.addAll(SpecPredicate.parse(condition));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException(e.getMessage());
+            }
+        }
+        if (predicates.isEmpty()) {
+            throw new BadRequestException("At least one spec condition is required, e.g. q=boot_space>400");
+        }
+
+        CatalogSnapshot snapshot = catalogSnapshotService.snapshot();
+        for (SpecPredicate predicate : predicates) {
+            if (!snapshot.getSpecFacts().hasColumn(predicate.column())) {
+                throw new BadRequestException(
+                        "Unknown spec: '" + predicate.column() + "' (see /api/search/specs/columns)"
+                );
+            }
+        }
+
+        log.debug("Spec search — predicates: {}, brand: '{}', bodyType: '{}', fuelType: '{}', transmissionType: '{}'",
+                predicates, brand, bodyType, fuelType, transmissionType);
+
+        FacetQuery query = new FacetQuery()
+                .select(Facet.BRAND, splitValues(brand))
+                .select(Facet.BODY_TYPE, splitValues(bodyType))
+                .select(Facet.FUEL_TYPE, splitValues(fuelType))
+                .select(Facet.TRANSMISSION_TYPE, splitValues(transmissionType));
+        List<CarDTO> results = snapshot.specSearch(predicates, query);
+        if (results.isEmpty()) {
+            throw new ResourceNotFoundException("No cars found matching: " + predicates);
+        }
+        return byRating(results, cursor, size);
+    }
+
+    @Override
+    public List<String> specColumns() {
+        return catalogSnapshotService.snapshot().getSpecFacts().columns();
+    }
+
+    @Override
+    public FacetedSearchResultDTO multiFilterSearch(
             String keyword,
             String brand,
             String bodyType,
             String fuelType,
+            String transmissionType,
             Double minPrice,
             Double maxPrice,
-            Double minRating) {
+            Double minRating,
+            String cursor,
+            int size) {
 
         if (minPrice != null && minPrice < 0) {
             throw new BadRequestException("Minimum price cannot be negative");
@@ -92,28 +181,52 @@ public class CarSearchServiceImpl implements CarSearchService {
         }
 
         String kw         = sanitize(keyword);
-        String br         = sanitize(brand);
-        String bt         = sanitize(bodyType);
-        String ft         = sanitize(fuelType);
 
         log.debug("Multi-filter search — keyword: '{}', brand: '{}', bodyType: '{}', " +
-                        "fuelType: '{}', minPrice: {}, maxPrice: {}, minRating: {}",
-                kw, br, bt, ft, minPrice, maxPrice, minRating);
-
-        List<CarDTO> results = carRepository.multiFilterSearch(
-                kw.isEmpty()  ? null : kw,
-                br.isEmpty()  ? null : br,
-                bt.isEmpty()  ? null : bt,
-                ft.isEmpty()  ? null : ft,
-                minPrice,
-                maxPrice,
-                minRating
-        );
+                        "fuelType: '{}', transmissionType: '{}', minPrice: {}, maxPrice: {}, minRating: {}",
+                kw, brand, bodyType, fuelType, transmissionType, minPrice, maxPrice, minRating);
+
+        FacetQuery query = new FacetQuery()
+                .keyword(kw.isEmpty() ? null : kw)
+                .select(Facet.BRAND, splitValues(brand))
+                .select(Facet.BODY_TYPE, splitValues(bodyType))
+                .select(Facet.FUEL_TYPE, splitValues(fuelType))
+                .select(Facet.TRANSMISSION_TYPE, splitValues(transmissionType))
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .minRating(minRating);
+
+        FacetResult result = catalogSnapshotService.snapshot().facetedSearch(query);
+
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        result.counts().forEach((facet, counts) -> facets.put(facet.getParam(), counts));
+
+        // An empty page still carries facet counts, so the sidebar can show
+        // which filter to relax instead of a bare 404.
+        PageResponse<CarDTO> page = byRating(result.cars(), cursor, size);
+        return new FacetedSearchResultDTO(page.getItems(), result.cars().size(), facets, page.getNextCursor());
+    }
 
-        if (results.isEmpty()) {
-            throw new ResourceNotFoundException(
-                    "No cars found matching the given filters"
-            );
+    // Snapshot lists are ordered by rating desc, id asc
+    private PageResponse<CarDTO> byRating(List<CarDTO> ordered, String cursor, int size) {
+        return KeysetPager.seek(ordered, cursor, size, CarDTO::getRating, CarDTO::getId, true);
+    }
+
+    // "SUV, Sedan" → [SUV, Sedan]; blank → no constraint
+    private List<String> splitValues(String value) {
+        String trimmed = sanitize(value);
+        if (trimmed.isEmpty()) return List.of();
+        return Arrays.stream(trimmed.split(","))
+                .map(String::trim)
+                .filter(v -> !v.isEmpty())
+                .toList();
+    }
+
+    // Zero exact hits: retry against brand/model/variant names with typo tolerance
+    private List<CarDTO> fuzzyFallback(String keyword) {
+        List<CarDTO> results = catalogSnapshotService.snapshot().fuzzySearch(keyword);
+        if (!results.isEmpty()) {
+            log.debug("No exact hits for '{}' — {} fuzzy matches", keyword, results.size());
         }
         return results;
     }
@@ -1,21 +1,30 @@
 package com.arcarshowcaseserver.service.serviceImpl;
 
+import com.arcarshowcaseserver.catalog.CatalogSnapshotService;
+import com.arcarshowcaseserver.catalog.FacetIndex;
+import com.arcarshowcaseserver.catalog.FacetIndex.Facet;
 import com.arcarshowcaseserver.dto.CarDTO;
+import com.arcarshowcaseserver.dto.CarFullView;
 import com.arcarshowcaseserver.dto.CarOptionsDTO;
+import com.arcarshowcaseserver.dto.PageResponse;
 import com.arcarshowcaseserver.exceptions.BadRequestException;
 import com.arcarshowcaseserver.exceptions.ResourceNotFoundException;
 import com.arcarshowcaseserver.model.Cars.Car;
 import com.arcarshowcaseserver.model.Cars.CarVariant;
 import com.arcarshowcaseserver.repository.CarRepository;
 import com.arcarshowcaseserver.repository.CarVariantRepository;
+import com.arcarshowcaseserver.service.CarAggregateLoader;
+import com.arcarshowcaseserver.service.CarFields;
 import com.arcarshowcaseserver.service.CarService;
+import com.arcarshowcaseserver.service.CursorCodec;
+import com.arcarshowcaseserver.service.SlugResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Objects;
 
 @Service
 @Transactional(readOnly = true)
@@ -25,20 +34,40 @@ public class CarServiceImpl implements CarService {
 
     private final CarRepository carRepository;
     private final CarVariantRepository carVariantRepository;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final CarAggregateLoader carAggregateLoader;
+    private final SlugResolver slugResolver;
 
     public CarServiceImpl(CarRepository carRepository,
-                          CarVariantRepository carVariantRepository) {
+                          CarVariantRepository carVariantRepository,
+                          CatalogSnapshotService catalogSnapshotService,
+                          CarAggregateLoader carAggregateLoader,
+                          SlugResolver slugResolver) {
         this.carRepository = carRepository;
         this.carVariantRepository = carVariantRepository;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.carAggregateLoader = carAggregateLoader;
+        this.slugResolver = slugResolver;
     }
 
+    // ─────────────────────────────────────────────────────────
+    //  Full cars, keyset-paginated by id
+    //  One id query + the loader's fixed batch per page
+    // ─────────────────────────────────────────────────────────
     @Override
-    public List<Car> GetAllCars() {
-        List<Car> cars = carRepository.findAll();
-        if (cars.isEmpty()) {
-            throw new ResourceNotFoundException("No cars found in the database");
+    public PageResponse<CarFullView> getCarsPage(String cursor, int size) {
+        if (size <= 0) {
+            throw new BadRequestException("Page size must be greater than 0");
         }
-        return cars;
+        long afterId = cursor == null || cursor.isBlank() ? 0L : CursorCodec.decodeLong(cursor);
+
+        List<Long> ids = carRepository.findIdsAfter(afterId, Limit.of(size + 1));
+        boolean hasMore = ids.size() > size;
+        if (hasMore) {
+            ids = ids.subList(0, size);
+        }
+        String nextCursor = hasMore ? CursorCodec.encode(ids.get(ids.size() - 1)) : null;
+        return PageResponse.of(carAggregateLoader.load(ids), nextCursor);
     }
 
     @Override
@@ -50,26 +79,25 @@ public class CarServiceImpl implements CarService {
     }
 
     @Override
-    public Car getCarsById(Long id) {
+    public CarFullView getCarsById(Long id, CarFields fields) {
         if (id == null || id <= 0) {
             throw new BadRequestException("Car ID must be a positive number");
         }
-        return carRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "No car found with ID: " + id
-                ));
+        List<CarFullView> cars = carAggregateLoader.load(List.of(id), fields);
+        if (cars.isEmpty()) {
+            throw new ResourceNotFoundException("No car found with ID: " + id);
+        }
+        return cars.get(0);
+    }
+
+    @Override
+    public List<CarFullView> getCarsByIds(List<Long> ids, CarFields fields) {
+        return carAggregateLoader.load(ids, fields);
     }
 
     @Override
     public List<String> getAllBrands() {
-        List<String> brands = carRepository.findAll()
-                .stream()
-                .map(Car::getBrand)
-                .filter(Objects::nonNull)
-                .map(String::toLowerCase)
-                .distinct()
-                .sorted()
-                .toList();
+        List<String> brands = catalogSnapshotService.snapshot().getBrands();
 
         if (brands.isEmpty()) {
             throw new ResourceNotFoundException("No brands found");
@@ -102,12 +130,12 @@ public class CarServiceImpl implements CarService {
             throw new BadRequestException("Model name cannot be blank");
         }
 
-        Car car = carRepository.findByBrandAndModel(brand.trim(), model.trim())
+        Long carId = slugResolver.findCarId(brand, model)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "No car found for brand: " + brand + " model: " + model
                 ));
 
-        List<CarVariant> variants = carVariantRepository.findVariantsByCarId(car.getId());
+        List<CarVariant> variants = carVariantRepository.findVariantsByCarId(carId);
         if (variants == null || variants.isEmpty()) {
             throw new ResourceNotFoundException(
                     "No variants found for: " + brand + " " + model
@@ -128,15 +156,16 @@ public class CarServiceImpl implements CarService {
             throw new BadRequestException("Variant name cannot be blank");
         }
 
-        Car car = carRepository.findByBrandAndModel(brand.trim(), model.trim())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "No car found for brand: " + brand + " model: " + model
-                ));
+        if (slugResolver.findCarId(brand, model).isEmpty()) {
+            throw new ResourceNotFoundException(
+                    "No car found for brand: " + brand + " model: " + model
+            );
+        }
 
-        return carVariantRepository
-                .findByCarIdAndVariant(car.getId(), sanitize(variant))
+        return slugResolver.findVariantId(brand, model, variant)
+                .flatMap(carVariantRepository::findById)
                 .orElseThrow(() -> new ResourceNotFoundException(
-                        "Variant '" + variant + "' not found for " + brand + " " + model
+                        "Variant '" + sanitize(variant) + "' not found for " + brand + " " + model
                 ));
     }
 
@@ -145,7 +174,7 @@ public class CarServiceImpl implements CarService {
         if (bodyType == null || bodyType.isBlank()) {
             throw new BadRequestException("Body type cannot be blank");
         }
-        List<CarDTO> cars = carRepository.findByBodyType(bodyType.trim());
+        List<CarDTO> cars = catalogSnapshotService.snapshot().findByBodyType(bodyType.trim());
         if (cars.isEmpty()) {
             throw new ResourceNotFoundException(
                     "No cars found with body type: " + bodyType
@@ -162,7 +191,7 @@ public class CarServiceImpl implements CarService {
         if (bodyType == null || bodyType.isBlank()) {
             throw new BadRequestException("Body type cannot be blank");
         }
-        List<CarDTO> cars = carRepository.findByBrandAndBodyType(
+        List<CarDTO> cars = catalogSnapshotService.snapshot().findByBrandAndBodyType(
                 brand.trim(), bodyType.trim()
         );
         if (cars.isEmpty()) {
@@ -178,7 +207,7 @@ public class CarServiceImpl implements CarService {
         if (fuelType == null || fuelType.isBlank()) {
             throw new BadRequestException("Fuel type cannot be blank");
         }
-        List<CarDTO> cars = carRepository.findByFuelType(fuelType.trim());
+        List<CarDTO> cars = catalogSnapshotService.snapshot().findByFuelType(fuelType.trim());
         if (cars.isEmpty()) {
             throw new ResourceNotFoundException(
                     "No cars found with fuel type: " + fuelType
@@ -195,7 +224,7 @@ public class CarServiceImpl implements CarService {
         if (transmissionType == null || transmissionType.isBlank()) {
             throw new BadRequestException("Transmission type cannot be blank");
         }
-        List<CarDTO> cars = carRepository.findByTransmissionType(
+        List<CarDTO> cars = catalogSnapshotService.snapshot().findByTransmissionType(
                 transmissionType.trim()
         );
         if (cars.isEmpty()) {
@@ -214,7 +243,7 @@ public class CarServiceImpl implements CarService {
         if (rating < 0 || rating > 5) {
             throw new BadRequestException("Rating must be between 0 and 5");
         }
-        List<CarDTO> cars = carRepository.findByRating(rating);
+        List<CarDTO> cars = catalogSnapshotService.snapshot().findByMinRating(rating);
         if (cars.isEmpty()) {
             throw new ResourceNotFoundException(
                     "No cars found with rating >= " + rating
@@ -231,7 +260,7 @@ public class CarServiceImpl implements CarService {
         if (price <= 0) {
             throw new BadRequestException("Price must be greater than 0");
         }
-        List<CarDTO> cars = carRepository.findByUnderPrice(price);
+        List<CarDTO> cars = catalogSnapshotService.snapshot().findByMaxStartingPrice(price);
         if (cars.isEmpty()) {
             throw new ResourceNotFoundException(
                     "No cars found under ₹" + price + " Lakhs"
@@ -245,11 +274,12 @@ public class CarServiceImpl implements CarService {
     // ─────────────────────────────────────────────────────────
     @Override
     public CarOptionsDTO getCarOptions() {
+        FacetIndex facets = catalogSnapshotService.snapshot().getFacets();
         return new CarOptionsDTO(
-                carRepository.findDistinctBrands(),
-                carRepository.findDistinctBodyTypes(),
-                carRepository.findDistinctFuelTypes(),
-                carRepository.findDistinctTransmissionTypes()
+                facets.values(Facet.BRAND),
+                facets.values(Facet.BODY_TYPE),
+                facets.values(Facet.FUEL_TYPE),
+                facets.values(Facet.TRANSMISSION_TYPE)
         );
     }
 
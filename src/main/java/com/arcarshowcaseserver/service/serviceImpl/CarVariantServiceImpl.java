@@ -1,14 +1,22 @@
 package com.arcarshowcaseserver.service.serviceImpl;
 
+import com.arcarshowcaseserver.catalog.CatalogSnapshotService;
+import com.arcarshowcaseserver.catalog.VariantEntry;
+import com.arcarshowcaseserver.dto.CarFullView;
 import com.arcarshowcaseserver.dto.CarVariantDTO;
+import com.arcarshowcaseserver.dto.PageResponse;
 import com.arcarshowcaseserver.exceptions.BadRequestException;
 import com.arcarshowcaseserver.exceptions.InvalidInputException;
 import com.arcarshowcaseserver.exceptions.ResourceNotFoundException;
-import com.arcarshowcaseserver.model.Cars.Car;
 import com.arcarshowcaseserver.model.Cars.CarVariant;
 import com.arcarshowcaseserver.repository.CarRepository;
 import com.arcarshowcaseserver.repository.CarVariantRepository;
+import com.arcarshowcaseserver.service.CarAggregateLoader;
+import com.arcarshowcaseserver.service.CarFields;
 import com.arcarshowcaseserver.service.CarVariantService;
+import com.arcarshowcaseserver.service.KeysetPager;
+import com.arcarshowcaseserver.service.NumericSpecParser;
+import com.arcarshowcaseserver.service.SlugResolver;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,12 +24,24 @@ import java.util.List;
 @Service
 public class CarVariantServiceImpl implements CarVariantService {
 
+    // A bare decimal engine value below this is litres ("1.5"), never cc
+    private static final double MAX_LITRES = 10;
+
     private final CarRepository carRepository;
     private final CarVariantRepository carVariantRepository;
-
-    public CarVariantServiceImpl(CarRepository carRepository,CarVariantRepository carVariantRepository){
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final SlugResolver slugResolver;
+    private final CarAggregateLoader carAggregateLoader;
+
+    public CarVariantServiceImpl(CarRepository carRepository,CarVariantRepository carVariantRepository,
+                                 CatalogSnapshotService catalogSnapshotService,
+                                 SlugResolver slugResolver,
+                                 CarAggregateLoader carAggregateLoader){
         this.carRepository = carRepository;
         this.carVariantRepository = carVariantRepository;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.slugResolver = slugResolver;
+        this.carAggregateLoader = carAggregateLoader;
     }
     @Override
     public List<CarVariant> getByBrandAndModelAndFuelType(
@@ -41,8 +61,8 @@ public class CarVariantServiceImpl implements CarVariantService {
             throw new InvalidInputException("Fuel type must not be empty");
         }
 
-        Car car = carRepository
-                .findByBrandAndModel(brand, model)
+        Long carId = slugResolver
+                .findCarId(brand, model)
                 .orElseThrow(() ->
                         new ResourceNotFoundException(
                                 "Car not found for brand: " + brand +
@@ -52,7 +72,7 @@ public class CarVariantServiceImpl implements CarVariantService {
 
         List<CarVariant> variants =
                 carVariantRepository
-                        .findByCarIdAndFuelIgnoreCase(car.getId(), fuel);
+                        .findByCarIdAndFuelIgnoreCase(carId, fuel);
 
         if (variants.isEmpty()) {
             throw new ResourceNotFoundException(
@@ -83,81 +103,144 @@ public class CarVariantServiceImpl implements CarVariantService {
     }
 
     @Override
-    public Car getByVariant(String variant) {
+    public CarFullView getByVariant(String variant, CarFields fields) {
         if (variant == null || variant.isBlank()) {
             throw new BadRequestException("Variant name cannot be blank");
         }
 
         String sanitized = sanitize(variant);
 
-        CarVariant carVariant = carVariantRepository.findByVariant(sanitized);
-        if (carVariant == null) {
-            throw new ResourceNotFoundException(
-                    "No variant found with name: " + sanitized
-            );
-        }
-
-        return carRepository.findById(carVariant.getCar().getId())
+        Long carId = slugResolver.findCarIdByVariantName(sanitized)
                 .orElseThrow(() -> new ResourceNotFoundException(
-                        "Car not found for variant: " + sanitized
+                        "No variant found with name: " + sanitized
                 ));
+
+        List<CarFullView> cars = carAggregateLoader.load(List.of(carId), fields);
+        if (cars.isEmpty()) {
+            throw new ResourceNotFoundException("Car not found for variant: " + sanitized);
+        }
+        return cars.get(0);
     }
 
 
     // carvaraints
     @Override
-    public List<CarVariantDTO> getByEngine(String engineCC) {
+    public List<CarVariantDTO> getByEngine(String engineCC, Integer minCc, Integer maxCc) {
 
-        if (engineCC == null || engineCC.isBlank()) {
+        boolean hasEngine = engineCC != null && !engineCC.isBlank();
+        if (!hasEngine && minCc == null && maxCc == null) {
             throw new InvalidInputException("Engine value cannot be empty");
         }
 
-        String normalized = engineCC.trim().toLowerCase();
+        List<CarVariant> variants;
+        if (hasEngine) {
+            variants = findByEngine(engineCC.trim());
+        } else {
+            int min = minCc == null ? 0 : minCc;
+            int max = maxCc == null ? Integer.MAX_VALUE : maxCc;
+            if (min > max) {
+                throw new BadRequestException(
+                        "Minimum cc (" + min + ") cannot be greater than maximum cc (" + max + ")"
+                );
+            }
+            variants = carVariantRepository.findByDisplacementBetween(min, max);
+        }
 
-        List<CarVariantDTO> result = carVariantRepository
-                .findByEngineCc(normalized)
+        List<CarVariantDTO> result = variants
                 .stream()
                 .map(this::mapToDTO)
                 .toList();
 
         if (result.isEmpty()) {
             throw new InvalidInputException(
-                    "No variants found for engine: " + engineCC
+                    "No variants found for engine: " + (hasEngine ? engineCC : minCc + "-" + maxCc + " cc")
             );
         }
 
         return result;
     }
 
+    // "1984" and "1984 cc" match the parsed displacement, "1.5" every engine
+    // that rounds to 1.5 litres (1450-1549 cc), "17.4 kWh" the battery
+    private List<CarVariant> findByEngine(String engine) {
+        NumericSpecParser.Measure measure = NumericSpecParser.parse(engine);
+        if (measure == null) {
+            Double number = NumericSpecParser.number(engine);
+            if (number == null || number <= 0) {
+                throw new InvalidInputException("Engine value must be a number of cc or kWh: " + engine);
+            }
+            if (number == Math.rint(number)) {
+                measure = new NumericSpecParser.Measure(number, NumericSpecParser.Unit.CC);
+            } else if (number < MAX_LITRES) {
+                int cc = (int) Math.round(number * 10) * 100;
+                return carVariantRepository.findByDisplacementBetween(cc - 50, cc + 49);
+            } else {
+                throw new InvalidInputException("Engine value must be whole cc or litres under "
+                        + (int) MAX_LITRES + ": " + engine);
+            }
+        }
+        return switch (measure.unit()) {
+            case CC -> {
+                int cc = (int) Math.round(measure.value());
+                yield carVariantRepository.findByDisplacementBetween(cc, cc);
+            }
+            case KWH -> carVariantRepository.findByBatteryKwh(measure.value());
+            default -> throw new InvalidInputException("Engine value must be a number of cc or kWh: " + engine);
+        };
+    }
+
 
     @Override
-    public List<CarVariantDTO> getUnderPrice(double priceLakhs) {
-        return carVariantRepository.findUnderPrice(priceLakhs)
-                .stream()
-                .map(this::mapToDTO)
-                .toList();
+    public PageResponse<CarVariantDTO> getUnderPrice(double priceLakhs, String cursor, int size) {
+        return entriesByPrice(catalogSnapshotService.snapshot().getVariantPrices().atMost(priceLakhs), cursor, size);
     }
 
     @Override
-    public List<CarVariantDTO> getBetweenPrices(double min, double max) {
-        return carVariantRepository.findBetweenPrices(min, max)
-                .stream()
-                .map(this::mapToDTO)
-                .toList();
+    public PageResponse<CarVariantDTO> getBetweenPrices(double min, double max, String cursor, int size) {
+        if (min < 0 || max < 0) {
+            throw new BadRequestException("Price cannot be negative");
+        }
+        if (min > max) {
+            throw new BadRequestException(
+                    "Minimum price (" + min + ") cannot be greater than maximum price (" + max + ")"
+            );
+        }
+        return entriesByPrice(catalogSnapshotService.snapshot().getVariantPrices().between(min, max), cursor, size);
     }
 
     @Override
-    public List<CarVariantDTO> filterVariants(String fuel, String engine, Double maxPrice) {
-        return carVariantRepository.filterVariants(fuel, engine, maxPrice)
-                .stream()
-                .map(this::mapToDTO)
-                .toList();
+    public PageResponse<CarVariantDTO> filterVariants(String fuel, String engine, Double maxPrice,
+                                                      Integer minCc, Integer maxCc, Double minMileage,
+                                                      String cursor, int size) {
+        if (minCc != null && maxCc != null && minCc > maxCc) {
+            throw new BadRequestException(
+                    "Minimum cc (" + minCc + ") cannot be greater than maximum cc (" + maxCc + ")"
+            );
+        }
+        return byPrice(catalogSnapshotService.snapshot().getVariantPrices()
+                .filter(blankToNull(fuel), blankToNull(engine), maxPrice, minCc, maxCc, minMileage), cursor, size);
+    }
+
+    // Priced index slices: seek on the entries, map only the page
+    private PageResponse<CarVariantDTO> entriesByPrice(List<VariantEntry> ordered, String cursor, int size) {
+        PageResponse<VariantEntry> page = KeysetPager.seek(ordered, cursor, size,
+                VariantEntry::priceLakhs, VariantEntry::id, false);
+        return PageResponse.of(page.getItems().stream().map(VariantEntry::dto).toList(), page.getNextCursor());
+    }
+
+    // Cheapest first, unpriced last; the cursor is (priceLakhs, id)
+    private PageResponse<CarVariantDTO> byPrice(List<CarVariantDTO> ordered, String cursor, int size) {
+        return KeysetPager.seek(ordered, cursor, size,
+                dto -> dto.getPriceLakhs() == null ? Double.POSITIVE_INFINITY : dto.getPriceLakhs(),
+                CarVariantDTO::getId, false);
     }
 
     private CarVariantDTO mapToDTO(CarVariant variant) {
         return new CarVariantDTO(
+                variant.getId(),
                 variant.getVariant(),
                 variant.getPrice(),
+                variant.getPriceLakhs(),
                 variant.getEngineCc(),
                 variant.getFuel(),
                 variant.getTransmission(),
@@ -166,6 +249,10 @@ public class CarVariantServiceImpl implements CarVariantService {
         );
     }
 
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
     private String sanitize(String value) {
         return value == null ? "" : value.trim();
     }
@@ -0,0 +1,97 @@
+package com.arcarshowcaseserver.service.serviceImpl;
+
+import com.arcarshowcaseserver.model.Cars.Car;
+import com.arcarshowcaseserver.model.Cars.CarDetail;
+import com.arcarshowcaseserver.model.Cars.CarSpecDocument;
+import com.arcarshowcaseserver.model.Cars.SpecDocument;
+import com.arcarshowcaseserver.repository.CarDetailRepository;
+import com.arcarshowcaseserver.repository.CarSpecDocumentRepository;
+import com.arcarshowcaseserver.service.SpecKeyDictionary;
+import com.arcarshowcaseserver.service.SpecStore;
+import com.arcarshowcaseserver.service.SpecValue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * One {@link CarSpecDocument} per car. Cars that still only have
+ * {@code car_details_v2} rows (not migrated yet) are read from the rows.
+ */
+@Service
+@ConditionalOnProperty(name = "catalog.specs.storage", havingValue = "document")
+public class DocumentSpecStore implements SpecStore {
+
+    private final CarSpecDocumentRepository documentRepository;
+    private final CarDetailRepository carDetailRepository;
+    private final SpecKeyDictionary specKeyDictionary;
+
+    public DocumentSpecStore(CarSpecDocumentRepository documentRepository,
+                             CarDetailRepository carDetailRepository,
+                             SpecKeyDictionary specKeyDictionary) {
+        this.documentRepository = documentRepository;
+        this.carDetailRepository = carDetailRepository;
+        this.specKeyDictionary = specKeyDictionary;
+    }
+
+    @Override
+    public void write(Car car, List<SpecValue> specs) {
+        documentRepository.save(new CarSpecDocument(car.getId(), toDocument(specs)));
+    }
+
+    @Override
+    public void deleteByCarIds(List<Long> carIds) {
+        documentRepository.deleteAllByIdInBatch(carIds);
+        carDetailRepository.deleteByCarIds(carIds);
+    }
+
+    @Override
+    public List<SpecValue> findByCarId(Long carId) {
+        return findByCarIds(List.of(carId)).getOrDefault(carId, List.of());
+    }
+
+    @Override
+    public Map<Long, List<SpecValue>> findByCarIds(List<Long> carIds) {
+        Map<Long, List<SpecValue>> specs = new LinkedHashMap<>();
+        if (carIds.isEmpty()) {
+            return specs;
+        }
+        for (CarSpecDocument document : documentRepository.findAllById(carIds)) {
+            specs.put(document.getCarId(), fromDocument(document.getDocument()));
+        }
+        List<Long> missing = carIds.stream().filter(id -> !specs.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            for (CarDetail detail : carDetailRepository.findByCarIdInOrderById(missing)) {
+                specs.computeIfAbsent(detail.getCar().getId(), k -> new ArrayList<>())
+                        .add(RowSpecStore.toValue(detail, specKeyDictionary));
+            }
+        }
+        return specs;
+    }
+
+    public static SpecDocument toDocument(List<SpecValue> specs) {
+        Map<String, SpecDocument.Category> categories = new LinkedHashMap<>();
+        for (SpecValue spec : specs) {
+            String name = Objects.requireNonNullElse(spec.category(), "");
+            categories.computeIfAbsent(name, n -> new SpecDocument.Category(n, new ArrayList<>()))
+                    .getSpecs()
+                    .add(new SpecDocument.Spec(spec.specKeyId(), spec.key(), spec.value()));
+        }
+        return new SpecDocument(new ArrayList<>(categories.values()));
+    }
+
+    private static List<SpecValue> fromDocument(SpecDocument document) {
+        List<SpecValue> specs = new ArrayList<>();
+        long position = 0;
+        for (SpecDocument.Category category : document.getCategories()) {
+            for (SpecDocument.Spec spec : category.getSpecs()) {
+                specs.add(new SpecValue(++position, category.getName(), spec.getKeyId(), spec.getKey(), spec.getValue()));
+            }
+        }
+        return specs;
+    }
+}
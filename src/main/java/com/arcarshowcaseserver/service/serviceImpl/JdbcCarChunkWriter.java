@@ -0,0 +1,261 @@
+package com.arcarshowcaseserver.service.serviceImpl;
+
+import com.arcarshowcaseserver.model.Cars.Car;
+import com.arcarshowcaseserver.model.Cars.CarColor;
+import com.arcarshowcaseserver.model.Cars.CarDetail;
+import com.arcarshowcaseserver.model.Cars.CarImage;
+import com.arcarshowcaseserver.model.Cars.CarVariant;
+import com.arcarshowcaseserver.service.CarChunkWriter;
+import com.arcarshowcaseserver.service.SpecStore;
+import com.arcarshowcaseserver.service.SpecValue;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+
+import java.io.StringReader;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk import writer. The entities keep {@code IDENTITY} ids, which rules
+ * out Hibernate JDBC batching, so this writer bypasses JPA: on PostgreSQL
+ * it reserves a whole chunk of ids from each identity sequence in one
+ * query and streams every table with {@code COPY}. On any other database
+ * every table goes out as one JDBC batch, cars and variants reading their
+ * ids back from the batch's generated keys.
+ */
+@Service
+@ConditionalOnProperty(name = "catalog.import.writer", havingValue = "jdbc")
+public class JdbcCarChunkWriter implements CarChunkWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcCarChunkWriter.class);
+
+    private static final String[] CAR_COLUMNS = {
+            "brand", "model", "body_type", "fuel_type", "transmission_type", "seating_capacity",
+            "price_range", "min_price_lakhs", "max_price_lakhs", "rating", "model_url", "slug", "content_hash"};
+    private static final String[] VARIANT_COLUMNS = {
+            "variant", "price", "price_lakhs", "slug", "engine_cc", "fuel", "transmission", "mileage",
+            "displacement_cc", "battery_kwh", "mileage_kmpl", "range_km", "power_bhp", "torque_nm",
+            "numbers_parsed", "car_id"};
+    private static final String[] KEY_SPEC_COLUMNS = {"variant_id", "specification"};
+    private static final String[] IMAGE_COLUMNS = {"type", "image_url", "car_id"};
+    private static final String[] COLOR_COLUMNS = {"name", "image_url", "car_id"};
+    private static final String[] DETAIL_COLUMNS = {
+            "category", "spec_value", "spec_key_id", "numeric_value", "unit", "car_id"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SpecStore specStore;
+    private volatile Boolean postgres;
+
+    public JdbcCarChunkWriter(JdbcTemplate jdbcTemplate, SpecStore specStore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.specStore = specStore;
+    }
+
+    @Override
+    public List<Long> write(List<Car> cars, List<List<SpecValue>> specs) {
+        if (cars.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object[]> carRows = new ArrayList<>(cars.size());
+        for (Car car : cars) {
+            carRows.add(new Object[]{car.getBrand(), car.getModel(), car.getBodyType(), car.getFuelType(),
+                    car.getTransmissionType(), car.getSeatingCapacity(), car.getPriceRange(),
+                    car.getMinPriceLakhs(), car.getMaxPriceLakhs(), car.getRating(), car.getModelUrl(),
+                    car.getSlug(), car.getContentHash()});
+        }
+        List<Long> carIds = insertReturningIds("cars_v2", CAR_COLUMNS, carRows);
+        for (int i = 0; i < cars.size(); i++) {
+            cars.get(i).setId(carIds.get(i));
+        }
+
+        List<CarVariant> variants = new ArrayList<>();
+        List<Object[]> variantRows = new ArrayList<>();
+        List<Object[]> imageRows = new ArrayList<>();
+        List<Object[]> colorRows = new ArrayList<>();
+        for (Car car : cars) {
+            for (CarVariant v : car.getVariants()) {
+                variants.add(v);
+                variantRows.add(new Object[]{v.getVariant(), v.getPrice(), v.getPriceLakhs(), v.getSlug(),
+                        v.getEngineCc(), v.getFuel(), v.getTransmission(), v.getMileage(),
+                        v.getDisplacementCc(), v.getBatteryKwh(), v.getMileageKmpl(), v.getRangeKm(),
+                        v.getPowerBhp(), v.getTorqueNm(), v.getNumbersParsed(), car.getId()});
+            }
+            for (CarImage image : car.getImages()) {
+                imageRows.add(new Object[]{image.getType(), image.getImageUrl(), car.getId()});
+            }
+            for (CarColor color : car.getColors()) {
+                colorRows.add(new Object[]{color.getName(), color.getImageUrl(), car.getId()});
+            }
+        }
+
+        List<Long> variantIds = insertReturningIds("car_variants_v2", VARIANT_COLUMNS, variantRows);
+        List<Object[]> keySpecRows = new ArrayList<>();
+        for (int i = 0; i < variants.size(); i++) {
+            CarVariant variant = variants.get(i);
+            variant.setId(variantIds.get(i));
+            for (String spec : variant.getKeySpecifications()) {
+                keySpecRows.add(new Object[]{variant.getId(), spec});
+            }
+        }
+        insert("variant_key_specifications_v2", KEY_SPEC_COLUMNS, keySpecRows);
+        insert("car_images_v2", IMAGE_COLUMNS, imageRows);
+        insert("car_colors_v2", COLOR_COLUMNS, colorRows);
+
+        if (specStore instanceof RowSpecStore) {
+            List<Object[]> detailRows = new ArrayList<>();
+            for (int i = 0; i < cars.size(); i++) {
+                for (SpecValue spec : specs.get(i)) {
+                    CarDetail detail = new CarDetail(spec.category(), null, spec.value(), null);
+                    RowSpecStore.parseNumber(detail);
+                    detailRows.add(new Object[]{detail.getCategory(), detail.getValue(),
+                            spec.specKeyId(), detail.getNumericValue(), detail.getUnit(), cars.get(i).getId()});
+                }
+            }
+            insert("car_details_v2", DETAIL_COLUMNS, detailRows);
+        } else {
+            // One JSONB document per car; nothing to gain from bulk writing
+            for (int i = 0; i < cars.size(); i++) {
+                specStore.write(cars.get(i), specs.get(i));
+            }
+        }
+        return carIds;
+    }
+
+    private List<Long> insertReturningIds(String table, String[] columns, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        if (!isPostgres()) {
+            return batchReturningIds(table, columns, rows);
+        }
+
+        // Pooled allocation: one round trip reserves the ids of the whole chunk
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)",
+                Long.class, table, rows.size());
+        List<Object[]> withIds = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = new Object[columns.length + 1];
+            row[0] = ids.get(i);
+            System.arraycopy(rows.get(i), 0, row, 1, columns.length);
+            withIds.add(row);
+        }
+        copy(table, prepend("id", columns), withIds);
+        return ids;
+    }
+
+    // One JDBC batch; the driver hands back the generated ids in row order
+    private List<Long> batchReturningIds(String table, String[] columns, List<Object[]> rows) {
+        String sql = insertSql(table, columns);
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(sql, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int index) throws SQLException {
+                        Object[] row = rows.get(index);
+                        for (int i = 0; i < row.length; i++) {
+                            statement.setObject(i + 1, row[i]);
+                        }
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keys);
+        List<Map<String, Object>> generated = keys.getKeyList();
+        if (generated.size() != rows.size()) {
+            throw new IllegalStateException("Insert into " + table + " returned " + generated.size()
+                    + " generated ids for " + rows.size() + " rows");
+        }
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Map<String, Object> key : generated) {
+            ids.add(((Number) key.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    private void insert(String table, String[] columns, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (isPostgres()) {
+            copy(table, columns, rows);
+        } else {
+            jdbcTemplate.batchUpdate(insertSql(table, columns), rows);
+        }
+    }
+
+    private void copy(String table, String[] columns, List<Object[]> rows) {
+        String csv = toCsv(rows);
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(sql, new StringReader(csv));
+            } catch (java.io.IOException e) {
+                throw new java.sql.SQLException("COPY into " + table + " failed", e);
+            }
+        });
+        log.debug("Copied {} rows into {}", copied, table);
+    }
+
+    static String toCsv(List<Object[]> rows) {
+        StringBuilder csv = new StringBuilder(rows.size() * 64);
+        for (Object[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) csv.append(',');
+                appendCsv(csv, row[i]);
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    // Unquoted empty is NULL in CSV COPY, quoted empty is ""
+    private static void appendCsv(StringBuilder csv, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Number) {
+            csv.append(value);
+            return;
+        }
+        csv.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+    }
+
+    private boolean isPostgres() {
+        Boolean cached = postgres;
+        if (cached == null) {
+            cached = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+            postgres = cached;
+        }
+        return Boolean.TRUE.equals(cached);
+    }
+
+    private static String insertSql(String table, String[] columns) {
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+    }
+
+    private static String[] prepend(String column, String[] columns) {
+        String[] all = new String[columns.length + 1];
+        all[0] = column;
+        System.arraycopy(columns, 0, all, 1, columns.length);
+        return all;
+    }
+}
@@ -0,0 +1,41 @@
+package com.arcarshowcaseserver.service.serviceImpl;
+
+import com.arcarshowcaseserver.model.Cars.Car;
+import com.arcarshowcaseserver.repository.CarRepository;
+import com.arcarshowcaseserver.service.CarChunkWriter;
+import com.arcarshowcaseserver.service.SpecStore;
+import com.arcarshowcaseserver.service.SpecValue;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@ConditionalOnProperty(name = "catalog.import.writer", havingValue = "jpa", matchIfMissing = true)
+public class JpaCarChunkWriter implements CarChunkWriter {
+
+    private final CarRepository carRepository;
+    private final SpecStore specStore;
+    private final EntityManager entityManager;
+
+    public JpaCarChunkWriter(CarRepository carRepository, SpecStore specStore, EntityManager entityManager) {
+        this.carRepository = carRepository;
+        this.specStore = specStore;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Long> write(List<Car> cars, List<List<SpecValue>> specs) {
+        List<Car> saved = carRepository.saveAll(cars);
+        for (int i = 0; i < saved.size(); i++) {
+            specStore.write(saved.get(i), specs.get(i));
+        }
+        List<Long> ids = saved.stream().map(Car::getId).toList();
+
+        // Nothing from this chunk stays managed once it is written
+        entityManager.flush();
+        entityManager.clear();
+        return ids;
+    }
+}
@@ -0,0 +1,79 @@
+package com.arcarshowcaseserver.service.serviceImpl;
+
+import com.arcarshowcaseserver.model.Cars.Car;
+import com.arcarshowcaseserver.model.Cars.CarDetail;
+import com.arcarshowcaseserver.repository.CarDetailRepository;
+import com.arcarshowcaseserver.service.NumericSpecParser;
+import com.arcarshowcaseserver.service.SpecKeyDictionary;
+import com.arcarshowcaseserver.service.SpecStore;
+import com.arcarshowcaseserver.service.SpecValue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@ConditionalOnProperty(name = "catalog.specs.storage", havingValue = "rows", matchIfMissing = true)
+public class RowSpecStore implements SpecStore {
+
+    private final CarDetailRepository carDetailRepository;
+    private final SpecKeyDictionary specKeyDictionary;
+
+    public RowSpecStore(CarDetailRepository carDetailRepository, SpecKeyDictionary specKeyDictionary) {
+        this.carDetailRepository = carDetailRepository;
+        this.specKeyDictionary = specKeyDictionary;
+    }
+
+    @Override
+    public void write(Car car, List<SpecValue> specs) {
+        List<CarDetail> details = new ArrayList<>(specs.size());
+        for (SpecValue spec : specs) {
+            CarDetail detail = new CarDetail(spec.category(), null, spec.value(), car);
+            detail.setSpecKeyId(spec.specKeyId());
+            parseNumber(detail);
+            details.add(detail);
+        }
+        carDetailRepository.saveAll(details);
+    }
+
+    @Override
+    public void deleteByCarIds(List<Long> carIds) {
+        carDetailRepository.deleteByCarIds(carIds);
+    }
+
+    @Override
+    public List<SpecValue> findByCarId(Long carId) {
+        return findByCarIds(List.of(carId)).getOrDefault(carId, List.of());
+    }
+
+    @Override
+    public Map<Long, List<SpecValue>> findByCarIds(List<Long> carIds) {
+        Map<Long, List<SpecValue>> specs = new LinkedHashMap<>();
+        if (carIds.isEmpty()) {
+            return specs;
+        }
+        for (CarDetail detail : carDetailRepository.findByCarIdInOrderById(carIds)) {
+            specs.computeIfAbsent(detail.getCar().getId(), k -> new ArrayList<>()).add(toValue(detail, specKeyDictionary));
+        }
+        return specs;
+    }
+
+    public static void parseNumber(CarDetail detail) {
+        NumericSpecParser.Measure measure = NumericSpecParser.parse(detail.getValue());
+        detail.setNumericValue(measure == null ? null : measure.value());
+        detail.setUnit(measure == null ? "" : measure.unit().getSymbol());
+    }
+
+    public static SpecValue toValue(CarDetail detail, SpecKeyDictionary specKeyDictionary) {
+        return new SpecValue(
+                detail.getId(),
+                detail.getCategory(),
+                detail.getSpecKeyId(),
+                specKeyDictionary.key(detail.getSpecKeyId(), detail.getKey()),
+                detail.getValue()
+        );
+    }
+}
@@ -0,0 +1,138 @@
+package com.arcarshowcaseserver.catalog;
+
+import com.arcarshowcaseserver.catalog.FacetIndex.Facet;
+import com.arcarshowcaseserver.dto.CarDTO;
+import com.arcarshowcaseserver.model.Cars.Car;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FacetIndexTest {
+
+    private final CatalogSnapshot snapshot = snapshot(List.of(
+            car(1L, "Toyota", "Fortuner", "SUV", "Diesel", 33.4, 51.4, 4.5),
+            car(2L, "Toyota", "Innova", "MUV", "Diesel", 19.1, 26.6, 4.6),
+            car(3L, "Hyundai", "Creta", "SUV", "Petrol", 11.0, 20.3, 4.2),
+            car(4L, "Honda", "City", "Sedan", "Petrol", 11.8, 16.3, 4.4),
+            car(5L, "hyundai ", "Verna", "Sedan", "Petrol", 11.0, 17.5, 4.1)
+    ));
+
+    private final FacetIndex facets = snapshot.getFacets();
+
+    @Test
+    void valuesAreCaseAndWhitespaceInsensitive() {
+        assertEquals(List.of("Honda", "Hyundai", "Toyota"), facets.values(Facet.BRAND));
+        assertEquals(bits(2, 4), facets.anyOf(Facet.BRAND, List.of("HYUNDAI")));
+    }
+
+    @Test
+    void valuesOfOneFacetAreOred() {
+        assertEquals(bits(0, 2, 3, 4), facets.anyOf(Facet.BODY_TYPE, List.of("suv", "sedan")));
+        assertEquals(bits(0, 2), facets.anyOf(Facet.BODY_TYPE, List.of("suv", "hatchback")));
+    }
+
+    @Test
+    void noValuesIsNoConstraint() {
+        assertNull(facets.anyOf(Facet.BRAND, List.of()));
+        assertNull(facets.anyOf(Facet.BRAND, null));
+        assertEquals(new BitSet(), facets.anyOf(Facet.BRAND, List.of("Tesla")));
+    }
+
+    @Test
+    void rangesIncludeTheirBounds() {
+        assertEquals(bits(0, 1, 3), facets.minPriceAtLeast(11.8));
+        assertEquals(bits(3, 4), facets.maxPriceAtMost(17.5));
+        assertEquals(bits(0, 1, 3), facets.ratingAtLeast(4.4));
+    }
+
+    @Test
+    void countsAreRestrictedToTheGivenCars() {
+        assertEquals(Map.of("Honda", 1, "Hyundai", 2, "Toyota", 2), facets.counts(Facet.BRAND, facets.all()));
+        assertEquals(Map.of("Honda", 0, "Hyundai", 1, "Toyota", 1),
+                facets.counts(Facet.BRAND, facets.anyOf(Facet.BODY_TYPE, List.of("SUV"))));
+    }
+
+    @Test
+    void ownSelectionDoesNotNarrowItsCounts() {
+        FacetResult result = snapshot.facetedSearch(new FacetQuery()
+                .select(Facet.BRAND, List.of("Toyota"))
+                .select(Facet.FUEL_TYPE, List.of("Diesel")));
+
+        assertEquals(List.of(2L, 1L), ids(result.cars()));
+        // Brand counts ignore the brand pick but respect the fuel pick, and vice versa
+        assertEquals(Map.of("Honda", 0, "Hyundai", 0, "Toyota", 2), result.counts().get(Facet.BRAND));
+        assertEquals(Map.of("Diesel", 2, "Petrol", 0), result.counts().get(Facet.FUEL_TYPE));
+        assertEquals(Map.of("MUV", 1, "SUV", 1, "Sedan", 0), result.counts().get(Facet.BODY_TYPE));
+    }
+
+    @Test
+    void selectingASecondValueWidensTheResult() {
+        FacetResult result = snapshot.facetedSearch(new FacetQuery()
+                .select(Facet.BRAND, List.of("Toyota", "Honda"))
+                .select(Facet.BODY_TYPE, List.of("Sedan")));
+
+        assertEquals(List.of(4L), ids(result.cars()));
+        assertEquals(Map.of("Honda", 1, "Hyundai", 1, "Toyota", 0), result.counts().get(Facet.BRAND));
+        assertEquals(Map.of("MUV", 1, "SUV", 1, "Sedan", 1), result.counts().get(Facet.BODY_TYPE));
+    }
+
+    @Test
+    void keywordAndRangesNarrowEveryCount() {
+        FacetResult result = snapshot.facetedSearch(new FacetQuery()
+                .keyword("petrol")
+                .maxPrice(18.0)
+                .select(Facet.BRAND, List.of("Hyundai")));
+
+        assertEquals(List.of(5L), ids(result.cars()));
+        assertEquals(Map.of("Honda", 1, "Hyundai", 1, "Toyota", 0), result.counts().get(Facet.BRAND));
+        assertEquals(Map.of("Diesel", 0, "Petrol", 1), result.counts().get(Facet.FUEL_TYPE));
+    }
+
+    @Test
+    void emptyQueryMatchesEverythingByRating() {
+        FacetResult result = snapshot.facetedSearch(new FacetQuery());
+
+        assertEquals(List.of(2L, 1L, 4L, 3L, 5L), ids(result.cars()));
+        assertEquals(Map.of("Diesel", 2, "Petrol", 3), result.counts().get(Facet.FUEL_TYPE));
+    }
+
+    private static CatalogSnapshot snapshot(List<Car> cars) {
+        Map<Long, CarIndexData> carData = new HashMap<>();
+        for (Car car : cars) {
+            SearchDocument document = SearchDocument.of(car, List.of(), List.of(), List.of());
+            carData.put(car.getId(), new CarIndexData(document, List.of(), Map.of()));
+        }
+        return CatalogSnapshot.of(1L, cars, carData, Map.of());
+    }
+
+    private static BitSet bits(int... ordinals) {
+        BitSet bits = new BitSet();
+        for (int ordinal : ordinals) bits.set(ordinal);
+        return bits;
+    }
+
+    private static List<Long> ids(List<CarDTO> cars) {
+        return cars.stream().map(CarDTO::getId).toList();
+    }
+
+    private static Car car(Long id, String brand, String model, String bodyType, String fuelType,
+                           double minPrice, double maxPrice, double rating) {
+        Car car = new Car();
+        car.setId(id);
+        car.setBrand(brand);
+        car.setModel(model);
+        car.setBodyType(bodyType);
+        car.setFuelType(fuelType);
+        car.setTransmissionType("Manual");
+        car.setMinPriceLakhs(minPrice);
+        car.setMaxPriceLakhs(maxPrice);
+        car.setRating(rating);
+        return car;
+    }
+}
@@ -0,0 +1,78 @@
+package com.arcarshowcaseserver.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FuzzyIndexTest {
+
+    private final FuzzyIndex index = FuzzyIndex.build(List.of(
+            List.of("Toyota", "Fortuner", "2.8 4x4 AT"),
+            List.of("Toyota", "Innova", "Crysta GX"),
+            List.of("Hyundai", "Creta", "SX(O)")
+    ), new double[]{4.5, 4.6, 4.2});
+
+    @Test
+    void boundedLevenshteinIsExactWithinTheBound() {
+        assertEquals(0, FuzzyIndex.boundedLevenshtein("creta", "creta", 0));
+        assertEquals(1, FuzzyIndex.boundedLevenshtein("creta", "cretta", 2));
+        assertEquals(3, FuzzyIndex.boundedLevenshtein("kitten", "sitting", 3));
+        assertEquals(2, FuzzyIndex.boundedLevenshtein("", "ab", 2));
+    }
+
+    @Test
+    void boundedLevenshteinStopsPastTheBound() {
+        assertEquals(3, FuzzyIndex.boundedLevenshtein("kitten", "sitting", 2));
+        assertEquals(2, FuzzyIndex.boundedLevenshtein("abcdef", "uvwxyz", 1));
+    }
+
+    @Test
+    void typoFindsTheName() {
+        assertArrayEquals(new int[]{0}, index.search("fortunr"));
+        assertArrayEquals(new int[]{2}, index.search("hyundia"));
+        // Exact name first, then the name two edits away
+        assertArrayEquals(new int[]{1, 2}, index.search("crysta"));
+    }
+
+    @Test
+    void sharedNameRanksByRating() {
+        assertArrayEquals(new int[]{1, 0}, index.search("toyta"));
+    }
+
+    @Test
+    void everyQueryTermAddsItsBestSimilarity() {
+        assertArrayEquals(new int[]{0, 1}, index.search("toyta fortunr"));
+    }
+
+    @Test
+    void candidatesNeedFewEditsAndASharedTrigram() {
+        // Five letters allow two edits; "fortuner" is three away
+        assertArrayEquals(new int[0], index.search("frtnr"));
+        // Two edits from "creta", but not one trigram in common with it
+        assertArrayEquals(new int[0], index.search("kreda"));
+    }
+
+    @Test
+    void queryIsCaseInsensitive() {
+        assertArrayEquals(index.search("fortuner"), index.search("FORTUNER"));
+    }
+
+    @Test
+    void unknownOrEmptyQueryMatchesNothing() {
+        assertArrayEquals(new int[0], index.search("lamborghini"));
+        assertArrayEquals(new int[0], index.search(""));
+        assertArrayEquals(new int[0], index.search(null));
+        // Shorter than three characters is never a fuzzy term
+        assertArrayEquals(new int[0], index.search("gx"));
+    }
+
+    @Test
+    void termsJoinSeparatedWords() {
+        assertEquals(List.of("scorpion", "scorpio"), FuzzyIndex.terms("Scorpio-N"));
+        assertEquals(List.of("crystagx", "crysta"), FuzzyIndex.terms("Crysta GX"));
+        assertEquals(List.of(), FuzzyIndex.terms("GX"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.arcarshowcaseserver.catalog;
+
+import com.arcarshowcaseserver.model.Cars.Car;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchIndexTest {
+
+    private static final double[] RATINGS = {4.5, 4.6, 4.2, 4.4};
+
+    private final SearchIndex index = SearchIndex.build(List.of(
+            document("Toyota", "Fortuner", "SUV", "Diesel", "Automatic"),
+            document("Toyota", "Innova", "MUV", "Diesel", "Manual"),
+            document("Hyundai", "Creta", "SUV", "Petrol", "Manual"),
+            document("Honda", "City", "Sedan", "Hybrid", "Automatic")
+    ), SearchDocument::getBasic, RATINGS);
+
+    @Test
+    void termsInAGroupAreAnded() {
+        assertArrayEquals(new int[]{0}, index.search("toyota suv"));
+        assertArrayEquals(new int[]{2}, index.search("suv petrol"));
+        assertArrayEquals(new int[0], index.search("toyota sedan"));
+    }
+
+    @Test
+    void rarerTermScoresHigher() {
+        // "creta" is in one document, "toyota" in two: idf puts the Creta first
+        assertArrayEquals(new int[]{2, 1, 0}, index.search("toyota OR creta"));
+    }
+
+    @Test
+    void equalScoresFallBackToRating() {
+        assertArrayEquals(new int[]{1, 0}, index.search("diesel"));
+        assertArrayEquals(new int[]{0, 2}, index.search("suv"));
+    }
+
+    @Test
+    void orGroupsAreUnionedAndKeepTheirBestScore() {
+        assertArrayEquals(new int[]{0, 3}, index.search("suv diesel OR hybrid"));
+        assertArrayEquals(new int[]{0, 3}, index.search("suv diesel | hybrid"));
+        assertArrayEquals(new int[]{3}, index.search("OR hybrid OR"));
+    }
+
+    @Test
+    void higherTermFrequencyRanksFirst() {
+        SearchIndex specs = SearchIndex.build(List.of(
+                document("Kia", "Seltos", List.of("turbo")),
+                document("Kia", "Sonet", List.of("turbo turbo"))
+        ), SearchDocument::getFull, new double[]{5.0, 1.0});
+
+        assertArrayEquals(new int[]{1, 0}, specs.search("turbo"));
+    }
+
+    @Test
+    void queryIsCaseInsensitive() {
+        assertArrayEquals(index.search("toyota"), index.search("TOYOTA"));
+        assertArrayEquals(new int[]{0}, index.search("Fortuner"));
+    }
+
+    @Test
+    void unknownTermMatchesNothing() {
+        assertArrayEquals(new int[0], index.search("tesla"));
+        assertArrayEquals(new int[0], index.search("toyota tesla"));
+    }
+
+    @Test
+    void emptyQueryMatchesNothing() {
+        assertArrayEquals(new int[0], index.search(null));
+        assertArrayEquals(new int[0], index.search(""));
+        assertArrayEquals(new int[0], index.search("   "));
+        assertArrayEquals(new int[0], index.search("OR"));
+    }
+
+    @Test
+    void unknownTermFallsBackToItsCompletions() {
+        assertArrayEquals(new int[]{0}, index.search("fortu"));
+        assertArrayEquals(new int[]{3, 2}, index.search("h"));
+    }
+
+    @Test
+    void prefixExpansionIsCappedAtSixtyFourTerms() {
+        List<SearchDocument> documents = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            documents.add(document(null, String.format("a%02d", i), List.of()));
+        }
+        SearchIndex models = SearchIndex.build(documents, SearchDocument::getBasic, new double[70]);
+
+        int[] hits = models.search("a");
+        assertEquals(64, hits.length);
+        for (int ordinal : hits) {
+            assertTrue(ordinal < 64, "a" + ordinal + " is past the cap");
+        }
+        // A longer prefix reaches the completions the cap cut off
+        assertEquals(10, models.search("a6").length);
+        assertArrayEquals(new int[]{69}, models.search("a69"));
+    }
+
+    @Test
+    void documentWithoutTextIsNeverMatched() {
+        List<SearchDocument> documents = new ArrayList<>();
+        documents.add(null);
+        documents.add(document("Tata", "Nexon", List.of()));
+        SearchIndex sparse = SearchIndex.build(documents, SearchDocument::getBasic, new double[2]);
+
+        assertArrayEquals(new int[]{1}, sparse.search("tata"));
+    }
+
+    private static SearchDocument document(String brand, String model, String bodyType,
+                                           String fuelType, String transmissionType) {
+        Car car = car(brand, model);
+        car.setBodyType(bodyType);
+        car.setFuelType(fuelType);
+        car.setTransmissionType(transmissionType);
+        return SearchDocument.of(car, List.of(), List.of(), List.of());
+    }
+
+    private static SearchDocument document(String brand, String model, List<String> specTexts) {
+        return SearchDocument.of(car(brand, model), List.of(), List.of(), specTexts);
+    }
+
+    private static Car car(String brand, String model) {
+        Car car = new Car();
+        car.setBrand(brand);
+        car.setModel(model);
+        return car;
+    }
+}
@@ -0,0 +1,122 @@
+package com.arcarshowcaseserver.catalog;
+
+import com.arcarshowcaseserver.catalog.SpecPredicate.Operator;
+import com.arcarshowcaseserver.model.Cars.Car;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpecFactIndexTest {
+
+    private final List<CatalogEntry> entries = new ArrayList<>();
+    private final Map<Long, CarIndexData> carData = new HashMap<>();
+
+    private SpecFactIndex catalog() {
+        add(1L, Map.of("boot_space", 296.0, "no_of_airbags", 7.0, "sunroof", 1.0));
+        add(2L, Map.of("boot_space", 433.0, "no_of_airbags", 6.0, "sunroof", 0.0));
+        add(3L, Map.of("boot_space", 506.0, "no_of_airbags", 2.0));
+        add(4L, Map.of());
+        return SpecFactIndex.build(entries, carData);
+    }
+
+    @Test
+    void parsesComparisonsSeparatedByAmpersandCommaOrSemicolon() {
+        assertEquals(List.of(
+                new SpecPredicate("boot_space", Operator.GT, 400),
+                new SpecPredicate("no_of_airbags", Operator.GE, 6),
+                new SpecPredicate("sunroof", Operator.EQ, 1),
+                new SpecPredicate("mileage", Operator.NE, -1.5)
+        ), SpecPredicate.parse("Boot Space > 400 & No. of Airbags>=6, sunroof==1; mileage != -1.5"));
+    }
+
+    @Test
+    void blankQueryHasNoPredicates() {
+        assertEquals(List.of(), SpecPredicate.parse(null));
+        assertEquals(List.of(), SpecPredicate.parse(" , & "));
+    }
+
+    @Test
+    void malformedComparisonIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SpecPredicate.parse("boot_space"));
+        assertThrows(IllegalArgumentException.class, () -> SpecPredicate.parse("boot_space > large"));
+        assertThrows(IllegalArgumentException.class, () -> SpecPredicate.parse(">400"));
+    }
+
+    @Test
+    void columnIsSnakeCaseOfTheLabel() {
+        assertEquals("no_of_airbags", SpecFactIndex.column("No. of Airbags"));
+        assertEquals("boot_space", SpecFactIndex.column("  BOOT-SPACE "));
+        assertEquals("", SpecFactIndex.column(null));
+    }
+
+    @Test
+    void valueReadsUnitsLeadingNumbersAndYesNo() {
+        assertEquals(1497.0, SpecFactIndex.value("1497 cc"));
+        assertEquals(1400.0, SpecFactIndex.value("1,400 mm"));
+        assertEquals(6.0, SpecFactIndex.value("6"));
+        assertEquals(1.0, SpecFactIndex.value("Yes"));
+        assertEquals(0.0, SpecFactIndex.value(" no "));
+        assertNull(SpecFactIndex.value("Electric"));
+        assertNull(SpecFactIndex.value(""));
+        assertNull(SpecFactIndex.value(null));
+    }
+
+    @Test
+    void everyPredicateMustHold() {
+        SpecFactIndex index = catalog();
+
+        assertEquals(bits(1, 2), index.matching(SpecPredicate.parse("boot_space > 400")));
+        assertEquals(bits(1), index.matching(SpecPredicate.parse("boot_space > 400 & no_of_airbags >= 6")));
+        assertEquals(bits(0, 1), index.matching(SpecPredicate.parse("boot_space <= 433")));
+        assertEquals(bits(2), index.matching(SpecPredicate.parse("no_of_airbags = 2")));
+    }
+
+    @Test
+    void carWithoutTheFactNeverMatches() {
+        SpecFactIndex index = catalog();
+
+        // Car 3 has no sunroof fact and car 4 has no facts at all: 0 != 1 must not match them
+        assertEquals(bits(1), index.matching(SpecPredicate.parse("sunroof != 1")));
+        assertEquals(bits(0, 1, 2), index.matching(SpecPredicate.parse("boot_space > 0")));
+    }
+
+    @Test
+    void unknownColumnMatchesNothing() {
+        SpecFactIndex index = catalog();
+
+        assertFalse(index.hasColumn("ground_clearance"));
+        assertEquals(new BitSet(), index.matching(SpecPredicate.parse("ground_clearance > 150")));
+    }
+
+    @Test
+    void noPredicatesMatchEveryCar() {
+        SpecFactIndex index = catalog();
+
+        assertEquals(bits(0, 1, 2, 3), index.matching(List.of()));
+        assertEquals(List.of("boot_space", "no_of_airbags", "sunroof"), index.columns());
+        assertTrue(index.hasColumn("sunroof"));
+    }
+
+    private void add(Long id, Map<String, Double> facts) {
+        Car car = new Car();
+        car.setId(id);
+        entries.add(CatalogEntry.of(entries.size(), car));
+        carData.put(id, new CarIndexData(null, List.of(), facts));
+    }
+
+    private static BitSet bits(int... ordinals) {
+        BitSet bits = new BitSet();
+        for (int ordinal : ordinals) bits.set(ordinal);
+        return bits;
+    }
+}
@@ -0,0 +1,109 @@
+package com.arcarshowcaseserver.catalog;
+
+import com.arcarshowcaseserver.dto.CarVariantDTO;
+import com.arcarshowcaseserver.dto.SuggestionDTO;
+import com.arcarshowcaseserver.model.Cars.Car;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SuggestIndexTest {
+
+    private final List<CatalogEntry> entries = new ArrayList<>();
+    private final Map<Long, CarIndexData> carData = new HashMap<>();
+
+    private SuggestIndex catalog() {
+        add(1L, "Toyota", "Fortuner", 4.5, "4x4 AT");
+        add(2L, "Toyota", "Innova", 4.6, "Crysta GX");
+        add(3L, "Tata", "Nexon", 4.0);
+        add(4L, "Honda", "City", 4.4, "V CVT");
+        add(5L, "Mahindra", "Scorpio-N", 4.3);
+        // ln(1 + 100) lifts the Nexon and its brand above every Toyota
+        return SuggestIndex.build(entries, carData, Map.of(3L, 100L));
+    }
+
+    @Test
+    void completionsAreOrderedByWeight() {
+        assertEquals(List.of("Tata", "Tata Nexon", "Toyota", "Toyota Innova", "Toyota Fortuner"),
+                texts(catalog().suggest("t", 10)));
+    }
+
+    @Test
+    void brandOutranksItsOwnModels() {
+        List<SuggestionDTO> suggestions = catalog().suggest("to", 10);
+
+        assertEquals(List.of("Toyota", "Toyota Innova", "Toyota Fortuner"), texts(suggestions));
+        assertEquals(new SuggestionDTO("Toyota", "BRAND", null), suggestions.get(0));
+        assertEquals(new SuggestionDTO("Toyota Innova", "MODEL", 2L), suggestions.get(1));
+    }
+
+    @Test
+    void modelsAndVariantsMatchWithoutTheirBrand() {
+        List<SuggestionDTO> suggestions = catalog().suggest("innova", 10);
+
+        assertEquals(List.of(
+                new SuggestionDTO("Toyota Innova", "MODEL", 2L),
+                new SuggestionDTO("Innova Crysta GX", "VARIANT", 2L)
+        ), suggestions);
+        assertEquals(List.of("Innova Crysta GX"), texts(catalog().suggest("crysta", 10)));
+    }
+
+    @Test
+    void prefixIsCaseAndSeparatorInsensitive() {
+        SuggestIndex index = catalog();
+
+        assertEquals(List.of("Mahindra Scorpio-N"), texts(index.suggest("scorpio n", 10)));
+        assertEquals(List.of("Mahindra Scorpio-N"), texts(index.suggest("SCORPIO-N", 10)));
+        assertEquals(List.of("Mahindra Scorpio-N"), texts(index.suggest("  Scorpio   N", 10)));
+    }
+
+    @Test
+    void limitIsCappedAtTopK() {
+        for (long id = 1; id <= 15; id++) {
+            add(id, "Maruti", String.format("M%02d", id), 4.0);
+        }
+        SuggestIndex index = SuggestIndex.build(entries, carData, Map.of());
+
+        assertEquals(3, index.suggest("m", 3).size());
+        assertEquals(SuggestIndex.TOP_K, index.suggest("m", 50).size());
+        // Equal weights: shorter text first, then alphabetical
+        assertEquals(List.of("Maruti", "Maruti M01", "Maruti M02"), texts(index.suggest("m", 3)));
+    }
+
+    @Test
+    void unknownOrEmptyPrefixSuggestsNothing() {
+        SuggestIndex index = catalog();
+
+        assertEquals(List.of(), index.suggest("tesla", 10));
+        assertEquals(List.of(), index.suggest("", 10));
+        assertEquals(List.of(), index.suggest("   ", 10));
+        assertEquals(List.of(), index.suggest(null, 10));
+        assertEquals(List.of(), index.suggest("t", 0));
+        assertEquals(List.of(), SuggestIndex.build(List.of(), Map.of(), Map.of()).suggest("t", 10));
+    }
+
+    private void add(Long id, String brand, String model, double rating, String... variants) {
+        Car car = new Car();
+        car.setId(id);
+        car.setBrand(brand);
+        car.setModel(model);
+        car.setRating(rating);
+        entries.add(CatalogEntry.of(entries.size(), car));
+
+        List<VariantEntry> variantEntries = new ArrayList<>();
+        for (String name : variants) {
+            CarVariantDTO dto = new CarVariantDTO(null, name, null, null, null, null, null, null, List.of());
+            variantEntries.add(new VariantEntry(null, id, null, null, null, null, dto));
+        }
+        carData.put(id, new CarIndexData(null, variantEntries, Map.of()));
+    }
+
+    private static List<String> texts(List<SuggestionDTO> suggestions) {
+        return suggestions.stream().map(SuggestionDTO::getText).toList();
+    }
+}
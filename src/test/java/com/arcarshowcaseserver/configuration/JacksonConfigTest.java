@@ -0,0 +1,49 @@
+package com.arcarshowcaseserver.configuration;
+
+import com.arcarshowcaseserver.dto.CarFullView;
+import com.arcarshowcaseserver.service.CarFields;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JacksonConfigTest {
+
+    private final ObjectMapper objectMapper = objectMapper();
+
+    private static ObjectMapper objectMapper() {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new JacksonConfig().carFieldsFilter().customize(builder);
+        return builder.build();
+    }
+
+    private static CarFullView view(CarFields fields) {
+        CarFullView view = new CarFullView();
+        view.setId(7L);
+        view.setBrand("Tata");
+        view.setSelection(fields.names());
+        return view;
+    }
+
+    @Test
+    void fullKeepsNullProperties() {
+        JsonNode json = objectMapper.valueToTree(view(CarFields.FULL));
+        assertEquals("Tata", json.get("brand").asText());
+        assertTrue(json.has("rating") && json.get("rating").isNull());
+        assertTrue(json.has("details") && json.get("details").isNull());
+        assertFalse(json.has("image"));
+        assertFalse(json.has("selection"));
+    }
+
+    @Test
+    void partialSelectionWritesOnlyItsProperties() {
+        JsonNode json = objectMapper.valueToTree(view(CarFields.parse("card")));
+        assertEquals(5, json.size());
+        assertTrue(json.has("modelUrl") && json.get("modelUrl").isNull());
+        assertFalse(json.has("rating"));
+    }
+}
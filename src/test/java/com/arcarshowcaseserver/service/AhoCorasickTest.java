@@ -0,0 +1,78 @@
+package com.arcarshowcaseserver.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AhoCorasickTest {
+
+    private static int[] counts(AhoCorasick automaton, List<String> patterns, String text) {
+        int[] counts = new int[patterns.size()];
+        automaton.forEachMatch(text, pattern -> counts[pattern]++);
+        return counts;
+    }
+
+    // Occurrences per pattern; a repeated pattern is reported under its first index only
+    private static int[] bruteForce(List<String> patterns, String text) {
+        int[] counts = new int[patterns.size()];
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = patterns.get(p);
+            if (pattern.isEmpty() || patterns.indexOf(pattern) != p) continue;
+            for (int i = text.indexOf(pattern); i >= 0; i = text.indexOf(pattern, i + 1)) {
+                counts[p]++;
+            }
+        }
+        return counts;
+    }
+
+    private static String random(Random random, String alphabet, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder out = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            out.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return out.toString();
+    }
+
+    @Test
+    void matchesBruteForceOnRandomInput() {
+        Random random = new Random(20260101L);
+        for (int round = 0; round < 500; round++) {
+            // A small alphabet, so patterns overlap and nest and fail links get exercised
+            String alphabet = round % 2 == 0 ? "ab" : "abcd";
+            List<String> patterns = new ArrayList<>();
+            int patternCount = 1 + random.nextInt(12);
+            for (int i = 0; i < patternCount; i++) {
+                patterns.add(random(random, alphabet, 6));
+            }
+            AhoCorasick automaton = new AhoCorasick(patterns);
+            for (int t = 0; t < 10; t++) {
+                String text = random(random, alphabet, 60);
+                assertArrayEquals(bruteForce(patterns, text), counts(automaton, patterns, text),
+                        () -> "patterns " + patterns + " in " + text);
+            }
+        }
+    }
+
+    @Test
+    void reportsNestedAndOverlappingPatterns() {
+        List<String> patterns = List.of("he", "she", "his", "hers");
+        assertArrayEquals(new int[]{1, 1, 0, 1}, counts(new AhoCorasick(patterns), patterns, "ushers"));
+        List<String> runs = List.of("a", "aa", "aaa");
+        assertArrayEquals(new int[]{4, 3, 2}, counts(new AhoCorasick(runs), runs, "aaaa"));
+    }
+
+    @Test
+    void emptyAndRepeatedPatterns() {
+        List<String> patterns = List.of("", "scorpio", "scorpio");
+        AhoCorasick automaton = new AhoCorasick(patterns);
+        assertArrayEquals(new int[]{0, 1, 0}, counts(automaton, patterns, "scorpion"));
+        assertEquals(0, automaton.patternLength(0));
+        assertEquals(7, automaton.patternLength(2));
+    }
+}
@@ -0,0 +1,316 @@
+package com.arcarshowcaseserver.service;
+
+import com.arcarshowcaseserver.catalog.CatalogVersion;
+import com.arcarshowcaseserver.configuration.ImportProperties;
+import com.arcarshowcaseserver.model.Cars.Car;
+import com.arcarshowcaseserver.model.Cars.CarVariant;
+import com.arcarshowcaseserver.repository.CarDetailRepository;
+import com.arcarshowcaseserver.repository.CarRepository;
+import com.arcarshowcaseserver.repository.CarVariantRepository;
+import com.arcarshowcaseserver.repository.LikeRepository;
+import com.arcarshowcaseserver.repository.RecommendationHistoryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CarImportServiceDeltaTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // The cars_v2 table: id -> car
+    private final Map<Long, Car> stored = new TreeMap<>();
+    private final List<String> insertOrder = new ArrayList<>();
+    private long nextId = 1;
+
+    private CarRepository carRepository;
+    private LikeRepository likeRepository;
+    private RecommendationHistoryRepository recommendationHistoryRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private CarChunkWriter carChunkWriter;
+    private CatalogVersion catalogVersion;
+    private ModelFileMatcher modelFileMatcher;
+    private PlatformTransactionManager transactionManager;
+    private CarImportService service;
+
+    @BeforeEach
+    void setUp() {
+        carRepository = mock(CarRepository.class);
+        likeRepository = mock(LikeRepository.class);
+        recommendationHistoryRepository = mock(RecommendationHistoryRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        carChunkWriter = mock(CarChunkWriter.class);
+        catalogVersion = mock(CatalogVersion.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        modelFileMatcher = mock(ModelFileMatcher.class);
+
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(modelFileMatcher.resolve(anyString(), anyString())).thenReturn("car.glb");
+        when(carRepository.findHashesBySlugs(any())).thenAnswer(call -> {
+            Collection<String> slugs = call.getArgument(0);
+            List<Object[]> rows = new ArrayList<>();
+            for (Car car : stored.values()) {
+                if (slugs.contains(car.getSlug())) {
+                    rows.add(new Object[]{car.getId(), car.getSlug(), car.getContentHash()});
+                }
+            }
+            return rows;
+        });
+        when(carRepository.findAllById(any())).thenAnswer(call -> {
+            List<Car> cars = new ArrayList<>();
+            for (Long id : call.<Iterable<Long>>getArgument(0)) {
+                if (stored.containsKey(id)) cars.add(stored.get(id));
+            }
+            return cars;
+        });
+        when(carRepository.findAllIds()).thenAnswer(call -> new ArrayList<>(stored.keySet()));
+        doAnswer(call -> {
+            call.<Iterable<Long>>getArgument(0).forEach(stored::remove);
+            return null;
+        }).when(carRepository).deleteAllById(any());
+        when(carChunkWriter.write(anyList(), anyList())).thenAnswer(call -> {
+            List<Long> ids = new ArrayList<>();
+            for (Car car : call.<List<Car>>getArgument(0)) {
+                car.setId(nextId++);
+                stored.put(car.getId(), car);
+                insertOrder.add(car.getSlug());
+                ids.add(car.getId());
+            }
+            return ids;
+        });
+
+        ImportProperties importProperties = new ImportProperties();
+        importProperties.setChunkSize(2);
+        importProperties.setMapThreads(3);
+        service = new CarImportService(carRepository, mock(CarVariantRepository.class),
+                mock(CarDetailRepository.class), objectMapper, modelFileMatcher, eventPublisher,
+                mock(SpecKeyDictionary.class), importProperties, carChunkWriter, mock(SpecStore.class),
+                likeRepository, recommendationHistoryRepository, catalogVersion, mock(EntityManager.class),
+                transactionManager);
+    }
+
+    private static String car(String brand, String model, double rating) {
+        return "{\"brand\":\"" + brand + "\",\"model\":\"" + model + "\",\"rating\":" + rating
+                + ",\"variants\":[{\"variant\":\"Base\",\"price\":\"Rs.6.49 Lakh\"}]}";
+    }
+
+    private static String file(String... cars) {
+        return "[" + String.join(",", cars) + "]\n";
+    }
+
+    private ImportProgress delta(String... cars) throws IOException {
+        return deltaOf(file(cars), new ImportProgress());
+    }
+
+    private ImportProgress deltaOf(String json, ImportProgress progress) throws IOException {
+        service.importDelta(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), progress);
+        return progress;
+    }
+
+    private Car bySlug(String slug) {
+        return stored.values().stream().filter(car -> slug.equals(car.getSlug())).findFirst().orElseThrow();
+    }
+
+    @Test
+    void newCarsAreInsertedWithIdsInFileOrder() throws IOException {
+        List<String> cars = new ArrayList<>();
+        List<String> slugs = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            cars.add(car("Brand", "Model " + i, 4.0));
+            slugs.add(Slugs.car("Brand", "Model " + i));
+        }
+
+        ImportProgress progress = delta(cars.toArray(String[]::new));
+
+        assertEquals(slugs, insertOrder);
+        // Inserted chunk by chunk as the file streams, not held until its end
+        verify(carChunkWriter, times(13)).write(anyList(), anyList());
+        assertEquals(25, progress.getInserted());
+        assertEquals(25, progress.getProcessed());
+        assertEquals(List.of(1L, 25L), List.of(bySlug(slugs.get(0)).getId(), bySlug(slugs.get(24)).getId()));
+    }
+
+    @Test
+    void updatesChangedCarsInPlaceAndLeavesUnchangedOnes() throws IOException {
+        delta(car("Tata", "Nexon", 4.0), car("Tata", "Punch", 4.2));
+        long nexonId = bySlug(Slugs.car("Tata", "Nexon")).getId();
+        long punchId = bySlug(Slugs.car("Tata", "Punch")).getId();
+
+        ImportProgress progress = delta(car("Tata", "Nexon", 4.5), car("Tata", "Punch", 4.2));
+
+        assertEquals(0, progress.getInserted());
+        assertEquals(1, progress.getUpdated());
+        assertEquals(1, progress.getUnchanged());
+        Car nexon = bySlug(Slugs.car("Tata", "Nexon"));
+        assertEquals(nexonId, nexon.getId());
+        assertEquals(4.5, nexon.getRating());
+        assertEquals(punchId, bySlug(Slugs.car("Tata", "Punch")).getId());
+    }
+
+    @Test
+    void unchangedFileWritesNothing() throws IOException {
+        String[] cars = {car("Tata", "Nexon", 4.0), car("Tata", "Punch", 4.2), car("Kia", "Seltos", 4.4)};
+        delta(cars);
+        int inserted = insertOrder.size();
+        clearInvocations(eventPublisher);
+
+        ImportProgress progress = delta(cars);
+
+        assertEquals(3, progress.getUnchanged());
+        assertEquals(0, progress.getInserted() + progress.getUpdated() + progress.getDeleted());
+        assertEquals(inserted, insertOrder.size());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void carsMissingFromTheFileAreDeletedWithTheirHistory() throws IOException {
+        delta(car("Tata", "Nexon", 4.0), car("Tata", "Punch", 4.2));
+        long punchId = bySlug(Slugs.car("Tata", "Punch")).getId();
+
+        ImportProgress progress = delta(car("Tata", "Nexon", 4.0));
+
+        assertEquals(1, progress.getDeleted());
+        assertEquals(1, stored.size());
+        verify(likeRepository).deleteByCarIds(List.of(punchId));
+        verify(recommendationHistoryRepository).deleteByCarIds(List.of(punchId));
+    }
+
+    @Test
+    void duplicateSlugKeepsTheFirstInTheFile() throws IOException {
+        List<String> cars = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            cars.add(car("Brand", "Model " + i, 4.0));
+        }
+        cars.add(car("Tata", "Nexon", 4.1));
+        for (int i = 10; i < 20; i++) {
+            cars.add(car("Brand", "Model " + i, 4.0));
+        }
+        cars.add(car("Tata", "Nexon", 3.0));
+
+        // Several runs, since the map threads finish in a different order each time
+        for (int run = 0; run < 10; run++) {
+            stored.clear();
+            ImportProgress progress = delta(cars.toArray(String[]::new));
+            assertEquals(21, stored.size());
+            assertEquals(4.1, bySlug(Slugs.car("Tata", "Nexon")).getRating());
+            assertEquals(1, progress.getSkipped());
+            assertEquals(22, progress.getProcessed());
+        }
+    }
+
+    @Test
+    void variantNumbersAreReadFromEveryMeasureOfAText() throws IOException {
+        delta("{\"brand\":\"Honda\",\"model\":\"City\",\"variants\":[{\"variant\":\"V\","
+                + "\"engine_cc\":\"118 bhp @ 6600 rpm, 1497 cc\",\"mileage\":\"17.4 kmpl\","
+                + "\"key_specifications\":[\"1497 cc, 118 bhp, 145 Nm\",\"Max Power: 121 bhp @ 6600 rpm\"]}]}");
+
+        CarVariant variant = bySlug(Slugs.car("Honda", "City")).getVariants().get(0);
+        assertEquals(1497, variant.getDisplacementCc());
+        assertEquals(17.4, variant.getMileageKmpl());
+        assertEquals(145.0, variant.getTorqueNm());
+        // Power only from a spec labelled as the car's power output
+        assertEquals(121.0, variant.getPowerBhp());
+        assertNull(variant.getBatteryKwh());
+    }
+
+    @Test
+    void contentHashIgnoresKeyOrderAndWhitespace() throws IOException {
+        String a = "{\"brand\":\"Tata\",\"model\":\"Nexon\",\"specs\":{\"Engine\":{\"Power\":\"118 bhp\",\"Torque\":\"170 Nm\"}}}";
+        String b = "{ \"specs\": { \"Engine\": { \"Torque\": \"170 Nm\", \"Power\": \"118 bhp\" } },\n"
+                + "  \"model\": \"Nexon\", \"brand\": \"Tata\" }";
+        assertEquals(CarImportService.contentHash(objectMapper.readTree(a), "/m.glb"),
+                CarImportService.contentHash(objectMapper.readTree(b), "/m.glb"));
+        assertEquals(CarImportService.contentHash(objectMapper.readTree("{\"rating\":4.50}"), null),
+                CarImportService.contentHash(objectMapper.readTree("{\"rating\":4.5}"), null));
+    }
+
+    @Test
+    void contentHashChangesWithValuesAndModelFile() throws IOException {
+        String hash = CarImportService.contentHash(objectMapper.readTree(car("Tata", "Nexon", 4.0)), "/a.glb");
+        assertNotEquals(hash, CarImportService.contentHash(objectMapper.readTree(car("Tata", "Nexon", 4.1)), "/a.glb"));
+        assertNotEquals(hash, CarImportService.contentHash(objectMapper.readTree(car("Tata", "Nexon", 4.0)), "/b.glb"));
+        assertNotEquals(CarImportService.contentHash(objectMapper.readTree("[\"ab\",\"c\"]"), null),
+                CarImportService.contentHash(objectMapper.readTree("[\"a\",\"bc\"]"), null));
+    }
+
+    @Test
+    void runCommitsOnceWithItsVersionAndDatasetHash() throws IOException, NoSuchAlgorithmException {
+        String json = file(car("Tata", "Nexon", 4.0), car("Tata", "Punch", 4.2), car("Kia", "Seltos", 4.4));
+
+        deltaOf(json, new ImportProgress());
+
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager).commit(any());
+        verify(catalogVersion, times(1)).bump();
+        String sha256 = HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8)));
+        verify(catalogVersion).recordDataset(sha256);
+        verify(eventPublisher).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void failedWriteRollsBackAndPublishesNothing() {
+        when(carChunkWriter.write(anyList(), anyList())).thenThrow(new IllegalStateException("disk full"));
+
+        assertThrows(IllegalStateException.class, () -> delta(car("Tata", "Nexon", 4.0)));
+
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verify(catalogVersion, never()).recordDataset(anyString());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void unmappableCarRollsBackBeforeAnythingIsDeleted() throws IOException {
+        delta(car("Tata", "Nexon", 4.0), car("Tata", "Punch", 4.2));
+        clearInvocations(eventPublisher, likeRepository);
+
+        when(modelFileMatcher.resolve("Kia", "Seltos")).thenThrow(new IllegalArgumentException("bad model"));
+        assertThrows(IllegalStateException.class, () -> delta(car("Tata", "Nexon", 4.0), car("Kia", "Seltos", 4.4)));
+
+        verify(likeRepository, never()).deleteByCarIds(anyList());
+        verify(transactionManager).rollback(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void cancelRollsBack() {
+        ImportProgress progress = new ImportProgress();
+        progress.cancel();
+
+        assertThrows(CancellationException.class, () -> deltaOf(file(car("Tata", "Nexon", 4.0)), progress));
+
+        verify(transactionManager).rollback(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+}
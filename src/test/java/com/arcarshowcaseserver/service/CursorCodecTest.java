@@ -0,0 +1,46 @@
+package com.arcarshowcaseserver.service;
+
+import com.arcarshowcaseserver.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorCodecTest {
+
+    @Test
+    void roundTrip() {
+        String cursor = CursorCodec.encode(4.5, 17L);
+        assertArrayEquals(new String[]{"4.5", "17"}, CursorCodec.decode(cursor, 2));
+        assertEquals(42L, CursorCodec.decodeLong(CursorCodec.encode(42L)));
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = CursorCodec.encode(-1.0E-300, Long.MAX_VALUE);
+        assertEquals(cursor, cursor.replaceAll("[^A-Za-z0-9_-]", ""));
+    }
+
+    @Test
+    void notBase64IsRejected() {
+        assertThrows(BadRequestException.class, () -> CursorCodec.decode("not a cursor!", 2));
+    }
+
+    @Test
+    void wrongNumberOfKeysIsRejected() {
+        String cursor = CursorCodec.encode(4.5, 17L);
+        assertThrows(BadRequestException.class, () -> CursorCodec.decode(cursor, 1));
+        assertThrows(BadRequestException.class, () -> CursorCodec.decode(cursor + "fA", 2));
+    }
+
+    @Test
+    void nonNumericIdIsRejected() {
+        String tampered = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("17x".getBytes(StandardCharsets.UTF_8));
+        assertThrows(BadRequestException.class, () -> CursorCodec.decodeLong(tampered));
+    }
+}
@@ -0,0 +1,76 @@
+package com.arcarshowcaseserver.service;
+
+import com.arcarshowcaseserver.configuration.ImportProperties;
+import com.arcarshowcaseserver.dto.ImportJobDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class ImportJobServiceTest {
+
+    private final CarImportService carImportService = mock(CarImportService.class);
+    private final ImportJobService jobs = new ImportJobService(carImportService, new ImportProperties());
+
+    @AfterEach
+    void tearDown() {
+        jobs.shutdown();
+    }
+
+    private ImportJobDTO runToEnd(ImportProperties.Mode mode) throws Exception {
+        CompletableFuture<ImportJobDTO> finished = new CompletableFuture<>();
+        jobs.submitResource(new ByteArrayResource("[]".getBytes(StandardCharsets.UTF_8)), mode, finished::complete);
+        return finished.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void cleanFullImportSucceeds() throws Exception {
+        doAnswer(call -> {
+            call.<ImportProgress>getArgument(1).chunkCommitted(10, 10, 0, 0, 0);
+            return null;
+        }).when(carImportService).importData(any(), any());
+
+        ImportJobDTO job = runToEnd(ImportProperties.Mode.FULL);
+
+        assertEquals("SUCCEEDED", job.getStatus());
+        assertNull(job.getMessage());
+    }
+
+    @Test
+    void fullImportWithFailedChunksOrCarsIsPartial() throws Exception {
+        doAnswer(call -> {
+            ImportProgress progress = call.getArgument(1);
+            progress.chunkCommitted(10, 10, 0, 0, 0);
+            progress.chunkFailed(10, "constraint violation");
+            progress.error("Kia Seltos", "bad model");
+            return null;
+        }).when(carImportService).importData(any(), any());
+
+        ImportJobDTO job = runToEnd(ImportProperties.Mode.FULL);
+
+        assertEquals("PARTIAL", job.getStatus());
+        assertEquals("Partly applied: failed chunks 1, unmappable cars 1", job.getMessage());
+        assertEquals(1, job.getFailedChunks());
+    }
+
+    @Test
+    void failedImportReportsItsCause() throws Exception {
+        doThrow(new IOException("truncated JSON")).when(carImportService).importDelta(any(), any());
+
+        ImportJobDTO job = runToEnd(ImportProperties.Mode.DELTA);
+
+        assertEquals("FAILED", job.getStatus());
+        assertEquals("truncated JSON", job.getMessage());
+    }
+}
@@ -0,0 +1,149 @@
+package com.arcarshowcaseserver.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImportPipelineTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static ImportPipeline.Source<Integer> numbers(int count) {
+        return sink -> {
+            for (int i = 0; i < count; i++) {
+                sink.accept(i);
+            }
+        };
+    }
+
+    @Test
+    void everyMappedItemIsWrittenOnceInChunks() throws IOException {
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> chunkSizes = new ArrayList<>();
+        ImportPipeline.Stats stats = ImportPipeline.run(numbers(1000), i -> i * 2, chunk -> {
+            chunkSizes.add(chunk.size());
+            written.addAll(chunk);
+        }, 64, 4);
+
+        assertEquals(1000, stats.items());
+        assertEquals(4, stats.mapThreads());
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add(i * 2);
+        }
+        assertEquals(expected, written);
+        assertEquals(1000, chunkSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(chunkSizes.stream().allMatch(size -> size <= 64));
+        assertEquals(1000 / 64 + 1, chunkSizes.size());
+    }
+
+    @Test
+    void itemsReachTheWriterInSourceOrderWhateverTheMapTime() throws IOException {
+        List<Integer> written = new ArrayList<>();
+        ImportPipeline.Stats stats = assertTimeoutPreemptively(TIMEOUT, () -> ImportPipeline.run(numbers(500), i -> {
+            // Early items map slowest, so later ones finish first
+            if (i % 50 < 5) {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return i;
+        }, written::addAll, 16, 8));
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, written);
+        // The in-flight permits bound the queues whatever the reordering
+        assertTrue(stats.maxMappedDepth() <= stats.queueCapacity() + stats.mapThreads());
+        assertTrue(stats.maxParsedDepth() <= stats.queueCapacity() + stats.mapThreads());
+    }
+
+    @Test
+    void nullAndFailingMapsAreDropped() throws IOException {
+        List<Integer> written = new ArrayList<>();
+        ImportPipeline.Stats stats = ImportPipeline.run(numbers(100), i -> {
+            if (i % 10 == 0) return null;
+            if (i % 10 == 1) throw new IllegalStateException("bad item " + i);
+            return i;
+        }, written::addAll, 7, 3);
+
+        assertEquals(80, written.size());
+        assertEquals(80, stats.items());
+        assertEquals(List.of(2, 3, 4, 5, 6, 7, 8, 9, 12), written.subList(0, 9));
+    }
+
+    @Test
+    void writerExceptionStopsThePipeline() {
+        AtomicInteger chunks = new AtomicInteger();
+        AtomicReference<Thread> parser = new AtomicReference<>();
+        ImportPipeline.Source<Integer> source = sink -> {
+            parser.set(Thread.currentThread());
+            numbers(Integer.MAX_VALUE).emit(sink);
+        };
+        IllegalStateException thrown = assertTimeoutPreemptively(TIMEOUT, () -> assertThrows(
+                IllegalStateException.class,
+                () -> ImportPipeline.run(source, i -> i, chunk -> {
+                    if (chunks.incrementAndGet() == 3) {
+                        throw new IllegalStateException("write failed");
+                    }
+                }, 10, 2)));
+        assertEquals("write failed", thrown.getMessage());
+        assertEquals(3, chunks.get());
+        // Joined before the failure propagates
+        assertFalse(parser.get().isAlive());
+    }
+
+    @Test
+    void parseFailureIsRethrownAfterTheItemsBeforeIt() {
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        ImportPipeline.Source<Integer> source = sink -> {
+            for (int i = 0; i < 25; i++) {
+                sink.accept(i);
+            }
+            throw new IOException("truncated JSON");
+        };
+
+        IOException thrown = assertTimeoutPreemptively(TIMEOUT, () -> assertThrows(IOException.class,
+                () -> ImportPipeline.run(source, i -> i, written::addAll, 10, 3)));
+        assertEquals("truncated JSON", thrown.getMessage());
+        assertEquals(25, written.size());
+    }
+
+    @Test
+    void cancellationFromTheWriterStopsParsing() {
+        AtomicInteger parsed = new AtomicInteger();
+        ImportPipeline.Source<Integer> source = sink -> {
+            for (int i = 0; i < 1_000_000; i++) {
+                sink.accept(i);
+                parsed.incrementAndGet();
+            }
+        };
+        AtomicInteger written = new AtomicInteger();
+
+        assertTimeoutPreemptively(TIMEOUT, () -> assertThrows(CancellationException.class,
+                () -> ImportPipeline.run(source, i -> i, chunk -> {
+                    if (written.addAndGet(chunk.size()) >= 50) {
+                        throw new CancellationException("Import cancelled");
+                    }
+                }, 10, 2)));
+        assertEquals(50, written.get());
+        assertTrue(parsed.get() < 1_000_000);
+    }
+}
@@ -0,0 +1,100 @@
+package com.arcarshowcaseserver.service;
+
+import com.arcarshowcaseserver.dto.PageResponse;
+import com.arcarshowcaseserver.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetPagerTest {
+
+    record Row(long id, double price) {
+    }
+
+    // Sorted by price descending, then id ascending; ties on 10.0 and 5.0
+    private static final List<Row> ROWS = List.of(
+            new Row(3, 20.0),
+            new Row(1, 10.0),
+            new Row(4, 10.0),
+            new Row(7, 10.0),
+            new Row(2, 5.0),
+            new Row(9, 5.0),
+            new Row(5, 1.0));
+
+    private static PageResponse<Row> page(List<Row> rows, String cursor, int size) {
+        return KeysetPager.seek(rows, cursor, size, Row::price, Row::id, true);
+    }
+
+    @Test
+    void pagesCoverEveryRowOnceAcrossEqualSortKeys() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageResponse<Row> page = page(ROWS, cursor, 2);
+            page.getItems().forEach(row -> seen.add(row.id()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(List.of(3L, 1L, 4L, 7L, 2L, 9L, 5L), seen);
+    }
+
+    @Test
+    void boundaryInsideATieStaysPut() {
+        PageResponse<Row> first = page(ROWS, null, 2);
+        assertEquals(List.of(new Row(3, 20.0), new Row(1, 10.0)), first.getItems());
+
+        // Rows added or removed before the boundary do not shift the next page
+        List<Row> changed = new ArrayList<>(ROWS);
+        changed.remove(new Row(3, 20.0));
+        changed.add(0, new Row(8, 30.0));
+        changed.remove(new Row(1, 10.0));
+        PageResponse<Row> second = page(changed, first.getNextCursor(), 2);
+        assertEquals(List.of(new Row(4, 10.0), new Row(7, 10.0)), second.getItems());
+    }
+
+    @Test
+    void ascendingOrder() {
+        List<Row> ascending = List.of(new Row(5, 1.0), new Row(2, 5.0), new Row(9, 5.0), new Row(1, 10.0));
+        PageResponse<Row> first = KeysetPager.seek(ascending, null, 2, Row::price, Row::id, false);
+        PageResponse<Row> second = KeysetPager.seek(ascending, first.getNextCursor(), 2, Row::price, Row::id, false);
+        assertEquals(List.of(new Row(9, 5.0), new Row(1, 10.0)), second.getItems());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void tamperedCursorIsRejected() {
+        String tampered = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("10.0|four".getBytes(StandardCharsets.UTF_8));
+        assertThrows(BadRequestException.class, () -> page(ROWS, tampered, 2));
+        assertThrows(BadRequestException.class, () -> page(ROWS, "%%%", 2));
+        assertThrows(BadRequestException.class, () -> page(ROWS, CursorCodec.encode(4L), 2));
+    }
+
+    @Test
+    void afterIdContinuesAfterTheLastRow() {
+        PageResponse<Row> first = KeysetPager.afterId(ROWS, null, 3, Row::id);
+        PageResponse<Row> second = KeysetPager.afterId(ROWS, first.getNextCursor(), 3, Row::id);
+        assertEquals(List.of(new Row(7, 10.0), new Row(2, 5.0), new Row(9, 5.0)), second.getItems());
+    }
+
+    @Test
+    void afterIdRejectsACursorThatNoLongerMatches() {
+        assertThrows(BadRequestException.class, () -> KeysetPager.afterId(ROWS, CursorCodec.encode(99L), 3, Row::id));
+    }
+
+    @Test
+    void pageSizeIsCapped() {
+        List<Row> many = new ArrayList<>();
+        for (long i = 0; i < KeysetPager.MAX_PAGE_SIZE + 10; i++) {
+            many.add(new Row(i, 1.0));
+        }
+        assertEquals(KeysetPager.MAX_PAGE_SIZE, page(many, null, 1000).getItems().size());
+        assertThrows(BadRequestException.class, () -> page(many, null, 0));
+    }
+}
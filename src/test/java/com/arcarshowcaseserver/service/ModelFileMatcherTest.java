@@ -0,0 +1,73 @@
+package com.arcarshowcaseserver.service;
+
+import com.arcarshowcaseserver.configuration.CarModelConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ModelFileMatcherTest {
+
+    private static CarModelConfig.ModelEntry entry(String brand, String file, String... modelNames) {
+        CarModelConfig.ModelEntry entry = new CarModelConfig.ModelEntry();
+        entry.setBrand(brand);
+        entry.setFile(file);
+        entry.setModelNames(List.of(modelNames));
+        return entry;
+    }
+
+    private static ModelFileMatcher matcher(Map<String, CarModelConfig.ModelEntry> models) {
+        CarModelConfig config = new CarModelConfig();
+        config.setModels(models);
+        return new ModelFileMatcher(config);
+    }
+
+    @Test
+    void longestMatchWins() {
+        Map<String, CarModelConfig.ModelEntry> models = new LinkedHashMap<>();
+        models.put("scorpio", entry("Mahindra", "scorpio.glb", "Scorpio"));
+        models.put("scorpio-n", entry("Mahindra", "scorpio_n.glb", "Scorpio-N", "Scorpio N"));
+        ModelFileMatcher matcher = matcher(models);
+
+        assertEquals("scorpio_n.glb", matcher.resolve("Mahindra", "Scorpio N Z8 L"));
+        assertEquals("scorpio_n.glb", matcher.resolve("MAHINDRA", "scorpio-n"));
+        assertEquals("scorpio.glb", matcher.resolve("Mahindra", "Scorpio Classic S11"));
+    }
+
+    @Test
+    void equalLengthsGoToTheFirstConfigKey() {
+        Map<String, CarModelConfig.ModelEntry> models = new LinkedHashMap<>();
+        models.put("zeta", entry("Maruti Suzuki", "zeta.glb", "Swift"));
+        models.put("alpha", entry("Maruti Suzuki", "alpha.glb", "Dzire"));
+        ModelFileMatcher matcher = matcher(models);
+
+        // Both names are five letters; "alpha" sorts first whatever the map order
+        assertEquals("alpha.glb", matcher.resolve("Maruti Suzuki", "Swift Dzire Tour"));
+        assertEquals("alpha.glb", matcher.resolve("Maruti Suzuki", "Dzire Swift"));
+    }
+
+    @Test
+    void unknownBrandOrModelFallsBackToTheDefault() {
+        ModelFileMatcher matcher = matcher(Map.of("nexon", entry("Tata", "nexon.glb", "Nexon")));
+
+        assertEquals(ModelFileMatcher.DEFAULT_FILE, matcher.resolve("Kia", "Nexon"));
+        assertEquals(ModelFileMatcher.DEFAULT_FILE, matcher.resolve("Tata", "Punch"));
+        assertEquals(ModelFileMatcher.DEFAULT_FILE, matcher.resolve(null, "Nexon"));
+        assertEquals("nexon.glb", matcher.resolve("tata", "Nexon EV Max"));
+    }
+
+    @Test
+    void recompilePicksUpConfigChanges() {
+        CarModelConfig config = new CarModelConfig();
+        config.setModels(new LinkedHashMap<>(Map.of("nexon", entry("Tata", "nexon.glb", "Nexon"))));
+        ModelFileMatcher matcher = new ModelFileMatcher(config);
+        assertEquals(ModelFileMatcher.DEFAULT_FILE, matcher.resolve("Tata", "Punch"));
+
+        config.getModels().put("punch", entry("Tata", "punch.glb", "Punch"));
+        matcher.recompile();
+        assertEquals("punch.glb", matcher.resolve("Tata", "Punch"));
+    }
+}
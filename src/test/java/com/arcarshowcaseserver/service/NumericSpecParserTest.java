@@ -0,0 +1,84 @@
+package com.arcarshowcaseserver.service;
+
+import com.arcarshowcaseserver.service.NumericSpecParser.Measure;
+import com.arcarshowcaseserver.service.NumericSpecParser.Unit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class NumericSpecParserTest {
+
+    private static final double DELTA = 1e-6;
+
+    @Test
+    void plainUnits() {
+        assertMeasure(1984, Unit.CC, NumericSpecParser.parse("1984 cc"));
+        assertMeasure(1197, Unit.CC, NumericSpecParser.parse("1,197cc"));
+        assertMeasure(17.4, Unit.KWH, NumericSpecParser.parse("17.4 kWh"));
+        assertMeasure(19.4, Unit.KMPL, NumericSpecParser.parse("19.4 kmpl"));
+        assertMeasure(20.5, Unit.KMPL, NumericSpecParser.parse("20.5 km/l"));
+        assertMeasure(465, Unit.KM, NumericSpecParser.parse("465 km"));
+        assertMeasure(201.15, Unit.BHP, NumericSpecParser.parse("201.15 bhp @ 5200 rpm"));
+        assertMeasure(320, Unit.NM, NumericSpecParser.parse("320 Nm @ 1500-4000 rpm"));
+    }
+
+    @Test
+    void psIsConvertedToBhp() {
+        assertMeasure(100 * 0.98632, Unit.BHP, NumericSpecParser.parse("100 PS"));
+    }
+
+    @Test
+    void kwIsConvertedToBhpButKwhIsBattery() {
+        assertMeasure(150 * 1.34102, Unit.BHP, NumericSpecParser.parse("150 kW"));
+        assertMeasure(72.6, Unit.KWH, NumericSpecParser.parse("72.6kWh"));
+    }
+
+    @Test
+    void numbersWithoutKnownUnit() {
+        assertNull(NumericSpecParser.parse("5 seater"));
+        assertNull(NumericSpecParser.parse("6 Airbags"));
+        assertNull(NumericSpecParser.parse(""));
+        assertNull(NumericSpecParser.parse(null));
+    }
+
+    @Test
+    void findPicksTheRequestedUnit() {
+        assertEquals(1498, NumericSpecParser.find("113 bhp, 1498 cc", Unit.CC), DELTA);
+        assertNull(NumericSpecParser.find("113 bhp", Unit.CC));
+    }
+
+    @Test
+    void findReadsEveryUnitOfAMultiUnitText() {
+        String spec = "1497 cc, 118 bhp, 145 Nm";
+        assertMeasure(1497, Unit.CC, NumericSpecParser.parse(spec));
+        assertEquals(1497, NumericSpecParser.find(spec, Unit.CC), DELTA);
+        assertEquals(118, NumericSpecParser.find(spec, Unit.BHP), DELTA);
+        assertEquals(145, NumericSpecParser.find(spec, Unit.NM), DELTA);
+        // The first measure is not always the one asked for
+        assertEquals(1497, NumericSpecParser.find("118 bhp @ 6600 rpm, 1497 cc", Unit.CC), DELTA);
+        assertNull(NumericSpecParser.find(spec, Unit.KWH));
+    }
+
+    @Test
+    void powerNeedsAPowerLabel() {
+        assertEquals(118, NumericSpecParser.power("Max Power: 118 bhp @ 6600 rpm"), DELTA);
+        assertEquals(118, NumericSpecParser.power("Max. Power (bhp@rpm) 118 bhp"), DELTA);
+        assertEquals(150 * 1.34102, NumericSpecParser.power("Power - 150 kW"), DELTA);
+        assertEquals(100 * 0.98632, NumericSpecParser.power("Peak power 100 PS"), DELTA);
+    }
+
+    @Test
+    void chargerAndMotorRatingsAreNotPower() {
+        assertNull(NumericSpecParser.power("7.2 kW AC charger"));
+        assertNull(NumericSpecParser.power("Charging power: 50 kW DC"));
+        assertNull(NumericSpecParser.power("Front motor power: 70 kW"));
+        assertNull(NumericSpecParser.power("118 bhp"));
+        assertNull(NumericSpecParser.power("Max Torque: 145 Nm"));
+    }
+
+    private static void assertMeasure(double value, Unit unit, Measure measure) {
+        assertEquals(unit, measure.unit());
+        assertEquals(value, measure.value(), DELTA);
+    }
+}
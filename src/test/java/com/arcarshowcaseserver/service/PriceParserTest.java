@@ -0,0 +1,43 @@
+package com.arcarshowcaseserver.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PriceParserTest {
+
+    @Test
+    void lakhUnits() {
+        assertEquals(6.49, PriceParser.toLakhs("Rs.6.49 Lakh*"));
+        assertEquals(12.0, PriceParser.toLakhs("₹12 Lakhs"));
+        assertEquals(7.5, PriceParser.toLakhs("Rs. 7.5 lac"));
+        assertEquals(9.99, PriceParser.toLakhs("9.99L"));
+    }
+
+    @Test
+    void croreUnits() {
+        assertEquals(120.0, PriceParser.toLakhs("₹1.2 Crore"));
+        assertEquals(250.0, PriceParser.toLakhs("Rs. 2.5 Cr*"));
+    }
+
+    @Test
+    void plainRupeesAreScaledToLakhs() {
+        assertEquals(8.5, PriceParser.toLakhs("Rs. 8,50,000"));
+        assertEquals(4.25, PriceParser.toLakhs("4.25"));
+    }
+
+    @Test
+    void wordsThatMerelyStartWithLAreNotLakhs() {
+        assertEquals(8.5, PriceParser.toLakhs("Rs. 850000 listed"));
+        assertEquals(8.5, PriceParser.toLakhs("850000 (launch price)"));
+        assertEquals(3.0, PriceParser.toLakhs("300000 lowest"));
+    }
+
+    @Test
+    void noAmount() {
+        assertNull(PriceParser.toLakhs(null));
+        assertNull(PriceParser.toLakhs("  "));
+        assertNull(PriceParser.toLakhs("Price to be announced"));
+    }
+}
@@ -0,0 +1,181 @@
+package com.arcarshowcaseserver.service.serviceImpl;
+
+import com.arcarshowcaseserver.model.Cars.Car;
+import com.arcarshowcaseserver.model.Cars.CarColor;
+import com.arcarshowcaseserver.model.Cars.CarImage;
+import com.arcarshowcaseserver.model.Cars.CarVariant;
+import com.arcarshowcaseserver.service.SpecValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+// H2 takes the plain-JDBC path; COPY and the id reservation need PostgreSQL
+class JdbcCarChunkWriterTest {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private JdbcCarChunkWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:" + UUID.randomUUID(), "sa", "", true);
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("""
+                CREATE TABLE cars_v2 (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    brand VARCHAR, model VARCHAR, body_type VARCHAR, fuel_type VARCHAR, transmission_type VARCHAR,
+                    seating_capacity INT, price_range VARCHAR, min_price_lakhs DOUBLE PRECISION,
+                    max_price_lakhs DOUBLE PRECISION, rating DOUBLE PRECISION, model_url VARCHAR, slug VARCHAR,
+                    content_hash VARCHAR)""");
+        jdbc.execute("""
+                CREATE TABLE car_variants_v2 (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    variant VARCHAR, price VARCHAR, price_lakhs DOUBLE PRECISION, slug VARCHAR, engine_cc VARCHAR,
+                    fuel VARCHAR, transmission VARCHAR, mileage VARCHAR, displacement_cc INT,
+                    battery_kwh DOUBLE PRECISION, mileage_kmpl DOUBLE PRECISION, range_km DOUBLE PRECISION,
+                    power_bhp DOUBLE PRECISION, torque_nm DOUBLE PRECISION, numbers_parsed BOOLEAN,
+                    car_id BIGINT REFERENCES cars_v2 (id))""");
+        jdbc.execute("""
+                CREATE TABLE variant_key_specifications_v2 (
+                    variant_id BIGINT REFERENCES car_variants_v2 (id), specification VARCHAR)""");
+        jdbc.execute("""
+                CREATE TABLE car_images_v2 (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    type VARCHAR, image_url VARCHAR, car_id BIGINT REFERENCES cars_v2 (id))""");
+        jdbc.execute("""
+                CREATE TABLE car_colors_v2 (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    name VARCHAR, image_url VARCHAR, car_id BIGINT REFERENCES cars_v2 (id))""");
+        jdbc.execute("""
+                CREATE TABLE car_details_v2 (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    category VARCHAR, spec_key VARCHAR, spec_value VARCHAR, spec_key_id INT,
+                    numeric_value DOUBLE PRECISION, unit VARCHAR, car_id BIGINT REFERENCES cars_v2 (id))""");
+        writer = new JdbcCarChunkWriter(jdbc, mock(RowSpecStore.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void chunkGetsItsIdsInOrderAndEveryChildRowPointsAtItsParent() {
+        Car creta = car("Hyundai", "Creta");
+        creta.getVariants().add(variant("E", 11.0, "Sunroof", "6 airbags"));
+        creta.getVariants().add(variant("SX", null));
+        creta.getImages().add(image("exterior", "creta.jpg"));
+        creta.getColors().add(color("Abyss Black", "black.jpg"));
+        Car nexon = car("Tata", "Nexon");
+        nexon.getVariants().add(variant("Smart", 8.0, "Say \"hi\", Nexon"));
+        nexon.getColors().add(color("Flame Red", null));
+
+        List<Long> ids = writer.write(List.of(creta, nexon), List.of(
+                List.of(new SpecValue(null, "Engine", 7, "Displacement", "1497 cc")),
+                List.of(new SpecValue(null, "Engine", 7, "Displacement", "1199 cc"),
+                        new SpecValue(null, "Comfort", 9, "Sunroof", "Yes"))));
+
+        assertEquals(2, ids.size());
+        assertTrue(ids.get(0) < ids.get(1));
+        assertEquals(ids.get(0), creta.getId());
+        assertEquals(ids.get(1), nexon.getId());
+        assertEquals("Creta", jdbc.queryForObject("SELECT model FROM cars_v2 WHERE id = ?", String.class, creta.getId()));
+        assertEquals("Nexon", jdbc.queryForObject("SELECT model FROM cars_v2 WHERE id = ?", String.class, nexon.getId()));
+
+        for (CarVariant v : List.of(creta.getVariants().get(0), creta.getVariants().get(1))) {
+            assertEquals(creta.getId(), carIdOf("car_variants_v2", v.getId()));
+        }
+        CarVariant smart = nexon.getVariants().get(0);
+        assertEquals(nexon.getId(), carIdOf("car_variants_v2", smart.getId()));
+        assertEquals("Smart", jdbc.queryForObject("SELECT variant FROM car_variants_v2 WHERE id = ?", String.class, smart.getId()));
+        assertNull(jdbc.queryForObject("SELECT price_lakhs FROM car_variants_v2 WHERE id = ?",
+                Double.class, creta.getVariants().get(1).getId()));
+
+        assertEquals(List.of("Sunroof", "6 airbags"), keySpecs(creta.getVariants().get(0).getId()));
+        assertEquals(List.of(), keySpecs(creta.getVariants().get(1).getId()));
+        assertEquals(List.of("Say \"hi\", Nexon"), keySpecs(smart.getId()));
+
+        assertEquals(creta.getId(), jdbc.queryForObject(
+                "SELECT car_id FROM car_images_v2 WHERE image_url = 'creta.jpg'", Long.class));
+        Map<String, Object> red = jdbc.queryForMap("SELECT image_url, car_id FROM car_colors_v2 WHERE name = 'Flame Red'");
+        assertNull(red.get("IMAGE_URL"));
+        assertEquals(nexon.getId(), ((Number) red.get("CAR_ID")).longValue());
+
+        List<Map<String, Object>> details = jdbc.queryForList(
+                "SELECT spec_key, spec_key_id, numeric_value, unit, car_id FROM car_details_v2 ORDER BY id");
+        assertEquals(3, details.size());
+        assertNull(details.get(0).get("SPEC_KEY"));
+        assertEquals(7, details.get(0).get("SPEC_KEY_ID"));
+        assertEquals(1497.0, details.get(0).get("NUMERIC_VALUE"));
+        assertEquals("cc", details.get(0).get("UNIT"));
+        assertEquals(creta.getId(), ((Number) details.get(0).get("CAR_ID")).longValue());
+        assertEquals(nexon.getId(), ((Number) details.get(2).get("CAR_ID")).longValue());
+        assertNull(details.get(2).get("NUMERIC_VALUE"));
+    }
+
+    @Test
+    void laterChunksCarryOnFromTheIdsAlreadyTaken() {
+        List<Long> first = writer.write(List.of(car("Kia", "Seltos"), car("Kia", "Sonet")),
+                List.of(List.of(), List.of()));
+        List<Long> second = writer.write(List.of(car("Kia", "Carens")), List.of(List.of()));
+
+        assertEquals(1, second.size());
+        assertTrue(second.get(0) > first.get(1));
+        assertEquals(3, jdbc.queryForObject("SELECT COUNT(*) FROM cars_v2", Integer.class));
+    }
+
+    @Test
+    void csvLeavesNullUnquotedAndDoublesQuotesInText() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, "Say \"hi\", Nexon", null, 8.5});
+        rows.add(new Object[]{2L, "", true, null});
+
+        assertEquals("1,\"Say \"\"hi\"\", Nexon\",,8.5\n2,\"\",\"true\",\n", JdbcCarChunkWriter.toCsv(rows));
+    }
+
+    private Long carIdOf(String table, Long id) {
+        return jdbc.queryForObject("SELECT car_id FROM " + table + " WHERE id = ?", Long.class, id);
+    }
+
+    private List<String> keySpecs(Long variantId) {
+        return jdbc.queryForList(
+                "SELECT specification FROM variant_key_specifications_v2 WHERE variant_id = ?", String.class, variantId);
+    }
+
+    private static Car car(String brand, String model) {
+        Car car = new Car();
+        car.setBrand(brand);
+        car.setModel(model);
+        car.setSlug((brand + "-" + model).toLowerCase());
+        return car;
+    }
+
+    private static CarVariant variant(String name, Double priceLakhs, String... keySpecs) {
+        CarVariant variant = new CarVariant();
+        variant.setVariant(name);
+        variant.setPriceLakhs(priceLakhs);
+        variant.setKeySpecifications(new ArrayList<>(List.of(keySpecs)));
+        return variant;
+    }
+
+    private static CarImage image(String type, String url) {
+        CarImage image = new CarImage();
+        image.setType(type);
+        image.setImageUrl(url);
+        return image;
+    }
+
+    private static CarColor color(String name, String url) {
+        CarColor color = new CarColor();
+        color.setName(name);
+        color.setImageUrl(url);
+        return color;
+    }
+}